@@ -0,0 +1,90 @@
+package psykeco.querymatico.bench;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+import psykeco.querymatico.sql.utility.FieldAccessor;
+import psykeco.querymatico.sql.utility.SQLClassMetadata;
+
+/**
+ * <p>Compare cost of reading and writing every field of an entity with:
+ * <ul>
+ * 	<li>plain reflection as before metadata cache (getDeclaredFields and setAccessible at every object)</li>
+ * 	<li>{@link FieldAccessor#REFLECTION} accessors</li>
+ * 	<li>{@link FieldAccessor#METHOD_HANDLE} accessors</li>
+ * </ul>
+ * </p>
+ * <p>Run with <code>java psykeco.querymatico.bench.AccessorBenchmark [objects]</code>, 
+ * every operation write and read <code>objects</code> objects (default 1), see {@link Bench}</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class AccessorBenchmark {
+
+	/** entity of benchmark */
+	static class Entita {
+		int id;
+		long counter;
+		String name;
+		String description;
+		double price;
+		Integer quantity;
+	}
+
+	/** calls for iteration */
+	static final int OPS=Integer.getInteger("bench.ops", 100_000);
+
+	/** values written into every object, same order of fields */
+	private static final Object[] VALUES={ 1, 2L, "name", "description", 3.5d, 4 };
+
+	public static void main(String[] args) throws Exception {
+		run(args.length>0 ? Integer.parseInt(args[0]) : 1);
+	}
+
+	/**
+	 * run every case of accessors
+	 * @param objects objects written and read for operation
+	 * @throws Exception if a case fail
+	 */
+	public static void run(int objects) throws Exception {
+		SQLClassMetadata<Entita> meta=SQLClassMetadata.of(Entita.class);
+		List<Field> fields=meta.getFields();
+		FieldAccessor[] reflection=new FieldAccessor[fields.size()];
+		FieldAccessor[] handles=new FieldAccessor[fields.size()];
+		for (int i=0; i<reflection.length; i++) {
+			reflection[i]=FieldAccessor.REFLECTION.of(fields.get(i));
+			handles[i]=FieldAccessor.METHOD_HANDLE.of(fields.get(i));
+		}
+
+		Bench.run("plain reflection", OPS, () -> plain(objects));
+		Bench.run("reflection accessors", OPS, () -> accessors(objects, meta, reflection));
+		Bench.run("method handle accessors", OPS, () -> accessors(objects, meta, handles));
+	}
+
+	/** write and read back every field as old hydration loop */
+	static void plain(int objects) throws Exception {
+		for (int n=0; n<objects; n++) {
+			Entita e=Entita.class.getDeclaredConstructor().newInstance();
+			Field[] f=Entita.class.getDeclaredFields();
+			for (int i=0; i<f.length; i++) {
+				boolean access=f[i].canAccess(e);
+				f[i].setAccessible(true);
+				f[i].set(e, VALUES[i]);
+				Bench.consume(f[i].get(e));
+				f[i].setAccessible(access);
+			}
+		}
+	}
+
+	/** write and read back every field with cached accessors */
+	static void accessors(int objects, SQLClassMetadata<Entita> meta, FieldAccessor[] accessors) throws Exception {
+		for (int n=0; n<objects; n++) {
+			Entita e=meta.newInstance();
+			for (int i=0; i<accessors.length; i++) {
+				accessors[i].set(e, VALUES[i]);
+				Bench.consume(accessors[i].get(e));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+package psykeco.querymatico.bench;
+
+/**
+ * <p>Minimal benchmark harness, without external dependencies.</br></p>
+ * <p>Every case is run for <code>bench.warmup</code> warm up iterations and then for <code>bench.iterations</code> measured iterations
+ * (system properties, default 5 and 5), every iteration call the case <code>ops</code> times.
+ * Best and mean time of measured iterations are printed as ns for operation</br></p>
+ * <p>Results of cases must be given to {@link #consume(Object)}, so JIT can't remove them as dead code</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class Bench {
+
+	/** number of warm up iterations */
+	public static final int WARMUP=Integer.getInteger("bench.warmup", 5);
+	/** number of measured iterations */
+	public static final int ITERATIONS=Integer.getInteger("bench.iterations", 5);
+
+	/** a measured operation */
+	@FunctionalInterface
+	public interface Case {
+		void run() throws Exception;
+	}
+
+	/** avoid dead code elimination */
+	private static volatile Object sink;
+
+	/** static class, private constructor */
+	private Bench() {}
+
+	/**
+	 * keep a result alive
+	 * @param o result of a case
+	 */
+	public static void consume(Object o) {
+		sink=o;
+	}
+
+	/**
+	 * measure and print a case
+	 * @param name name of case
+	 * @param ops number of calls for iteration
+	 * @param c the case
+	 * @return best time, in ns for operation
+	 * @throws Exception if case fail
+	 */
+	public static double run(String name, int ops, Case c) throws Exception {
+		for (int i=0; i<WARMUP; i++) iteration(ops, c);
+		long best=Long.MAX_VALUE, total=0;
+		for (int i=0; i<ITERATIONS; i++) {
+			long t=iteration(ops, c);
+			best=Math.min(best, t);
+			total+=t;
+		}
+		double bestOp=(double)best/ops, meanOp=(double)total/ITERATIONS/ops;
+		System.out.printf("%-40s %10.1f ns/op (mean %10.1f)%n", name, bestOp, meanOp);
+		return bestOp;
+	}
+
+	/**
+	 * @return elapsed ns
+	 */
+	private static long iteration(int ops, Case c) throws Exception {
+		long start=System.nanoTime();
+		for (int i=0; i<ops; i++) c.run();
+		return System.nanoTime()-start;
+	}
+
+}
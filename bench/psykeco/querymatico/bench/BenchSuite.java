@@ -0,0 +1,28 @@
+package psykeco.querymatico.bench;
+
+/**
+ * <p>Run every benchmark of QueryMaticO.</br></p>
+ * <p>Benchmarks are plain java programs, they need only compiled sources of QueryMaticO:</br></p>
+ * <pre>
+ * javac -d out $(find src bench -name "*.java")
+ * java -cp out psykeco.querymatico.bench.BenchSuite
+ * </pre>
+ * <p>Iterations and sizes can be changed with system properties <code>bench.warmup</code>, <code>bench.iterations</code>,
+ * <code>bench.ops</code> and <code>bench.rows</code> (see {@link Bench}). Compare results of same machine and JVM only</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class BenchSuite {
+
+	public static void main(String[] args) throws Exception {
+		System.out.println("== builders");
+		BuilderBenchmark.run();
+		System.out.println("== parser");
+		ParserBenchmark.run();
+		System.out.println("== mapping");
+		MappingBenchmark.run();
+		System.out.println("== accessors");
+		AccessorBenchmark.run(1);
+	}
+
+}
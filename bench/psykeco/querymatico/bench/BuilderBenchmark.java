@@ -0,0 +1,46 @@
+package psykeco.querymatico.bench;
+
+import psykeco.querymatico.QueryMaticO;
+import psykeco.querymatico.sql.SQLInsertMaticO;
+import psykeco.querymatico.sql.SQLSelectMaticO;
+import psykeco.querymatico.sql.SQLUpdateMaticO;
+
+/**
+ * <p>Benchmarks of query builders: {@link QueryMaticO#build()}, {@link QueryMaticO#buildPrepared()}, 
+ * {@link QueryMaticO#validate()} and {@link QueryMaticO#copy()} of select, insert and update</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class BuilderBenchmark {
+
+	/** calls for iteration */
+	static final int OPS=Integer.getInteger("bench.ops", 100_000);
+
+	public static void main(String[] args) throws Exception {
+		run();
+	}
+
+	/**
+	 * run every case of builders
+	 * @throws Exception if a case fail
+	 */
+	public static void run() throws Exception {
+		QueryMaticO select=new SQLSelectMaticO().DB("BenchDB").table("Entita")
+				.entry("id", null).entry("name", null).entry("price", null)
+				.filter("name", "a name").filter("quantity", 5);
+		QueryMaticO insert=new SQLInsertMaticO().DB("BenchDB").table("Entita")
+				.entry("id", 1).entry("name", "a name").entry("price", 2.5).entry("quantity", 5);
+		QueryMaticO update=new SQLUpdateMaticO().DB("BenchDB").table("Entita")
+				.entry("name", "a name").entry("price", 2.5).filter("id", 1);
+
+		for (Object[] c : new Object[][] { {"select", select}, {"insert", insert}, {"update", update} }) {
+			String name=(String)c[0];
+			QueryMaticO q=(QueryMaticO)c[1];
+			Bench.run(name+".build()", OPS, () -> Bench.consume(q.build()));
+			Bench.run(name+".buildPrepared()", OPS, () -> Bench.consume(q.buildPrepared()));
+			Bench.run(name+".validate()", OPS, () -> Bench.consume(q.validate()));
+			Bench.run(name+".copy()", OPS, () -> Bench.consume(q.copy()));
+		}
+	}
+
+}
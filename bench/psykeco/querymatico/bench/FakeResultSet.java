@@ -0,0 +1,91 @@
+package psykeco.querymatico.bench;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>In memory, forward only {@link ResultSet} over an array of rows, built with a {@link Proxy}.</br></p>
+ * <p>It supports navigation ({@link ResultSet#next()}, {@link ResultSet#beforeFirst()}), getters by index and by label
+ * used by mapping code and a {@link ResultSetMetaData} with labels. Other methods throw {@link UnsupportedOperationException}</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class FakeResultSet {
+
+	/** static class, private constructor */
+	private FakeResultSet() {}
+
+	/**
+	 * @param labels labels of columns
+	 * @param rows values of rows, same order of labels
+	 * @return the result set, before first row
+	 */
+	public static ResultSet of(String[] labels, Object[][] rows) {
+		Map<String,Integer> index=new HashMap<>();
+		for (int i=labels.length-1; i>=0; i--) index.put(labels[i].toLowerCase(), i+1);
+
+		ResultSetMetaData meta=(ResultSetMetaData) Proxy.newProxyInstance(FakeResultSet.class.getClassLoader(), 
+			new Class<?>[] {ResultSetMetaData.class}, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "getColumnCount": return labels.length;
+					case "getColumnLabel":
+					case "getColumnName" : return labels[(Integer)args[0]-1];
+				}
+				throw new UnsupportedOperationException(method.getName());
+			});
+
+		int[] row={-1};
+		boolean[] wasNull={false};
+		return (ResultSet) Proxy.newProxyInstance(FakeResultSet.class.getClassLoader(), 
+			new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+				String name=method.getName();
+				switch (name) {
+					case "next"        : return ++row[0] < rows.length;
+					case "beforeFirst" : row[0]=-1; return null;
+					case "getMetaData" : return meta;
+					case "wasNull"     : return wasNull[0];
+					case "close"       : return null;
+					case "isClosed"    : return false;
+				}
+				if (!name.startsWith("get") || args==null || args.length==0) throw new UnsupportedOperationException(name);
+
+				int column= args[0] instanceof Integer ? (Integer)args[0] : index.get(((String)args[0]).toLowerCase());
+				Object v=rows[row[0]][column-1];
+				wasNull[0]= v==null;
+				switch (name) {
+					case "getInt"         : return v==null ? 0  : ((Number)v).intValue();
+					case "getLong"        : return v==null ? 0L : ((Number)v).longValue();
+					case "getShort"       : return v==null ? (short)0 : ((Number)v).shortValue();
+					case "getByte"        : return v==null ? (byte)0  : ((Number)v).byteValue();
+					case "getDouble"      : return v==null ? 0d : ((Number)v).doubleValue();
+					case "getFloat"       : return v==null ? 0f : ((Number)v).floatValue();
+					case "getBoolean"     : return v!=null && (v instanceof Boolean ? (Boolean)v : ((Number)v).intValue()!=0);
+					case "getString"      : return v==null ? null : v.toString();
+					case "getTimestamp"   : return (Timestamp)v;
+					case "getBinaryStream": return v==null ? null : new ByteArrayInputStream((byte[])v);
+					case "getObject"      :
+						if (args.length==1 || v==null) return v;
+						Class<?> type=(Class<?>)args[1];
+						if (type.isInstance(v)) return v;
+						if (v instanceof Number) {
+							Number n=(Number)v;
+							if (type==Integer.class) return n.intValue();
+							if (type==Long.class)    return n.longValue();
+							if (type==Double.class)  return n.doubleValue();
+							if (type==Float.class)   return n.floatValue();
+							if (type==Short.class)   return n.shortValue();
+							if (type==Byte.class)    return n.byteValue();
+						}
+						if (type==String.class) return v.toString();
+						return v;
+				}
+				throw new UnsupportedOperationException(name);
+			});
+	}
+
+}
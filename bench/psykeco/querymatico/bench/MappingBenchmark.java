@@ -0,0 +1,95 @@
+package psykeco.querymatico.bench;
+
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import psykeco.querymatico.sql.utility.SQLClassMetadata;
+import psykeco.querymatico.sql.utility.SQLClassParser;
+import psykeco.querymatico.sql.utility.SQLResultPlan;
+
+/**
+ * <p>Benchmarks of hydration of rows, as done by <code>MySqlConnection.queryList</code>, over a {@link FakeResultSet}:
+ * <ul>
+ * 	<li>current path: a {@link SQLResultPlan} resolved once for result set</li>
+ * 	<li>legacy path: {@link SQLClassParser#parseResultToField(ResultSet, Field, Set)} for every field of every row</li>
+ * </ul>
+ * </p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class MappingBenchmark {
+
+	/** rows of result set */
+	static final int ROWS=Integer.getInteger("bench.rows", 1_000);
+	/** result sets mapped for iteration */
+	static final int OPS=Integer.getInteger("bench.ops", 200);
+
+	/** entity of benchmark */
+	static class Entita {
+		int id;
+		long counter;
+		String name;
+		String description;
+		double price;
+		Integer quantity;
+		Timestamp created;
+		boolean active;
+	}
+
+	public static void main(String[] args) throws Exception {
+		run();
+	}
+
+	/**
+	 * run every case of mapping
+	 * @throws Exception if a case fail
+	 */
+	public static void run() throws Exception {
+		String[] labels={"id","counter","name","description","price","quantity","created","active"};
+		Object[][] rows=new Object[ROWS][];
+		Timestamp now=new Timestamp(System.currentTimeMillis());
+		for (int i=0; i<ROWS; i++) rows[i]=new Object[] { i, (long)i*2, "name "+i, "description "+i, i/2.0, i%3==0? null : i, now, i%2 };
+		ResultSet rs=FakeResultSet.of(labels, rows);
+
+		SQLClassMetadata<Entita> meta=SQLClassMetadata.of(Entita.class);
+		Bench.run("plan hydration ("+ROWS+" rows)", OPS, () -> {
+			rs.beforeFirst();
+			SQLResultPlan<Entita> plan=SQLResultPlan.of(meta, rs);
+			List<Entita> list=new ArrayList<>(ROWS);
+			while (rs.next()) list.add(plan.map(rs));
+			Bench.consume(list);
+		});
+		Bench.run("legacy hydration ("+ROWS+" rows)", OPS, () -> {
+			rs.beforeFirst();
+			Bench.consume(legacy(rs));
+		});
+	}
+
+	/**
+	 * hydration as it was before metadata cache and result plans
+	 */
+	static List<Entita> legacy(ResultSet rs) throws Exception {
+		List<Entita> list=new ArrayList<>();
+		ResultSetMetaData rsmeta=rs.getMetaData();
+		Set<String> columns=new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+		for (int i=1; i<=rsmeta.getColumnCount(); i++) columns.add(rsmeta.getColumnLabel(i));
+		while (rs.next()) {
+			Field[] f=Entita.class.getDeclaredFields();
+			Entita e=Entita.class.getDeclaredConstructor().newInstance();
+			for (Field x : f) {
+				x.setAccessible(true);
+				Object inst=SQLClassParser.parseResultToField(rs, x, columns);
+				x.set(e, inst==null? SQLClassParser.nullValue(x.getType()) : inst);
+			}
+			list.add(e);
+		}
+		return list;
+	}
+
+}
@@ -0,0 +1,42 @@
+package psykeco.querymatico.bench;
+
+import psykeco.querymatico.sql.utility.SQLClassParser;
+
+/**
+ * <p>Benchmarks of {@link SQLClassParser}: {@link SQLClassParser#parseInstance(Class, Object)}, 
+ * {@link SQLClassParser#str(Object)} and {@link SQLClassParser#validateBase(String)}</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class ParserBenchmark {
+
+	/** calls for iteration */
+	static final int OPS=Integer.getInteger("bench.ops", 100_000);
+
+	/** entity of benchmark */
+	static class Entita {
+		int id=1;
+		long counter=2;
+		String name="a name";
+		String description="a longer description, with an apostrophe: l'apostrofo";
+		double price=3.5;
+		Integer quantity=4;
+	}
+
+	public static void main(String[] args) throws Exception {
+		run();
+	}
+
+	/**
+	 * run every case of parser
+	 * @throws Exception if a case fail
+	 */
+	public static void run() throws Exception {
+		Entita e=new Entita();
+		Bench.run("parseInstance(6 fields)", OPS, () -> Bench.consume(SQLClassParser.parseInstance(Entita.class, e)));
+		Bench.run("str(String)", OPS, () -> Bench.consume(SQLClassParser.str(e.description)));
+		Bench.run("str(Integer)", OPS, () -> Bench.consume(SQLClassParser.str(e.quantity)));
+		Bench.run("validateBase(name)", OPS, () -> Bench.consume(SQLClassParser.validateBase("a_table_name")));
+	}
+
+}
@@ -0,0 +1,74 @@
+package psykeco.querymatico;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+
+import psykeco.querymatico.sql.utility.SQLClassParser;
+
+/**
+ * Parameterized version of a query built by {@link QueryMaticO#buildPrepared()}.<br>
+ *
+ * It contains the statement text, where every value is replaced by a <code>?</code> placeholder,
+ * and the ordered list of "column name-value" couples to bind to that placeholders.<br>
+ * The same text is produced for every query with same shape, so the DBMS can parse and plan it only once.
+ *
+ * @author PsykeDady (psdady@msn.com) */
+public final class PreparedQuery {
+
+	/** statement text with <code>?</code> placeholders */
+	private final String sql;
+
+	/** ordered couples column-value, one for every placeholder */
+	private final List<Entry<String,Object>> parameters;
+
+	/**
+	 * @param sql statement text with <code>?</code> placeholders
+	 * @param parameters ordered couples column-value, one for every placeholder
+	 */
+	public PreparedQuery(String sql, List<Entry<String,Object>> parameters) {
+		this.sql=sql;
+		this.parameters=(parameters==null)?
+				Collections.emptyList() :
+				Collections.unmodifiableList(new ArrayList<>(parameters));
+	}
+
+	/**
+	 * @return statement text with <code>?</code> placeholders
+	 */
+	public String getSql() {
+		return sql;
+	}
+
+	/**
+	 * @return unmodifiable ordered list of couples column-value, one for every placeholder
+	 */
+	public List<Entry<String,Object>> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * @return ordered list of values to bind
+	 */
+	public List<Object> getValues() {
+		List<Object> values=new ArrayList<>(parameters.size());
+		for (Entry<String,Object> p : parameters) values.add(p.getValue());
+		return values;
+	}
+
+	/**
+	 * @return ordered array of {@link java.sql.Types} constant of every parameter, see {@link SQLClassParser#sqlType(Object)}
+	 */
+	public int[] getTypes() {
+		int[] types=new int[parameters.size()];
+		int i=0;
+		for (Entry<String,Object> p : parameters) types[i++]=SQLClassParser.sqlType(p.getValue());
+		return types;
+	}
+
+	@Override
+	public String toString() {
+		return sql+" "+getValues();
+	}
+}
@@ -22,6 +22,16 @@ public interface QueryMaticO {
 	 *  */
 	public QueryMaticO table(String table);
 	
+	/**
+	 * @return db name, <code>null</code> if not set
+	 */
+	public String getDB();
+	
+	/**
+	 * @return table name, <code>null</code> if not set
+	 */
+	public String getTable();
+	
 	/** add "column name-column value" into insert, select or update fields
 	 * 
 	 *  @param  kv name-value as {@link java.util.Map.Entry Entry} class
@@ -74,11 +84,33 @@ public interface QueryMaticO {
 	 * 
 	 * */
 	public String build();
-	
+
+	/**
+	 * Build query with bind parameters. Every value is replaced by a <code>?</code> placeholder
+	 * and added, in order, to parameters of returned {@link PreparedQuery}
+	 * @return parameterized query
+	 *
+	 * @throws IllegalArgumentException if {@link #validate()} fail
+	 * */
+	public PreparedQuery buildPrepared();
+
 	/**
 	 * create a QueryMaticO as new object with same data of this.
 	 * 
 	 * @return the new instance
 	 */
 	public QueryMaticO copy();
+	
+	/**
+	 * make this builder immutable: every next change throw an {@link IllegalStateException}. 
+	 * A frozen builder can be shared between threads as template, {@link #copy()} return a not frozen builder
+	 * 
+	 * @return QueryMaticO updated reference
+	 */
+	public QueryMaticO freeze();
+	
+	/**
+	 * @return <code>true</code> if {@link #freeze()} was called
+	 */
+	public boolean isFrozen();
 }
@@ -2,6 +2,7 @@ package psykeco.querymatico;
 
 import static psykeco.querymatico.sql.utility.SQLClassParser.*;
 
+import java.util.List;
 import java.util.Map.Entry;
 
 /**
@@ -12,6 +13,34 @@ import java.util.Map.Entry;
  * @author PsykeDady (psdady@msn.com) */
 public abstract class SelectMaticO implements QueryMaticO{
 	
+	/**
+	 * type of explicit join, see {@link SelectMaticO#join(JOIN, SelectMaticO)}
+	 */
+	public static enum JOIN {
+		/** rows with a match in both tables */
+		INNER("INNER JOIN"),
+		/** all rows of left table, <code>NULL</code> columns if there is no match in joined table */
+		LEFT("LEFT JOIN"),
+		/** all rows of joined table, <code>NULL</code> columns if there is no match in left table */
+		RIGHT("RIGHT JOIN"),
+		/** inner join where left table is always read before joined table, as hint to the optimizer */
+		STRAIGHT("STRAIGHT_JOIN");
+		
+		/** keyword of join */
+		private final String keyword;
+		
+		private JOIN(String keyword) {
+			this.keyword=keyword;
+		}
+		
+		/**
+		 * @return keyword of join, as <code>LEFT JOIN</code>
+		 */
+		public String getKeyword() {
+			return keyword;
+		}
+	}
+	
 	/**
 	 * alias name for table 
 	 */
@@ -59,6 +88,11 @@ public abstract class SelectMaticO implements QueryMaticO{
 	 */
 	public abstract SelectMaticO join(SelectMaticO joinSelect);
 	
+	/**
+	 * @return select joined with {@link #join(SelectMaticO)}, <code>null</code> if not set
+	 */
+	public abstract SelectMaticO getJoin();
+	
 	/**
 	 * add a couple <code>column of this</code>-<code>column of other</code> as filter of join
 	 * @param thisOther couple column-column (this-other) as {@link Entry} class
@@ -74,6 +108,47 @@ public abstract class SelectMaticO implements QueryMaticO{
 	 */
 	public abstract SelectMaticO joinFilter (String columnThis, String columnOther);
 	
+	/**
+	 * add a SelectMaticO in explicit join with this, as <code>type JOIN table ON conditions</code>.<br>
+	 * Conditions are added with {@link #on(String, String)}, filters of joinSelect are added to them. 
+	 * Joins are rendered in order they are added, so more selects can be joined to this, 
+	 * and a joined select can have its own joins to build a chain
+	 * 
+	 * @param type type of join
+	 * @param joinSelect select to join
+	 * @return SelectMaticO updated reference
+	 */
+	public abstract SelectMaticO join(JOIN type, SelectMaticO joinSelect);
+	
+	/**
+	 * add a SelectMaticO in explicit join with this, with condition <code>columnThis=columnOther</code>.<br>
+	 * This method call {@link #join(JOIN, SelectMaticO)} and {@link #on(String, String)}
+	 * 
+	 * @param type type of join
+	 * @param joinSelect select to join
+	 * @param columnThis column of this SelectMaticO
+	 * @param columnOther column of joinSelect
+	 * @return SelectMaticO updated reference
+	 */
+	public SelectMaticO join(JOIN type, SelectMaticO joinSelect, String columnThis, String columnOther) {
+		join(type, joinSelect);
+		on(columnThis, columnOther);
+		return this;
+	}
+	
+	/**
+	 * add a couple <code>column of this</code>-<code>column of other</code> as condition of last join added with {@link #join(JOIN, SelectMaticO)}
+	 * @param columnThis column of this SelectMaticO
+	 * @param columnOther column of last SelectMaticO in join 
+	 * @return SelectMaticO updated reference
+	 */
+	public abstract SelectMaticO on(String columnThis, String columnOther);
+	
+	/**
+	 * @return selects joined with {@link #join(JOIN, SelectMaticO)}, in order they were added
+	 */
+	public abstract List<? extends SelectMaticO> getJoins();
+	
 	/**
 	 * add count aggregate on a column name<br>
 	 * if the same column is in distinct clausole, <code>count</code> become a <code>count(distinct())</code>
@@ -129,6 +204,49 @@ public abstract class SelectMaticO implements QueryMaticO{
 		return this;
 	}
 	
+	/**
+	 * @return column of order by, <code>null</code> if not set
+	 */
+	public abstract String getOrderBy();
+	
+	/**
+	 * query will return at most n rows<br>
+	 * 
+	 * @param   n max number of rows
+	 * @return  updated instance of SelectMaticO
+	 */
+	public abstract SelectMaticO limit(long n);
+	
+	/**
+	 * query will skip first n rows. Server still read skipped rows, 
+	 * so on big tables prefer {@link #seekAfter(Object)}<br>
+	 * 
+	 * @param   n number of rows to skip
+	 * @return  updated instance of SelectMaticO
+	 */
+	public abstract SelectMaticO offset(long n);
+	
+	/**
+	 * keyset pagination: query will return only rows after value in column of {@link #orderBy(String, boolean) order by}, 
+	 * as <code>column &gt; value</code> ( <code>column &lt; value</code> if order is descendant ). 
+	 * With an index on the column, server start reading from value instead of skipping rows. 
+	 * Column should be unique, rows with same value are skipped<br>
+	 * 
+	 * @param   value last value of previous page, <code>null</code> to start from first row
+	 * @return  updated instance of SelectMaticO
+	 */
+	public abstract SelectMaticO seekAfter(Object value);
+	
+	/**
+	 * @return max number of rows, <code>null</code> if not set
+	 */
+	public abstract Long getLimit();
+	
+	/**
+	 * @return number of skipped rows, <code>null</code> if not set
+	 */
+	public abstract Long getOffset();
+	
 	/**
 	 * build only <i>select clausole</i> of query<br>
 	 * example:<br>
@@ -178,4 +296,12 @@ public abstract class SelectMaticO implements QueryMaticO{
 	 */
 	@Override
 	public abstract SelectMaticO copy();
+	
+	/**
+	 * make this select immutable, see {@link QueryMaticO#freeze()}
+	 * 
+	 * @return SelectMaticO updated reference
+	 */
+	@Override
+	public abstract SelectMaticO freeze();
 }
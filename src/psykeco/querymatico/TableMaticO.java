@@ -1,5 +1,8 @@
 package psykeco.querymatico;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * TableMaticO can map a class directly into a Database Table thanks to java reflection mechanism. 
  * it needs only Class, db name and optionally primary keys list.<br>
@@ -108,6 +111,46 @@ public interface TableMaticO {
 	 */
 	public QueryMaticO insertData(Object o);
 	
+	/**
+	 * create {@link QueryMaticO} instances to insert records of all input objects with multi-row statements.<br>
+	 * Rows are split in more statements so every statement stays under {@link #maxPacket(int)} bytes
+	 * 
+	 * @param os istances of Object to insert into table ( they must be of the same class setted with {@link #table(Class)} method ),
+	 * <code>null</code> elements are skipped
+	 * 
+	 * @return list of {@link QueryMaticO} instances to perform the inserts on table 
+	 */
+	public List<? extends QueryMaticO> insertData(Iterable<?> os);
+	
+	/**
+	 * set the max size, in bytes, of a single statement built by {@link #insertData(Iterable)}. 
+	 * It should not be greater than <code>max_allowed_packet</code> of server
+	 * 
+	 * @param bytes max size of statement 
+	 * @return TableMaticO updated reference
+	 */
+	public TableMaticO maxPacket(int bytes);
+	
+	/**
+	 * create {@link SelectMaticO} instances to select records by values of primary key, 
+	 * as <code>WHERE primary IN ( keys )</code>.<br>
+	 * Keys are split in more statements of at most {@link #keysChunk(int)} values each, 
+	 * so results of all statements must be merged ( see <code>queryList(Class, List)</code> of runners )
+	 * 
+	 * @param keys values of primary key, <code>null</code> and duplicated elements are skipped
+	 * 
+	 * @return list of {@link SelectMaticO} instances, empty if there are no keys
+	 */
+	public List<? extends SelectMaticO> selectByKeys(Collection<?> keys);
+	
+	/**
+	 * set the max number of keys of a single statement built by {@link #selectByKeys(Collection)}
+	 * 
+	 * @param size max number of keys of statement 
+	 * @return TableMaticO updated reference
+	 */
+	public TableMaticO keysChunk(int size);
+	
 	/**
 	 * create a {@link SelectMaticO} instance to select records filtering by field specified by input object
 	 * 
@@ -137,6 +180,37 @@ public interface TableMaticO {
 	 */
 	public QueryMaticO updateData(Object o);
 	
+	/**
+	 * build a parameterized select of records with same value of not null fields of input object, as {@link #selectData(Object)}.
+	 * Statement text can be cached by set of not null fields, so only values are bound on next calls
+	 * 
+	 * @param istance of Object to filter query ( it must be of the same class setted with {@link #table(Class)} method or <code>null</code> to select all fields
+	 * 
+	 * @return parameterized select
+	 */
+	public PreparedQuery selectPrepared(Object o);
+	
+	/**
+	 * build a parameterized delete of records with same value of not null fields of input object, as {@link #deleteData(Object)}.
+	 * Statement text can be cached by set of not null fields, so only values are bound on next calls
+	 * 
+	 * @param istance of Object needed to filter rows to delete from table 
+	 * ( it must be of the same class setted with {@link #table(Class)} method
+	 * 
+	 * @return parameterized delete
+	 */
+	public PreparedQuery deletePrepared(Object o);
+	
+	/**
+	 * build a parameterized update of records of input object, as {@link #updateData(Object)}.
+	 * Statement text can be cached by set of not null fields, so only values are bound on next calls
+	 * 
+	 * @param istance of Object is intended to update table's records ( it must be of the same class setted with {@link #table(Class)} method
+	 * 
+	 * @return parameterized update
+	 */
+	public PreparedQuery updatePrepared(Object o);
+	
 	/**
 	 * create a {@link SelectMaticO} instance that count rows with same value of not null fields of input object. If input is null, all records are selected
 	 * 
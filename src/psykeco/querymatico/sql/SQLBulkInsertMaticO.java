@@ -0,0 +1,330 @@
+package psykeco.querymatico.sql;
+
+import static psykeco.querymatico.sql.utility.SQLClassParser.copyOf;
+import static psykeco.querymatico.sql.utility.SQLClassParser.getTrueName;
+import static psykeco.querymatico.sql.utility.SQLClassParser.param;
+import static psykeco.querymatico.sql.utility.SQLClassParser.validateBase;
+import static psykeco.querymatico.sql.utility.SQLClassParser.validateValue;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BUILDER_FROZEN;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_EMPTY;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NULL;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.ENTRY_EMPTY;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.NOT_SUPPORT_METHOD;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NULL;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_NOT_VALID;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import psykeco.querymatico.PreparedQuery;
+import psykeco.querymatico.QueryMaticO;
+import psykeco.querymatico.sql.runners.MySqlConnection;
+import psykeco.querymatico.translations.Translations;
+
+/**
+ * MySQL multi-row insert implementation of {@link QueryMaticO}.<br>
+ *
+ * Perform insert of more records with a single statement,
+ * table name and db name are required! <br>
+ *
+ * entry are added to current row, {@link #row()} start a new one.
+ * Columns are the union of all entries columns, a column without value in a row is inserted as <code>NULL</code>.
+ *
+ * @author PsykeDady (psdady@msn.com)
+ * */
+public class SQLBulkInsertMaticO implements QueryMaticO {
+
+	public SQLBulkInsertMaticO() {}
+
+	/** table name */
+	private String table;
+	/** db name */
+	private String db;
+	/** columns, in insertion order */
+	private Set<String> columns=new LinkedHashSet<>();
+	/** list of rows, every row is a map of value ( entry ) */
+	private List<Map<String,Object>> rows=new ArrayList<>();
+	
+	/** true if collections are shared with a copy, they are copied before next change */
+	private boolean shared;
+	
+	/** true after {@link #freeze()} */
+	private boolean frozen;
+
+	/** Set db name
+	 *  @param DB name of db
+	 *  @return SQLBulkInsertMaticO updated reference
+	 *  */
+	@Override
+	public SQLBulkInsertMaticO DB(String DB) {
+		checkFrozen();
+		this.db=DB;
+		return this;
+	}
+
+	/** set table name
+	 *  @param table name of table
+	 *  @return SQLBulkInsertMaticO updated reference
+	 *  */
+	@Override
+	public SQLBulkInsertMaticO table(String table) {
+		checkFrozen();
+		this.table=table;
+		return this;
+	}
+
+	/**
+	 * @return db name, <code>null</code> if not set
+	 */
+	@Override
+	public String getDB() {
+		return db;
+	}
+
+	/**
+	 * @return table name, <code>null</code> if not set
+	 */
+	@Override
+	public String getTable() {
+		return table;
+	}
+
+	/**
+	 * start a new row, next entries will be added to it
+	 * @return SQLBulkInsertMaticO updated reference
+	 */
+	public SQLBulkInsertMaticO row() {
+		unshare();
+		rows.add(new HashMap<>());
+		return this;
+	}
+
+	/**
+	 * @return number of rows
+	 */
+	public int size() {
+		return rows.size();
+	}
+
+	/** add "column name-column value" into current row
+	 *
+	 *  @param  kv name-value as {@link java.util.Map.Entry Entry} class
+	 *  @return SQLBulkInsertMaticO updated reference
+	 *  */
+	@Override
+	public SQLBulkInsertMaticO entry(Entry<String, Object> kv) {
+		return entry(kv.getKey(),kv.getValue());
+	}
+
+	/** add "column name-column value" into current row, <code>null</code> value is inserted as <code>NULL</code>
+	 *
+	 *  @param  column : column name
+	 *  @param  value : column value
+	 *  @return SQLBulkInsertMaticO updated reference
+	 *  */
+	@Override
+	public SQLBulkInsertMaticO entry(String column, Object value) {
+		unshare();
+		if (rows.isEmpty()) row();
+		columns.add(column);
+		rows.get(rows.size()-1).putIfAbsent(column, value);
+		return this;
+	}
+
+	/**
+	 * check all the fields in order to validate a possible query. <br>
+	 * Returned value represent a String with encountered
+	 * error or empty string if every controls passes.<br>
+	 * Field required:
+	 * <ul>
+	 * 		<li>db</li>
+	 * 		<li>table</li>
+	 * 		<li>almost one {@link #entry(Entry)} (or {@link #entry(String, Object)}) couple</li>
+	 * </ul>
+	 *
+	 * Every column needed to be valid and not null, every not null String value needed to be valid
+	 *
+	 * @return empty string if all check is passed, an error message otherwise
+	 */
+	@Override
+	public String validate() {
+		return validate(db);
+	}
+	
+	/**
+	 * check all the fields as {@link #validate()}, using input db in place of db of builder. 
+	 * Fields are never changed, so validation can run on more threads
+	 * 
+	 * @param db db name
+	 * @return empty string if all check is passed, an error message otherwise
+	 */
+	private String validate(String db) {
+
+		if (table==null || table.equals("")) return Translations.getMsg(TABLE_NULL);
+		if (db   ==null || db   .equals("")) return Translations.getMsg(DB_NULL);
+
+		String tmp=validateBase(table);
+		if (tmp==null) return Translations.getMsg(TABLE_NOT_VALID,table);
+
+		tmp=validateBase(db);
+		if (tmp==null) return Translations.getMsg(DB_NOT_VALID,db);
+
+		if ( columns.size() < 1 ) return Translations.getMsg(ENTRY_EMPTY);
+
+		for (String column : columns) {
+			if (column == null || column.equals("") ) return Translations.getMsg(COLUMN_EMPTY);
+			if (validateBase(column)==null) return Translations.getMsg(COLUMN_NOT_VALID,column);
+		}
+
+		for (Map<String,Object> row : rows) {
+			if ( row.isEmpty() ) return Translations.getMsg(ENTRY_EMPTY);
+			for (Object value : row.values()) {
+				if ( value instanceof String && validateValue((String)value)==null )
+					return Translations.getMsg(VALUE_NOT_VALID,value.toString());
+			}
+		}
+
+		return "";
+	}
+
+	/**
+	 * Build insert istruction and return it as String
+	 * @return INSERT istruction, as String, <code>null</code> if {@link #validate() validazione} fail
+	 * */
+	@Override
+	public String build() {
+		return build(null);
+	}
+
+	/**
+	 * Build insert istruction with a <code>?</code> placeholder for every value of every row
+	 * @return INSERT istruction and its parameters
+	 *
+	 * @throws IllegalArgumentException if {@link #validate()} fail
+	 * */
+	@Override
+	public PreparedQuery buildPrepared() {
+		List<Entry<String,Object>> params=new ArrayList<>(columns.size()*rows.size());
+		return new PreparedQuery(build(params), params);
+	}
+
+	/**
+	 * build insert istruction
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return INSERT istruction
+	 */
+	private String build(List<Entry<String,Object>> params) {
+		String db=(this.db==null)? MySqlConnection.db():this.db;
+		String validation=validate(db);
+		if( ! validation.equals("") ) throw new IllegalArgumentException(validation);
+
+		StringBuilder sb=new StringBuilder(columns.size()*(20+rows.size()*10));
+
+		sb.append("INSERT INTO `"+validateBase(db)+"`.`"+validateBase(table)+"` ( ");
+		for (String column : columns) sb.append('`'+validateBase(column)+"`,");
+		sb.setCharAt(sb.length()-1, ')');
+		sb.append(" VALUES ");
+
+		for (Map<String,Object> row : rows) {
+			sb.append('(');
+			for (String column : columns) {
+				Object value=row.get(column);
+				sb.append( (value==null && params==null)? "NULL" : param(params, column, value) );
+				sb.append(',');
+			}
+			sb.setCharAt(sb.length()-1, ')');
+			sb.append(',');
+		}
+		sb.deleteCharAt(sb.length()-1);
+
+		return sb.toString();
+	}
+
+	/**
+	 * filters are not supported in insert operations
+	 * @param filter
+	 * @throws UnsupportedOperationException : always, filters are not supported on SQLBulkInsertMaticO
+	 */
+	@Override
+	public SQLBulkInsertMaticO filter(Entry<String, Object> filter) {
+		throw new UnsupportedOperationException(Translations.getMsg(NOT_SUPPORT_METHOD, getTrueName(SQLBulkInsertMaticO.class),"filter"));
+	}
+
+	/**
+	 * filters are not supported in insert operations
+	 *  @param  column
+	 *  @param  value
+	 * @throws UnsupportedOperationException : always, filters are not supported on SQLBulkInsertMaticO
+	 */
+	@Override
+	public SQLBulkInsertMaticO filter(String column, Object value) {
+		throw new UnsupportedOperationException(Translations.getMsg(NOT_SUPPORT_METHOD, getTrueName(SQLBulkInsertMaticO.class),"filter"));
+	}
+
+	/**
+	 * create a SQLBulkInsertMaticO as new object with same data of this. 
+	 * Collections are shared until one of two builders is changed
+	 * 
+	 * @return the new instance, not frozen
+	 */
+	@Override
+	public SQLBulkInsertMaticO copy() {
+		SQLBulkInsertMaticO cf=new SQLBulkInsertMaticO();
+		cf.db=db;
+		cf.table=table;
+		cf.columns=columns;
+		cf.rows=rows;
+		cf.shared=true;
+		if (!frozen) shared=true;
+		return cf;
+	}
+	
+	/**
+	 * make this builder immutable, every next change throw an {@link IllegalStateException}
+	 * 
+	 * @return SQLBulkInsertMaticO updated reference
+	 */
+	@Override
+	public SQLBulkInsertMaticO freeze() {
+		frozen=true;
+		return this;
+	}
+	
+	/**
+	 * @return <code>true</code> if {@link #freeze()} was called
+	 */
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
+	
+	/**
+	 * @throws IllegalStateException if builder is frozen
+	 */
+	private void checkFrozen() {
+		if (frozen) throw new IllegalStateException(Translations.getMsg(BUILDER_FROZEN, getTrueName(SQLBulkInsertMaticO.class)));
+	}
+	
+	/**
+	 * copy collections shared with a copy, before changing them
+	 * @throws IllegalStateException if builder is frozen
+	 */
+	private void unshare() {
+		checkFrozen();
+		if (!shared) return;
+		columns=new LinkedHashSet<>(columns);
+		rows=new ArrayList<>(rows);
+		// only last row can be changed by entries
+		if (!rows.isEmpty()) rows.set(rows.size()-1, copyOf(rows.get(rows.size()-1)));
+		shared=false;
+	}
+
+}
@@ -25,6 +25,10 @@ public class SQLConnectionMaticO  implements ConnectionMaticO{
 	 * Some implementation of mysql client require timezone settings
 	 */
 	public static final String TIMEZONE="useJDBCCompliantTimezoneShift=true&useLegacyDatetimeCode=false&serverTimezone=UTC";
+	/**
+	 * Let the driver rewrite JDBC batches of inserts into multi-row statements
+	 */
+	public static final String REWRITE_BATCHED="rewriteBatchedStatements=true";
 	/**
 	 * default driver for mysql
 	 */
@@ -71,6 +75,7 @@ public class SQLConnectionMaticO  implements ConnectionMaticO{
 	private String user=DEFAULT_USER;
 	private String psk="";
 	private boolean autocommit=DEFAULT_AUTOCOMMIT;
+	private boolean rewriteBatched=false;
 	
 /**
 	 * set driver to use
@@ -155,6 +160,27 @@ public class SQLConnectionMaticO  implements ConnectionMaticO{
 		return this;
 	}
 
+	/**
+	 * get autocommit settings
+	 * 
+	 * @return <code>true</code> if autocommit is on
+	 */
+	public boolean getAutocommit() {
+		return autocommit;
+	}
+
+	/** 
+	 * set on/off rewrite of JDBC batches by driver (see {@link #REWRITE_BATCHED}), 
+	 * useful with {@link psykeco.querymatico.sql.runners.MySqlConnection#executeBatch() MySqlConnection.executeBatch()}
+	 * 
+	 * @param rewriteBatched
+	 * @return SQLConnectionMaticO instance updated 
+	 * */
+	public SQLConnectionMaticO rewriteBatched(boolean rewriteBatched) {
+		this.rewriteBatched=rewriteBatched;
+		return this;
+	}
+
 	/**
 	 * check all the fields in order to validate a possible query. <br>
 	 * Returned value represent a String with encountered 
@@ -228,7 +254,7 @@ public class SQLConnectionMaticO  implements ConnectionMaticO{
 		if (this.db!=null&&db==null) throw new IllegalArgumentException(Translations.getMsg(DB_NOT_VALID,this.db));
 		
 		
-		return URL_INIT+url+':'+port+((db!=null)?'/'+db:"")+"?"+TIMEZONE;
+		return URL_INIT+url+':'+port+((db!=null)?'/'+db:"")+"?"+TIMEZONE+(rewriteBatched?"&"+REWRITE_BATCHED:"");
 	}
 
 }
@@ -1,10 +1,12 @@
 package psykeco.querymatico.sql;
 
+import static psykeco.querymatico.sql.utility.SQLClassParser.copyOf;
 import static psykeco.querymatico.sql.utility.SQLClassParser.getTrueName;
+import static psykeco.querymatico.sql.utility.SQLClassParser.param;
 import static psykeco.querymatico.sql.utility.SQLClassParser.parseType;
-import static psykeco.querymatico.sql.utility.SQLClassParser.str;
 import static psykeco.querymatico.sql.utility.SQLClassParser.validateBase;
 import static psykeco.querymatico.sql.utility.SQLClassParser.validateValue;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BUILDER_FROZEN;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_EMPTY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NOT_VALID;
@@ -15,9 +17,12 @@ import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_EMPTY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_NOT_VALID;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map.Entry;
 
+import psykeco.querymatico.PreparedQuery;
 import psykeco.querymatico.QueryMaticO;
 import psykeco.querymatico.sql.runners.MySqlConnection;
 import psykeco.querymatico.translations.Translations;
@@ -28,7 +33,8 @@ import psykeco.querymatico.translations.Translations;
  * Perform delete operations on database,
  * table name and db name are required! <br>   
  * 
- * filters are used into <code>where</code> clausole.
+ * filters are used into <code>where</code> clausole, 
+ * with equality or with a {@link SQLPredicate}.
  * 
  * @author PsykeDady (psdady@msn.com) 
  * */
@@ -43,12 +49,22 @@ public class SQLDeleteMaticO implements QueryMaticO{
 	/** map of filter */
 	private HashMap<String,Object> filter=new HashMap<>();
 	
+	/** predicates of where clausole */
+	private List<SQLPredicate> predicates=new ArrayList<>();
+	
+	/** true if collections are shared with a copy, they are copied before next change */
+	private boolean shared;
+	
+	/** true after {@link #freeze()} */
+	private boolean frozen;
+	
 	/** Set db name
 	 *  @param DB name of db
 	 *  @return SQLDeleteMaticO updated reference
 	 *  */
 	@Override
 	public SQLDeleteMaticO DB(String DB) {
+		checkFrozen();
 		this.db=DB;
 		return this;
 	}
@@ -59,9 +75,26 @@ public class SQLDeleteMaticO implements QueryMaticO{
 	 *  */
 	@Override
 	public SQLDeleteMaticO table(String table) {
+		checkFrozen();
 		this.table=table;
 		return this;
 	}
+
+	/**
+	 * @return db name, <code>null</code> if not set
+	 */
+	@Override
+	public String getDB() {
+		return db;
+	}
+
+	/**
+	 * @return table name, <code>null</code> if not set
+	 */
+	@Override
+	public String getTable() {
+		return table;
+	}
 	
 	/**
 	 * entries are not supported in delete operations
@@ -103,10 +136,22 @@ public class SQLDeleteMaticO implements QueryMaticO{
 	 *  */
 	@Override
 	public SQLDeleteMaticO filter(String column, Object value) {
+		unshare();
 		this.filter.putIfAbsent(column, value);
 		return this;
 	}
 
+	/** add a predicate as filter of where clausole, in <code>AND</code> with other filters
+	 * 
+	 *  @param  predicate the condition, see {@link SQLPredicate}
+	 *  @return SQLDeleteMaticO updated reference
+	 *  */
+	public SQLDeleteMaticO filter(SQLPredicate predicate) {
+		unshare();
+		this.predicates.add(predicate);
+		return this;
+	}
+
 	/**
 	 * check all the fields in order to validate a possible query. <br>
 	 * Returned value represent a String with encountered 
@@ -123,6 +168,17 @@ public class SQLDeleteMaticO implements QueryMaticO{
 	 */
 	@Override
 	public String validate() {
+		return validate(db);
+	}
+	
+	/**
+	 * check all the fields as {@link #validate()}, using input db in place of db of builder. 
+	 * Fields are never changed, so validation can run on more threads
+	 * 
+	 * @param db db name
+	 * @return empty string if all check is passed, an error message otherwise
+	 */
+	private String validate(String db) {
 		
 		if (table==null || table.equals("")) return Translations.getMsg(TABLE_NULL);
 		if (db   ==null || db   .equals("")) return Translations.getMsg(DB_NULL);
@@ -147,6 +203,12 @@ public class SQLDeleteMaticO implements QueryMaticO{
 			if ( tmp==null ) return Translations.getMsg(VALUE_NOT_VALID,value);
 		}
 		
+		for (SQLPredicate p : predicates) {
+			if (p==null) return Translations.getMsg(VALUE_EMPTY, "filter");
+			tmp=p.validate();
+			if ( !tmp.equals("") ) return tmp;
+		}
+		
 		return "";
 	}
 
@@ -156,38 +218,104 @@ public class SQLDeleteMaticO implements QueryMaticO{
 	 * */
 	@Override
 	public String build() {
+		return build(null);
+	}
+	
+	/**
+	 * Build delete istruction with a <code>?</code> placeholder for every value of <code>where</code> clausole
+	 * @return DELETE istruction and its parameters
+	 * 
+	 * @throws IllegalArgumentException if {@link #validate()} fail
+	 * */
+	@Override
+	public PreparedQuery buildPrepared() {
+		List<Entry<String,Object>> params=new ArrayList<>(filter.size());
+		return new PreparedQuery(build(params), params);
+	}
+	
+	/**
+	 * build delete istruction
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return DELETE istruction
+	 */
+	private String build(List<Entry<String,Object>> params) {
 		StringBuilder values=new StringBuilder(filter.size()*20);
-		String thisdb=this.db;
-		this.db=(this.db==null)? MySqlConnection.db():this.db;
-		String validation=validate();
+		String db=(this.db==null)? MySqlConnection.db():this.db;
+		String validation=validate(db);
 		if( ! validation.equals("")) throw new IllegalArgumentException(validation);
 		
-		String db=validateBase(this.db),table=validateBase(this.table);
+		db=validateBase(db);
+		String table=validateBase(this.table);
 		
 		values.append("DELETE FROM `"+db+"`.`"+table+"` WHERE 1=1 ");
 		
 		for (Entry<String,Object> f : filter.entrySet()) {
 			String key=validateBase(f.getKey()),
-				value=str(f.getValue());
+				value=param(params,f.getKey(),f.getValue());
 			values.append("AND `"+key+"`="+value+" " );
 		}
-		this.db=thisdb;
+		
+		for (SQLPredicate p : predicates) {
+			values.append("AND "+p.build(c -> "`"+validateBase(c)+"`", params)+" " );
+		}
 		return values.toString().trim();
 	}
 
 	/**
-	 * create a SQLDeleteMaticO as new object with same data of this.
+	 * create a SQLDeleteMaticO as new object with same data of this. 
+	 * Collections are shared until one of two builders is changed
 	 * 
-	 * @return the new instance
+	 * @return the new instance, not frozen
 	 */
 	@Override
 	public SQLDeleteMaticO copy() {
-		SQLDeleteMaticO cf=new SQLDeleteMaticO().DB(db).table(table);
-		if(filter!=null) for( Entry <String,Object> kv: filter.entrySet()) {
-			cf.filter(kv);
-		}
+		SQLDeleteMaticO cf=new SQLDeleteMaticO();
+		cf.db=db;
+		cf.table=table;
+		cf.filter=filter;
+		cf.predicates=predicates;
+		cf.shared=true;
+		if (!frozen) shared=true;
 		return cf;
 	}
+	
+	/**
+	 * make this builder immutable, every next change throw an {@link IllegalStateException}
+	 * 
+	 * @return SQLDeleteMaticO updated reference
+	 */
+	@Override
+	public SQLDeleteMaticO freeze() {
+		frozen=true;
+		return this;
+	}
+	
+	/**
+	 * @return <code>true</code> if {@link #freeze()} was called
+	 */
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
+	
+	/**
+	 * @throws IllegalStateException if builder is frozen
+	 */
+	private void checkFrozen() {
+		if (frozen) throw new IllegalStateException(Translations.getMsg(BUILDER_FROZEN, getTrueName(SQLDeleteMaticO.class)));
+	}
+	
+	/**
+	 * copy collections shared with a copy, before changing them
+	 * @throws IllegalStateException if builder is frozen
+	 */
+	private void unshare() {
+		checkFrozen();
+		if (!shared) return;
+		filter=copyOf(filter);
+		predicates=new ArrayList<>(predicates);
+		shared=false;
+	}
 
 	
 }
@@ -1,10 +1,12 @@
 package psykeco.querymatico.sql;
 
+import static psykeco.querymatico.sql.utility.SQLClassParser.copyOf;
 import static psykeco.querymatico.sql.utility.SQLClassParser.getTrueName;
+import static psykeco.querymatico.sql.utility.SQLClassParser.param;
 import static psykeco.querymatico.sql.utility.SQLClassParser.parseType;
-import static psykeco.querymatico.sql.utility.SQLClassParser.str;
 import static psykeco.querymatico.sql.utility.SQLClassParser.validateBase;
 import static psykeco.querymatico.sql.utility.SQLClassParser.validateValue;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BUILDER_FROZEN;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_EMPTY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NOT_VALID;
@@ -16,9 +18,12 @@ import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_EMPTY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_NOT_VALID;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map.Entry;
 
+import psykeco.querymatico.PreparedQuery;
 import psykeco.querymatico.QueryMaticO;
 import psykeco.querymatico.sql.runners.MySqlConnection;
 import psykeco.querymatico.translations.Translations;
@@ -44,12 +49,19 @@ public class SQLInsertMaticO implements QueryMaticO {
 	/** map of value ( entry ) */
 	private HashMap<String,Object> kv=new HashMap<>();
 	
+	/** true if collections are shared with a copy, they are copied before next change */
+	private boolean shared;
+	
+	/** true after {@link #freeze()} */
+	private boolean frozen;
+	
 	/** Set db name
 	 *  @param DB name of db
 	 *  @return SQLInsertMaticO updated reference
 	 *  */
 	@Override
 	public SQLInsertMaticO DB(String DB) {
+		checkFrozen();
 		this.db=DB;
 		return this;
 	}
@@ -60,10 +72,27 @@ public class SQLInsertMaticO implements QueryMaticO {
 	 *  */
 	@Override
 	public SQLInsertMaticO table(String table) {
+		checkFrozen();
 		this.table=table;
 		return this;
 	}
 
+	/**
+	 * @return db name, <code>null</code> if not set
+	 */
+	@Override
+	public String getDB() {
+		return db;
+	}
+
+	/**
+	 * @return table name, <code>null</code> if not set
+	 */
+	@Override
+	public String getTable() {
+		return table;
+	}
+
 	/** add "column name-column value" into insert <code>value</code> fields
 	 * 
 	 *  @param  kv name-value as {@link java.util.Map.Entry Entry} class
@@ -82,6 +111,7 @@ public class SQLInsertMaticO implements QueryMaticO {
 	 *  */
 	@Override
 	public SQLInsertMaticO entry(String column, Object value) {
+		unshare();
 		this.kv.putIfAbsent(column, value);
 		return this;
 	}
@@ -103,6 +133,17 @@ public class SQLInsertMaticO implements QueryMaticO {
 	 */
 	@Override
 	public String validate() {
+		return validate(db);
+	}
+	
+	/**
+	 * check all the fields as {@link #validate()}, using input db in place of db of builder. 
+	 * Fields are never changed, so validation can run on more threads
+	 * 
+	 * @param db db name
+	 * @return empty string if all check is passed, an error message otherwise
+	 */
+	private String validate(String db) {
 		
 		if (table==null || table.equals("")) return Translations.getMsg(TABLE_NULL);
 		if (db   ==null || db   .equals("")) return Translations.getMsg(DB_NULL);
@@ -139,20 +180,41 @@ public class SQLInsertMaticO implements QueryMaticO {
 	 * */
 	@Override
 	public String build() {
+		return build(null);
+	}
+	
+	/**
+	 * Build insert istruction with a <code>?</code> placeholder for every value
+	 * @return INSERT istruction and its parameters
+	 * 
+	 * @throws IllegalArgumentException if {@link #validate()} fail
+	 * */
+	@Override
+	public PreparedQuery buildPrepared() {
+		List<Entry<String,Object>> params=new ArrayList<>(kv.size());
+		return new PreparedQuery(build(params), params);
+	}
+	
+	/**
+	 * build insert istruction
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return INSERT istruction
+	 */
+	private String build(List<Entry<String,Object>> params) {
 		StringBuilder column=new StringBuilder(kv.size()*20);
 		StringBuilder values=new StringBuilder(kv.size()*10);
-		String thisdb=this.db;
-		this.db=(this.db==null)? MySqlConnection.db():this.db;
-		String validation=validate();
+		String db=(this.db==null)? MySqlConnection.db():this.db;
+		String validation=validate(db);
 		if( ! validation.equals("") ) throw new IllegalArgumentException(validation);
-		String db=validateBase(this.db), table=validateBase(this.table);
+		db=validateBase(db);
+		String table=validateBase(this.table);
 		
 		values.append("INSERT INTO "+'`'+db+"`.`"+table+'`'+" ( ");
 		column.append(" VALUES (");
 		
 		for (Entry<String,Object> kv : this.kv.entrySet()) {
 			String key=validateBase(kv.getKey()),
-					value=str(kv.getValue());
+					value=param(params, kv.getKey(), kv.getValue());
 			values.append( '`'+key+"`," );
 			column.append(value+"," );
 		}
@@ -160,7 +222,6 @@ public class SQLInsertMaticO implements QueryMaticO {
 		values.setCharAt(values.length()-1, ')');
 		column.setCharAt(column.length()-1, ')');
 		
-		this.db=thisdb;
 		return values.toString()+column.toString();
 	}
 
@@ -186,17 +247,57 @@ public class SQLInsertMaticO implements QueryMaticO {
 	}
 
 	/**
-	 * create a SQLInsertMaticO as new object with same data of this.
+	 * create a SQLInsertMaticO as new object with same data of this. 
+	 * Collections are shared until one of two builders is changed
 	 * 
-	 * @return the new instance
+	 * @return the new instance, not frozen
 	 */
 	@Override
 	public SQLInsertMaticO copy() {
-		SQLInsertMaticO cf=new SQLInsertMaticO().DB(db).table(table);
-		if (kv!=null) for( Entry <String,Object > kv: this.kv.entrySet()) {
-			cf.entry(kv);
-		}
+		SQLInsertMaticO cf=new SQLInsertMaticO();
+		cf.db=db;
+		cf.table=table;
+		cf.kv=kv;
+		cf.shared=true;
+		if (!frozen) shared=true;
 		return cf;
 	}
+	
+	/**
+	 * make this builder immutable, every next change throw an {@link IllegalStateException}
+	 * 
+	 * @return SQLInsertMaticO updated reference
+	 */
+	@Override
+	public SQLInsertMaticO freeze() {
+		frozen=true;
+		return this;
+	}
+	
+	/**
+	 * @return <code>true</code> if {@link #freeze()} was called
+	 */
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
+	
+	/**
+	 * @throws IllegalStateException if builder is frozen
+	 */
+	private void checkFrozen() {
+		if (frozen) throw new IllegalStateException(Translations.getMsg(BUILDER_FROZEN, getTrueName(SQLInsertMaticO.class)));
+	}
+	
+	/**
+	 * copy collections shared with a copy, before changing them
+	 * @throws IllegalStateException if builder is frozen
+	 */
+	private void unshare() {
+		checkFrozen();
+		if (!shared) return;
+		kv=copyOf(kv);
+		shared=false;
+	}
 
 }
@@ -0,0 +1,279 @@
+package psykeco.querymatico.sql;
+
+import static psykeco.querymatico.sql.utility.SQLClassParser.getTrueName;
+import static psykeco.querymatico.sql.utility.SQLClassParser.param;
+import static psykeco.querymatico.sql.utility.SQLClassParser.parseType;
+import static psykeco.querymatico.sql.utility.SQLClassParser.validateBase;
+import static psykeco.querymatico.sql.utility.SQLClassParser.validateValue;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_EMPTY;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_EMPTY;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_NOT_VALID;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import psykeco.querymatico.translations.Translations;
+
+/**
+ * Condition of a <code>where</code> clausole, beyond equality of {@link psykeco.querymatico.QueryMaticO#filter(String, Object) filter}.<br>
+ *
+ * Predicates are built with static methods, for example:
+ * <pre>and( ge("age", 18), or( isNull("deleted"), likePrefix("name", "Ps") ) )</pre>
+ * and they are added to a select, update or delete with <code>filter(SQLPredicate)</code>,
+ * in <code>AND</code> with other filters. Values are checked as values of filters,
+ * and they are inlined by <code>build()</code> or bound by <code>buildPrepared()</code><br>
+ *
+ * Predicates are immutable, so they can be shared by more builders and threads<br>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ * */
+public final class SQLPredicate {
+
+	/**
+	 * kind of predicate
+	 */
+	private static enum KIND {
+		COMPARE,
+		BETWEEN,
+		IN,
+		IS_NULL,
+		IS_NOT_NULL,
+		LIKE,
+		AND,
+		OR,
+		NOT
+	}
+
+	/** escape character of patterns of {@link #likePrefix(String, String)} */
+	private static final char LIKE_ESCAPE='!';
+
+	private final KIND kind;
+	/** operator of {@link KIND#COMPARE} */
+	private final String operator;
+	/** column, <code>null</code> for {@link KIND#AND}, {@link KIND#OR} and {@link KIND#NOT} */
+	private final String column;
+	/** values compared with column */
+	private final Object[] values;
+	/** operands of {@link KIND#AND}, {@link KIND#OR} and {@link KIND#NOT} */
+	private final SQLPredicate[] children;
+
+	private SQLPredicate(KIND kind, String operator, String column, Object[] values, SQLPredicate[] children) {
+		this.kind=kind;
+		this.operator=operator;
+		this.column=column;
+		this.values=values;
+		this.children=children;
+	}
+
+	private static SQLPredicate compare(String column, String operator, Object value) {
+		return new SQLPredicate(KIND.COMPARE, operator, column, new Object[] {value}, null);
+	}
+
+	/**
+	 * @param column column name
+	 * @param value column value
+	 * @return <code>column = value</code>
+	 */
+	public static SQLPredicate eq(String column, Object value) {
+		return compare(column, "=", value);
+	}
+
+	/**
+	 * @param column column name
+	 * @param value column value
+	 * @return <code>column &lt;&gt; value</code>
+	 */
+	public static SQLPredicate ne(String column, Object value) {
+		return compare(column, "<>", value);
+	}
+
+	/**
+	 * @param column column name
+	 * @param value column value
+	 * @return <code>column &lt; value</code>
+	 */
+	public static SQLPredicate lt(String column, Object value) {
+		return compare(column, "<", value);
+	}
+
+	/**
+	 * @param column column name
+	 * @param value column value
+	 * @return <code>column &lt;= value</code>
+	 */
+	public static SQLPredicate le(String column, Object value) {
+		return compare(column, "<=", value);
+	}
+
+	/**
+	 * @param column column name
+	 * @param value column value
+	 * @return <code>column &gt; value</code>
+	 */
+	public static SQLPredicate gt(String column, Object value) {
+		return compare(column, ">", value);
+	}
+
+	/**
+	 * @param column column name
+	 * @param value column value
+	 * @return <code>column &gt;= value</code>
+	 */
+	public static SQLPredicate ge(String column, Object value) {
+		return compare(column, ">=", value);
+	}
+
+	/**
+	 * @param column column name
+	 * @param from min value, included
+	 * @param to max value, included
+	 * @return <code>column BETWEEN from AND to</code>
+	 */
+	public static SQLPredicate between(String column, Object from, Object to) {
+		return new SQLPredicate(KIND.BETWEEN, null, column, new Object[] {from, to}, null);
+	}
+
+	/**
+	 * @param column column name
+	 * @param values accepted values, if empty no row matches
+	 * @return <code>column IN (values)</code>
+	 */
+	public static SQLPredicate in(String column, Collection<?> values) {
+		return new SQLPredicate(KIND.IN, null, column, values.toArray(), null);
+	}
+
+	/**
+	 * @param column column name
+	 * @param values accepted values, if empty no row matches
+	 * @return <code>column IN (values)</code>
+	 */
+	public static SQLPredicate in(String column, Object... values) {
+		return new SQLPredicate(KIND.IN, null, column, values.clone(), null);
+	}
+
+	/**
+	 * @param column column name
+	 * @return <code>column IS NULL</code>
+	 */
+	public static SQLPredicate isNull(String column) {
+		return new SQLPredicate(KIND.IS_NULL, null, column, new Object[0], null);
+	}
+
+	/**
+	 * @param column column name
+	 * @return <code>column IS NOT NULL</code>
+	 */
+	public static SQLPredicate isNotNull(String column) {
+		return new SQLPredicate(KIND.IS_NOT_NULL, null, column, new Object[0], null);
+	}
+
+	/**
+	 * match strings that start with prefix. <code>%</code> and <code>_</code> in prefix are matched as they are,
+	 * so an index on column can be used
+	 *
+	 * @param column column name
+	 * @param prefix start of strings
+	 * @return <code>column LIKE 'prefix%'</code>
+	 */
+	public static SQLPredicate likePrefix(String column, String prefix) {
+		String pattern=null;
+		if (prefix!=null && !prefix.equals("")) {
+			StringBuilder sb=new StringBuilder(prefix.length()+2);
+			for (char c : prefix.toCharArray()) {
+				if (c=='%' || c=='_' || c==LIKE_ESCAPE) sb.append(LIKE_ESCAPE);
+				sb.append(c);
+			}
+			pattern=sb.append('%').toString();
+		}
+		return new SQLPredicate(KIND.LIKE, null, column, new Object[] {pattern}, null);
+	}
+
+	/**
+	 * @param predicates operands, if empty every row matches
+	 * @return <code>( p1 AND p2 ... )</code>
+	 */
+	public static SQLPredicate and(SQLPredicate... predicates) {
+		return new SQLPredicate(KIND.AND, null, null, null, predicates.clone());
+	}
+
+	/**
+	 * @param predicates operands, if empty no row matches
+	 * @return <code>( p1 OR p2 ... )</code>
+	 */
+	public static SQLPredicate or(SQLPredicate... predicates) {
+		return new SQLPredicate(KIND.OR, null, null, null, predicates.clone());
+	}
+
+	/**
+	 * @param predicate operand
+	 * @return <code>NOT ( predicate )</code>
+	 */
+	public static SQLPredicate not(SQLPredicate predicate) {
+		return new SQLPredicate(KIND.NOT, null, null, null, new SQLPredicate[] {predicate});
+	}
+
+	/**
+	 * check column and values, as builders do with filters
+	 * @return empty string if all check is passed, an error message otherwise
+	 */
+	String validate() {
+		if (children!=null) {
+			for (SQLPredicate p : children) {
+				if (p==null) return Translations.getMsg(VALUE_EMPTY, kind.name());
+				String tmp=p.validate();
+				if (!tmp.equals("")) return tmp;
+			}
+			return "";
+		}
+
+		if (column==null || column.equals("")) return Translations.getMsg(COLUMN_EMPTY);
+		if (validateBase(column)==null) return Translations.getMsg(COLUMN_NOT_VALID, column);
+
+		for (Object v : values) {
+			if (v==null || v.toString().equals("")) return Translations.getMsg(VALUE_EMPTY, column);
+			String value=v.toString();
+			boolean isString= parseType("String",false).equals(parseType(getTrueName(v.getClass()),false));
+			if (isString && validateValue(value)==null) return Translations.getMsg(VALUE_NOT_VALID, value);
+		}
+		return "";
+	}
+
+	/**
+	 * build predicate, values are inlined or replaced by placeholder
+	 * @param name function that quote a column name, with alias of table if needed
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return the condition
+	 */
+	String build(Function<String,String> name, List<Entry<String,Object>> params) {
+		switch (kind) {
+			case COMPARE     : return name.apply(column)+operator+param(params, column, values[0]);
+			case BETWEEN     : return name.apply(column)+" BETWEEN "+param(params, column, values[0])+" AND "+param(params, column, values[1]);
+			case IS_NULL     : return name.apply(column)+" IS NULL";
+			case IS_NOT_NULL : return name.apply(column)+" IS NOT NULL";
+			case LIKE        : return name.apply(column)+" LIKE "+param(params, column, values[0])+" ESCAPE '"+LIKE_ESCAPE+"'";
+			case IN          :
+				if (values.length==0) return "1=0";
+				StringBuilder in=new StringBuilder(name.apply(column)).append(" IN (");
+				for (int i=0; i<values.length; i++) in.append(i==0 ? "" : ",").append(param(params, column, values[i]));
+				return in.append(')').toString();
+			case NOT         : return "NOT ("+children[0].build(name, params)+")";
+			default          :
+				if (children.length==0) return kind==KIND.AND ? "1=1" : "1=0";
+				StringBuilder sb=new StringBuilder("(");
+				for (int i=0; i<children.length; i++) sb.append(i==0 ? "" : " "+kind.name()+" ").append(children[i].build(name, params));
+				return sb.append(')').toString();
+		}
+	}
+
+	/**
+	 * @return predicate with values inlined, as <code>build()</code> of builders
+	 */
+	@Override
+	public String toString() {
+		return build(c -> "`"+validateBase(c)+"`", null);
+	}
+
+}
@@ -1,17 +1,23 @@
 package psykeco.querymatico.sql;
 
+import static psykeco.querymatico.sql.utility.SQLClassParser.copyOf;
 import static psykeco.querymatico.sql.utility.SQLClassParser.getTrueName;
+import static psykeco.querymatico.sql.utility.SQLClassParser.param;
 import static psykeco.querymatico.sql.utility.SQLClassParser.parseType;
-import static psykeco.querymatico.sql.utility.SQLClassParser.str;
 import static psykeco.querymatico.sql.utility.SQLClassParser.validateBase;
 import static psykeco.querymatico.sql.utility.SQLClassParser.validateValue;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.AGGREGATE_NOT_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.AGGREGATE_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.ALIAS_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BUILDER_FROZEN;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_EMPTY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NULL;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.JOIN_WITHOUT_ON;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.LIMIT_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.ON_WITHOUT_JOIN;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.SEEK_WITHOUT_ORDER;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_EMPTY;
@@ -19,11 +25,15 @@ import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_NOT_VA
 import static psykeco.querymatico.translations.Translations.KEY_MSG.WRONG_CLASS_JOIN;
 
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
 
+import psykeco.querymatico.PreparedQuery;
 import psykeco.querymatico.QueryMaticO;
 import psykeco.querymatico.SelectMaticO;
 import psykeco.querymatico.sql.runners.MySqlConnection;
@@ -37,7 +47,23 @@ import psykeco.querymatico.translations.Translations;
  * table name and db name are required! <br>   
  * 
  * entry are used into <code>select</code> clausole.
- * filter are used into <code>where</code> clausole.
+ * filter are used into <code>where</code> clausole, 
+ * with equality or with a {@link SQLPredicate}.<br>
+ * 
+ * Results can be paged with {@link #limit(long)} and {@link #offset(long)}, or with {@link #seekAfter(Object)} 
+ * on column of {@link #orderBy(String, boolean) order by}, that does not read skipped rows. 
+ * Limit, offset and seek of selects in join are ignored<br>
+ * 
+ * Selects added with {@link #join(SelectMaticO)} are rendered as a comma join, with {@link #joinFilter(String, String) join filters} 
+ * into <code>where</code> clausole. Selects added with {@link #join(JOIN, SelectMaticO)} are rendered as 
+ * <code>INNER</code>, <code>LEFT</code>, <code>RIGHT</code> or <code>STRAIGHT_JOIN</code> with an <code>on</code> clausole, 
+ * that contains {@link #on(String, String) conditions} and filters of joined select, 
+ * so filters of a left joined table do not discard rows of this table. 
+ * A select in explicit join can have its own explicit joins, rendered right after it<br>
+ * 
+ * {@link #copy()} share collections with the copy, and one of them copies them only when it is changed, 
+ * so copy and overrides of db or table have constant cost. 
+ * A {@link #freeze() frozen} select can be used by more threads as template of queries<br>
  * 
  * @author PsykeDady (psdady@msn.com) 
  * */
@@ -64,12 +90,16 @@ public class SQLSelectMaticO extends SelectMaticO {
 	private String db;                  
 	/** filters, needed for <code>where</code> */
 	private HashMap<String,Object> filter=new HashMap<>();
+	/** predicates, needed for <code>where</code> */
+	private List<SQLPredicate> predicates=new ArrayList<>();
 	/** set of field name, needed <code>select</code> in  statement */
 	private Set<String> kv=new TreeSet<>();
 	/** couple join table and alias name*/
 	private SQLSelectMaticO joinTable; 
 	/** map of this-column join-column filter  */
 	private HashMap<String,String> joinFilter=new HashMap<>();
+	/** selects in explicit join, in order */
+	private List<Join> joins=new ArrayList<>();
 	
 	/** map of aggregate (key) and values */
 	private HashMap<AGGREGATE,String> aggregatesColumn=new HashMap<>();
@@ -80,12 +110,46 @@ public class SQLSelectMaticO extends SelectMaticO {
 	/** column name in group by clausole */ 
 	private String groupBy;
 	
+	/** max number of rows, <code>null</code> if not set */
+	private Long limit;
+	
+	/** number of skipped rows, <code>null</code> if not set */
+	private Long offset;
+	
+	/** last value of previous page in column of order by, <code>null</code> if not set */
+	private Object seek;
+	
+	/** true if collections are shared with a copy, they are copied before next change */
+	private boolean shared;
+	
+	/** true after {@link #freeze()} */
+	private boolean frozen;
+	
+	/**
+	 * a select in explicit join, with its type and conditions
+	 */
+	private static class Join {
+		/** type of join */
+		private final JOIN type;
+		/** select in join */
+		private final SQLSelectMaticO select;
+		/** couples column of this-column of select in join, in order */
+		private final List<Entry<String,String>> on;
+		
+		private Join(JOIN type, SQLSelectMaticO select, List<Entry<String,String>> on) {
+			this.type=type;
+			this.select=select;
+			this.on=on;
+		}
+	}
+	
 	/** Set db name
 	 *  @param DB name of db
 	 *  @return SQLSelectMaticO updated reference
 	 *  */
 	@Override
 	public SQLSelectMaticO DB(String DB) {
+		checkFrozen();
 		this.db=DB;
 		return this;
 	}
@@ -95,9 +159,34 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 *  */
 	@Override
 	public SQLSelectMaticO table(String table) {
+		checkFrozen();
 		this.table=table;
 		return this;
 	}
+
+	/**
+	 * @return db name, <code>null</code> if not set
+	 */
+	@Override
+	public String getDB() {
+		return db;
+	}
+
+	/**
+	 * @return table name, <code>null</code> if not set
+	 */
+	@Override
+	public String getTable() {
+		return table;
+	}
+
+	/**
+	 * @return select joined with {@link #join(SelectMaticO)}, <code>null</code> if not set
+	 */
+	@Override
+	public SQLSelectMaticO getJoin() {
+		return joinTable;
+	}
 	
 	
 	/** add "column name" into select clausole. (value will be ignored)
@@ -107,6 +196,7 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 *  */
 	@Override
 	public SQLSelectMaticO entry(String column) {
+		unshare();
 		this.kv.add(column);
 		return this;
 	}
@@ -151,10 +241,22 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 *  */
 	@Override
 	public SQLSelectMaticO filter(String column, Object value) {
+		unshare();
 		this.filter.putIfAbsent(column, value);
 		return this;
 	}
 
+	/** add a predicate as filter of where clausole, in <code>AND</code> with other filters
+	 * 
+	 *  @param  predicate the condition, see {@link SQLPredicate}
+	 *  @return SQLSelectMaticO updated reference
+	 *  */
+	public SQLSelectMaticO filter(SQLPredicate predicate) {
+		unshare();
+		this.predicates.add(predicate);
+		return this;
+	}
+
 	/**
 	 * check all the fields in order to validate a possible query. <br>
 	 * Returned value represent a String with encountered 
@@ -171,6 +273,17 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 */
 	@Override
 	public String validate() {
+		return validate(db);
+	}
+	
+	/**
+	 * check all the fields as {@link #validate()}, using input db in place of db of builder. 
+	 * Fields are never changed, so validation can run on more threads
+	 * 
+	 * @param db db name
+	 * @return empty string if all check is passed, an error message otherwise
+	 */
+	private String validate(String db) {
 		
 		if (table==null || table.equals("")) return Translations.getMsg(TABLE_NULL);
 		if (db   ==null || db   .equals("")) return Translations.getMsg(DB_NULL);
@@ -193,6 +306,17 @@ public class SQLSelectMaticO extends SelectMaticO {
 		if ( orderBy != null && validateBase(orderBy.getKey())==null)
 			return Translations.getMsg(AGGREGATE_NOT_VALID, "order By", orderBy.getKey());
 		
+		if ( limit != null && limit < 0 ) return Translations.getMsg(LIMIT_NOT_VALID, "limit", ""+limit);
+		if ( offset != null && offset < 0 ) return Translations.getMsg(LIMIT_NOT_VALID, "offset", ""+offset);
+		
+		if ( seek != null ) {
+			if ( orderBy == null ) return Translations.getMsg(SEEK_WITHOUT_ORDER);
+			String value=seek.toString();
+			if ( value.equals("") ) return Translations.getMsg(VALUE_EMPTY, orderBy.getKey());
+			boolean isString= parseType("String",false).equals(parseType(getTrueName(seek.getClass()),false));
+			if ( isString && validateValue(value)==null ) return Translations.getMsg(VALUE_NOT_VALID, value);
+		}
+		
 		for (Entry<AGGREGATE,String> kv: aggregatesColumn.entrySet()) {
 			if(kv.getValue()!=null && validateBase(kv.getValue())==null)
 				return Translations.getMsg(AGGREGATE_NOT_VALID, kv.getKey().name(), kv.getValue());
@@ -217,6 +341,23 @@ public class SQLSelectMaticO extends SelectMaticO {
 			if ( tmpV==null ) return Translations.getMsg(VALUE_NOT_VALID,value);
 		}
 		
+		for (SQLPredicate p : predicates) {
+			if (p==null) return Translations.getMsg(VALUE_EMPTY, "filter");
+			tmp=p.validate();
+			if ( !tmp.equals("") ) return tmp;
+		}
+		
+		for (Join j : joins) {
+			for (Entry<String,String> c : j.on) {
+				if (c.getKey()==null || validateBase(c.getKey())==null) return Translations.getMsg(COLUMN_NOT_VALID, c.getKey());
+				if (c.getValue()==null || validateBase(c.getValue())==null) return Translations.getMsg(COLUMN_NOT_VALID, c.getValue());
+			}
+			if ((j.type==JOIN.LEFT || j.type==JOIN.RIGHT) && j.on.isEmpty() && j.select.filter.isEmpty() && j.select.predicates.isEmpty())
+				return Translations.getMsg(JOIN_WITHOUT_ON, j.type.name());
+			tmp=j.select.validate(j.select.db==null? db : j.select.db);
+			if ( !tmp.equals("") ) return tmp;
+		}
+		
 		return (joinTable!=null)?joinTable.validate():"";
 	}
 
@@ -227,20 +368,41 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 * */
 	@Override
 	public String build() {
-		String thisdb=this.db;
-		this.db=(this.db==null)? MySqlConnection.db():this.db;
-		String validation=validate();
+		return build(null);
+	}
+	
+	/**
+	 * Build query with a <code>?</code> placeholder for every value of <code>where</code> clausole 
+	 * (join tables included)
+	 * @return query and its parameters
+	 * 
+	 * @throws IllegalArgumentException if {@link #validate()} fail
+	 * */
+	@Override
+	public PreparedQuery buildPrepared() {
+		List<Entry<String,Object>> params=new ArrayList<>(filter.size()+1);
+		return new PreparedQuery(build(params), params);
+	}
+	
+	/**
+	 * build query
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return query
+	 */
+	private String build(List<Entry<String,Object>> params) {
+		String db=(this.db==null)? MySqlConnection.db():this.db;
+		String validation=validate(db);
 		if( ! validation.equals("") ) throw new IllegalArgumentException(validation);
 		
 		
 		String query= 
 			("SELECT "+selectBuild()+
-			" FROM "+fromBuild()+
-			" WHERE 1=1 "+whereBuild()+
+			" FROM "+fromBuild(db, params)+
+			" WHERE 1=1 "+(whereBuild(params)+" "+seekBuild(params)).trim()+
 			groupByBuild()+
-			orderByBuild()).trim()
+			orderByBuild()+
+			limitBuild()).trim()
 		;
-		this.db=thisdb;
 		return query;
 	}
 
@@ -254,10 +416,70 @@ public class SQLSelectMaticO extends SelectMaticO {
 	public SQLSelectMaticO join(SelectMaticO joinSelect) {
 		if( ! (joinSelect instanceof SelectMaticO) ) 
 			throw new IllegalArgumentException(Translations.getMsg(WRONG_CLASS_JOIN,SQLClassParser.getTrueName(SQLSelectMaticO.class)));
+		checkFrozen();
 		this.joinTable=(SQLSelectMaticO) joinSelect;
 		return this;
 	}
 
+	/**
+	 * add a SelectMaticO in explicit join with this, as <code>type JOIN table ON conditions</code>, 
+	 * see {@link SelectMaticO#join(JOIN, SelectMaticO)}. 
+	 * If joined select has no db, db of this is used
+	 * 
+	 * @param type type of join
+	 * @param joinSelect select to join
+	 * @return SQLSelectMaticO updated reference
+	 */
+	@Override
+	public SQLSelectMaticO join(JOIN type, SelectMaticO joinSelect) {
+		if( ! (joinSelect instanceof SQLSelectMaticO) ) 
+			throw new IllegalArgumentException(Translations.getMsg(WRONG_CLASS_JOIN,SQLClassParser.getTrueName(SQLSelectMaticO.class)));
+		if( type == null ) throw new IllegalArgumentException(Translations.getMsg(VALUE_EMPTY, "join"));
+		checkFrozen();
+		joins.add(new Join(type, (SQLSelectMaticO) joinSelect, new ArrayList<>()));
+		return this;
+	}
+	
+	/**
+	 * add a SelectMaticO in explicit join with this, with condition <code>columnThis=columnOther</code>
+	 * 
+	 * @param type type of join
+	 * @param joinSelect select to join
+	 * @param columnThis column of this SelectMaticO
+	 * @param columnOther column of joinSelect
+	 * @return SQLSelectMaticO updated reference
+	 */
+	@Override
+	public SQLSelectMaticO join(JOIN type, SelectMaticO joinSelect, String columnThis, String columnOther) {
+		return join(type, joinSelect).on(columnThis, columnOther);
+	}
+	
+	/**
+	 * add a couple <code>column of this</code>-<code>column of other</code> as condition of last explicit join
+	 * @param columnThis column of this SelectMaticO
+	 * @param columnOther column of last SelectMaticO in join 
+	 * @return SQLSelectMaticO updated reference
+	 * 
+	 * @throws IllegalStateException if no join was added with {@link #join(JOIN, SelectMaticO)}
+	 */
+	@Override
+	public SQLSelectMaticO on(String columnThis, String columnOther) {
+		checkFrozen();
+		if (joins.isEmpty()) throw new IllegalStateException(Translations.getMsg(ON_WITHOUT_JOIN));
+		joins.get(joins.size()-1).on.add(new SimpleEntry<>(columnThis, columnOther));
+		return this;
+	}
+	
+	/**
+	 * @return selects joined with {@link #join(JOIN, SelectMaticO)}, in order they were added
+	 */
+	@Override
+	public List<SQLSelectMaticO> getJoins() {
+		List<SQLSelectMaticO> selects=new ArrayList<>(joins.size());
+		for (Join j : joins) selects.add(j.select);
+		return Collections.unmodifiableList(selects);
+	}
+
 	/**
 	 * add a couple <code>column of this</code>-<code>column of other</code> as filter of join
 	 * @param thisOther couple column-column (this-other) as {@link Entry} class
@@ -277,6 +499,7 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 */
 	@Override
 	public SQLSelectMaticO joinFilter(String columnThis, String columnOther) {
+		unshare();
 		joinFilter.put(columnThis, columnOther);
 		return this;
 	}
@@ -304,6 +527,10 @@ public class SQLSelectMaticO extends SelectMaticO {
 				sb.append(kv.getKey().name()+"("+attachAlias(kv.getValue())+"),");
 		}
 		
+		for (Join j : joins) {
+			sb.append(j.select.selectBuild()+",");
+		}
+		
 		if( joinTable != null ) {
 			sb.append(joinTable.selectBuild());
 		}
@@ -322,16 +549,22 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 */
 	@Override
 	public String fromBuild() {
-		StringBuilder sb=new StringBuilder();
-		String db=validateBase(this.db), table=validateBase(this.table),
-				alias=validateBase(this.alias);
+		return fromBuild(this.db, null);
+	}
+	
+	/**
+	 * build only <i>from clausole</i> of query, with input db in place of db of select
+	 * @param db db name
+	 * @param params list to fill with bind parameters of explicit joins, <code>null</code> to inline values
+	 * @return tables field to join
+	 */
+	private String fromBuild(String db, List<Entry<String,Object>> params) {
+		StringBuilder sb=new StringBuilder(tableBuild(db));
 		
-		sb.append("`"+db+"`.`"+table+"`");
-		if(alias!=null)
-			sb.append(" `"+alias+"`");
+		sb.append(joinsBuild(db, params));
 		
 		if( joinTable != null ) {
-			sb.append(", "+joinTable.fromBuild());
+			sb.append(", "+joinTable.fromBuild(joinTable.db==null? db : joinTable.db, params));
 		}
 		
 		String result=sb.toString();	
@@ -339,6 +572,46 @@ public class SQLSelectMaticO extends SelectMaticO {
 
 	}
 	 
+	/**
+	 * @param db db name
+	 * @return table with its db and alias
+	 */
+	private String tableBuild(String db) {
+		db=validateBase(db);
+		String table=validateBase(this.table),
+				alias=validateBase(this.alias);
+		
+		return "`"+db+"`.`"+table+"`"+(alias==null ? "" : " `"+alias+"`");
+	}
+	
+	/**
+	 * build explicit joins, and joins of joined selects after each of them
+	 * example:<br>
+	 * <pre>left join table2 on table1.field1=table2.field2 and table2.field3=value3</pre>
+	 * @param db db name of this, used by joined selects without db
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return joins, empty string if there are no explicit joins
+	 */
+	private String joinsBuild(String db, List<Entry<String,Object>> params) {
+		StringBuilder sb=new StringBuilder();
+		
+		for (Join j : joins) {
+			String joinDb= j.select.db==null? db : j.select.db;
+			sb.append(" "+j.type.getKeyword()+" "+j.select.tableBuild(joinDb));
+			
+			StringBuilder on=new StringBuilder();
+			for (Entry<String,String> c : j.on) {
+				on.append("AND "+attachAlias(c.getKey())+"="+j.select.attachAlias(c.getValue())+" ");
+			}
+			String conditions=(on+j.select.conditionsBuild(params)).trim();
+			if( ! conditions.equals("") ) sb.append(" ON "+conditions.substring("AND ".length()));
+			
+			sb.append(j.select.joinsBuild(joinDb, params));
+		}
+		
+		return sb.toString();
+	}
+	 
 	/**
 	 * build only <i>where clausole</i> of query 
 	 * example:<br>
@@ -347,14 +620,19 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 */
 	@Override
 	public String whereBuild() {
-		StringBuilder sb=new StringBuilder();
-		
-		for (Entry<String,Object> f : filter.entrySet()) {
-			sb.append("AND "+attachAlias(f.getKey())+"="+str(f.getValue())+" " );
-		}
+		return whereBuild(null);
+	}
+	
+	/**
+	 * build only <i>where clausole</i> of query, values are inlined or replaced by placeholder 
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return all couple field=value to filter
+	 */
+	protected String whereBuild(List<Entry<String,Object>> params) {
+		StringBuilder sb=new StringBuilder(conditionsBuild(params)+" ");
 		
 		if( joinTable != null ) {
-			sb.append(joinTable.whereBuild());
+			sb.append(joinTable.whereBuild(params));
 			for (Entry<String,String> f : joinFilter.entrySet()) {
 				sb.append(" AND "+attachAlias(f.getKey())+"="+joinTable.attachAlias(f.getValue())+" " );
 			}
@@ -363,7 +641,49 @@ public class SQLSelectMaticO extends SelectMaticO {
 		String result=sb.toString();	
 		return result.trim();
 	}
+	
+	/**
+	 * build filters and predicates of this select, without joins 
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return all conditions, each one after an "AND" word
+	 */
+	private String conditionsBuild(List<Entry<String,Object>> params) {
+		StringBuilder sb=new StringBuilder();
+		
+		for (Entry<String,Object> f : filter.entrySet()) {
+			sb.append("AND "+attachAlias(f.getKey())+"="+param(params,f.getKey(),f.getValue())+" " );
+		}
+		
+		for (SQLPredicate p : predicates) {
+			sb.append("AND "+p.build(this::attachAlias, params)+" " );
+		}
+		
+		String result=sb.toString();	
+		return result.trim();
+	}
 	 
+	/**
+	 * build condition of {@link #seekAfter(Object)}
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return "AND" word and condition on column of order by, empty string if seek is not set
+	 */
+	private String seekBuild(List<Entry<String,Object>> params) {
+		if(seek==null) return "";
+		return "AND "+attachAlias(orderBy.getKey())+(orderBy.getValue()?">":"<")+param(params,orderBy.getKey(),seek);
+	}
+	
+	/**
+	 * build only <i>limit clausole</i> of query 
+	 * example:<br>
+	 * <pre>limit 10 offset 20</pre>
+	 * @return "limit" and "offset" words with their values, empty string if they are not set
+	 */
+	private String limitBuild() {
+		if(limit==null && offset==null) return "";
+		String result=" LIMIT "+(limit==null ? Long.toUnsignedString(-1L) : limit);
+		return offset==null ? result : result+" OFFSET "+offset;
+	}
+	
 	/**
 	 * build only <i>groupby clausole</i> of query 
 	 * example:<br>
@@ -397,6 +717,7 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 */
 	@Override
 	public SQLSelectMaticO count(String column) {
+		unshare();
 		String c=aggregatesColumn.get(AGGREGATE.DISTINCT);
 		if(column!=null && column.equals(c)) {
 			aggregatesColumn.put(AGGREGATE.COUNT_DISTINCT, column);
@@ -415,6 +736,7 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 */
 	@Override
 	public SQLSelectMaticO distinct(String column) {
+		unshare();
 		String c=aggregatesColumn.get(AGGREGATE.COUNT);
 		if(column!=null && column.equals(c)) {
 			aggregatesColumn.put(AGGREGATE.COUNT_DISTINCT, column);
@@ -432,6 +754,7 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 */
 	@Override
 	public SQLSelectMaticO sum(String column) {
+		unshare();
 		aggregatesColumn.put(AGGREGATE.SUM, column);
 		return this;
 	}
@@ -444,6 +767,7 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 */
 	@Override
 	public SQLSelectMaticO groupBy(String column) {
+		checkFrozen();
 		groupBy=column;
 		return this;
 	}
@@ -457,39 +781,159 @@ public class SQLSelectMaticO extends SelectMaticO {
 	 */
 	@Override
 	public SQLSelectMaticO orderBy(String column, boolean asc) {
+		checkFrozen();
 		orderBy=new SimpleEntry<>(column, asc);
 		return this;
 	}
 	 
 	/**
-	 * create a SelectMaticO as new object with same data of this.
+	 * @return column of order by, <code>null</code> if not set
+	 */
+	@Override
+	public String getOrderBy() {
+		return orderBy==null ? null : orderBy.getKey();
+	}
+	
+	/**
+	 * query will return at most n rows<br>
+	 * 
+	 * @param   n max number of rows
+	 * @return  updated instance of SelectMaticO
+	 */
+	@Override
+	public SQLSelectMaticO limit(long n) {
+		checkFrozen();
+		limit=n;
+		return this;
+	}
+	
+	/**
+	 * query will skip first n rows. Without a {@link #limit(long)}, all next rows are returned<br>
+	 * 
+	 * @param   n number of rows to skip
+	 * @return  updated instance of SelectMaticO
+	 */
+	@Override
+	public SQLSelectMaticO offset(long n) {
+		checkFrozen();
+		offset=n;
+		return this;
+	}
+	
+	/**
+	 * query will return only rows after value in column of {@link #orderBy(String, boolean) order by}, 
+	 * see {@link SelectMaticO#seekAfter(Object)}<br>
+	 * 
+	 * @param   value last value of previous page, <code>null</code> to start from first row
+	 * @return  updated instance of SelectMaticO
+	 */
+	@Override
+	public SQLSelectMaticO seekAfter(Object value) {
+		checkFrozen();
+		seek=value;
+		return this;
+	}
+	
+	/**
+	 * @return max number of rows, <code>null</code> if not set
+	 */
+	@Override
+	public Long getLimit() {
+		return limit;
+	}
+	
+	/**
+	 * @return number of skipped rows, <code>null</code> if not set
+	 */
+	@Override
+	public Long getOffset() {
+		return offset;
+	}
+	
+	/**
+	 * set alias name for table to use in queries
+	 * in order to avoid name overlapping of same tables in join
+	 * 
+	 * @param alias 
+	 * @return SQLSelectMaticO updated reference
+	 */
+	@Override
+	public SQLSelectMaticO alias(String alias) {
+		checkFrozen();
+		this.alias=alias;
+		return this;
+	}
+	 
+	/**
+	 * create a SelectMaticO as new object with same data of this. 
+	 * Collections are shared until one of two selects is changed, selects in join are copied in same way
 	 * 
-	 * @return the new instance
+	 * @return the new instance, not frozen
 	 */
 	@Override
 	public SQLSelectMaticO copy() {
-		SQLSelectMaticO scf=new SQLSelectMaticO().DB(db).table(table).groupBy(groupBy);
-		if (orderBy!=null && orderBy.getKey()!=null) 
-				scf.orderBy(orderBy.getKey(),orderBy.getValue());
-		
-		if( filter!=null) for(Entry<String,Object> kv : filter.entrySet()) scf.filter(kv);
-		if (kv!=null) for(String entry:kv) scf.entry(entry);
-		if (joinFilter!=null) for(Entry<String,String> kv : joinFilter.entrySet()) scf.joinFilter(kv);
-		if (aggregatesColumn!=null) for(Entry<AGGREGATE,String> kv: aggregatesColumn.entrySet()) 
-			switch(kv.getKey()) {
-				case AVG : break ; 
-				case COUNT : scf.count(kv.getValue()); break ; 
-				case COUNT_DISTINCT : scf.count(kv.getValue());scf.distinct(kv.getValue()); break ; 
-				case DISTINCT : scf.distinct(kv.getValue()); break ; 
-				case GROUP_CONCAT :  break ; 
-				case MAX :  break ; 
-				case MIN :  break ; 
-				case SUM : scf.sum(kv.getValue()); break ; 
-				default : break ; 
-			}
-		if(joinTable!=null) scf.join(joinTable.copy());
-		
+		SQLSelectMaticO scf=new SQLSelectMaticO();
+		scf.db=db;
+		scf.table=table;
+		scf.alias=alias;
+		scf.filter=filter;
+		scf.predicates=predicates;
+		scf.kv=kv;
+		scf.joinFilter=joinFilter;
+		scf.aggregatesColumn=aggregatesColumn;
+		scf.orderBy=orderBy;
+		scf.groupBy=groupBy;
+		scf.limit=limit;
+		scf.offset=offset;
+		scf.seek=seek;
+		scf.joinTable= joinTable==null? null : joinTable.copy();
+		for (Join j : joins) scf.joins.add(new Join(j.type, j.select.copy(), new ArrayList<>(j.on)));
+		scf.shared=true;
+		if (!frozen) shared=true;
 		return scf;
 	}
+	
+	/**
+	 * make this select, and selects in join, immutable
+	 * 
+	 * @return SQLSelectMaticO updated reference
+	 */
+	@Override
+	public SQLSelectMaticO freeze() {
+		frozen=true;
+		if (joinTable!=null) joinTable.freeze();
+		for (Join j : joins) j.select.freeze();
+		return this;
+	}
+	
+	/**
+	 * @return <code>true</code> if {@link #freeze()} was called
+	 */
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
+	
+	/**
+	 * @throws IllegalStateException if select is frozen
+	 */
+	private void checkFrozen() {
+		if (frozen) throw new IllegalStateException(Translations.getMsg(BUILDER_FROZEN, getTrueName(SQLSelectMaticO.class)));
+	}
+	
+	/**
+	 * copy collections shared with a copy, before changing them
+	 * @throws IllegalStateException if select is frozen
+	 */
+	private void unshare() {
+		checkFrozen();
+		if (!shared) return;
+		filter=copyOf(filter);
+		predicates=new ArrayList<>(predicates);
+		kv=new TreeSet<>(kv);
+		joinFilter=copyOf(joinFilter);
+		aggregatesColumn=copyOf(aggregatesColumn);
+		shared=false;
+	}
 
 }
@@ -1,7 +1,6 @@
 package psykeco.querymatico.sql;
 
 import static psykeco.querymatico.sql.utility.SQLClassParser.getTrueName;
-import static psykeco.querymatico.sql.utility.SQLClassParser.parseClass;
 import static psykeco.querymatico.sql.utility.SQLClassParser.parseType;
 import static psykeco.querymatico.sql.utility.SQLClassParser.validateBase;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CLASS_PARAMETERS;
@@ -9,23 +8,37 @@ import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_EMPTY
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NULL;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.FIELD_NOT_READABLE;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.KEYS_NEED_ONE_PRIMARY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PREFIX_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PRIMARY_KEY_MUST_REFERE;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PRIMARY_NOT_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.SUFFIX_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NULL;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.WRONG_OBJECT_TYPE;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
+import psykeco.querymatico.PreparedQuery;
+import psykeco.querymatico.QueryMaticO;
 import psykeco.querymatico.TableMaticO;
 import psykeco.querymatico.sql.runners.InformationSchema;
 import psykeco.querymatico.sql.runners.MySqlConnection;
+import psykeco.querymatico.sql.utility.SQLClassMetadata;
 import psykeco.querymatico.sql.utility.SQLClassParser;
+import psykeco.querymatico.sql.utility.SQLShapeCache;
+import psykeco.querymatico.sql.utility.SQLShapeCache.Operation;
+import psykeco.querymatico.sql.utility.SQLShapeCache.Shape;
 import psykeco.querymatico.translations.Translations;
 
 /**
@@ -49,6 +62,16 @@ public class SQLTableMaticO implements TableMaticO{
 	private List<String> primary = new LinkedList<>();
 	/** java Class representation of table */
 	private Class<?> type;
+	/** max size in bytes of a multi-row insert statement */
+	private int maxPacket=DEFAULT_MAX_PACKET;
+	/** max number of keys of a statement built by {@link #selectByKeys(Collection)} */
+	private int keysChunk=DEFAULT_KEYS_CHUNK;
+	
+	/** default max size of a multi-row insert statement (4MB, default <code>max_allowed_packet</code> of MySQL 5.7) */
+	public static final int DEFAULT_MAX_PACKET=4*1024*1024;
+	
+	/** default max number of keys of a statement built by {@link #selectByKeys(Collection)} */
+	public static final int DEFAULT_KEYS_CHUNK=1000;
 	
 	
 	/**
@@ -94,8 +117,9 @@ public class SQLTableMaticO implements TableMaticO{
 	@Override
 	public SQLTableMaticO table(Class c) {
 		type=c;
-		table=getTrueName(c);
-		kv=parseClass(c);
+		SQLClassMetadata<?> meta=SQLClassMetadata.of((Class<?>)c);
+		table=meta.getTrueName();
+		kv=meta.columnTypes();
 		return this;
 	}
 	
@@ -155,6 +179,17 @@ public class SQLTableMaticO implements TableMaticO{
 	 * @return empty string if all check is passed, an error message otherwise
 	 */
 	public String validate() {
+		return validate(db);
+	}
+	
+	/**
+	 * check all the fields as {@link #validate()}, using input db in place of db of builder. 
+	 * Fields are never changed, so validation can run on more threads
+	 * 
+	 * @param db db name
+	 * @return empty string if all check is passed, an error message otherwise
+	 */
+	private String validate(String db) {
 		
 		if (table==null || table.equals("")) return Translations.getMsg(TABLE_NULL);
 		if (db   ==null || db   .equals("")) return Translations.getMsg(DB_NULL);
@@ -162,7 +197,6 @@ public class SQLTableMaticO implements TableMaticO{
 		
 		String tmp=validateBase(db);
 		if (tmp==null) return Translations.getMsg(DB_NOT_VALID,db);
-		db=tmp;		
 		
 		tmp=validateBase(table);
 		if (tmp==null) return Translations.getMsg(TABLE_NOT_VALID,table); 
@@ -173,8 +207,6 @@ public class SQLTableMaticO implements TableMaticO{
 		tmp2=validateBase(table+suffix);
 		if (tmp2==null) return Translations.getMsg(SUFFIX_NOT_VALID,suffix);
 		
-		table=tmp;
-		
 		for (Entry<String,String> kv : kv.entrySet()) {
 			if (kv.getKey()  == null || kv.getKey().equals("") ) return Translations.getMsg(COLUMN_EMPTY);
 			if ( validateBase(kv.getKey())==null ) return Translations.getMsg(COLUMN_NOT_VALID,kv.getKey());
@@ -193,15 +225,13 @@ public class SQLTableMaticO implements TableMaticO{
 	public String create() {
 		
 		StringBuilder sb=new StringBuilder(kv.size()*20);
-		String thisdb=this.db;
-		this.db=(this.db==null)? MySqlConnection.db():this.db;
-		String db=validateBase(this.db), table =attachPreSuf(this.table);
+		String db=(this.db==null)? MySqlConnection.db():this.db;
 		
-		String validation=validate();
+		String validation=validate(db);
 		
 		if(!validation.equals("")) throw new IllegalArgumentException(validation);
 		
-		sb.append("CREATE TABLE `"+db+"`.`"+table+"` (");
+		sb.append("CREATE TABLE `"+validateBase(db)+"`.`"+attachPreSuf(table)+"` (");
 		
 		for (Entry<String,String> kv :this.kv.entrySet() ) {
 			boolean isPrimary=primary.contains(kv.getKey());
@@ -220,7 +250,6 @@ public class SQLTableMaticO implements TableMaticO{
 		
 		sb.setCharAt(sb.length()-1, ')');
 		
-		this.db=thisdb;
 		return sb.toString();
 	}
 
@@ -245,17 +274,12 @@ public class SQLTableMaticO implements TableMaticO{
 	 */
 	@Override
 	public String drop() {
-		String thisdb=this.db;
-		this.db=(this.db==null)? MySqlConnection.db():this.db;
-		String validation=validate();
-		String db=validateBase(this.db), table =attachPreSuf(this.table);
+		String db=(this.db==null)? MySqlConnection.db():this.db;
+		String validation=validate(db);
 
 		if(!validation.equals("")) throw new IllegalArgumentException(validation);
 		
-		String sb="DROP TABLE IF EXISTS `"+db+"`.`"+table+"`";
-		
-		this.db=thisdb;
-		return sb;
+		return "DROP TABLE IF EXISTS `"+validateBase(db)+"`.`"+attachPreSuf(table)+"`";
 	}
 
 	/**
@@ -280,6 +304,124 @@ public class SQLTableMaticO implements TableMaticO{
 		return qc;
 	}
 
+	/**
+	 * create {@link SQLBulkInsertMaticO} instances to insert records of all input objects with multi-row statements.<br>
+	 * Columns are taken once from class, null fields are inserted as <code>NULL</code>.
+	 * Rows are split in more statements so every statement stays under {@link #maxPacket(int)} bytes
+	 * 
+	 * @param os istances of Object to insert into table ( they must be of the same class setted with {@link #table(Class)} method ),
+	 * <code>null</code> elements are skipped
+	 * 
+	 * @return list of {@link SQLBulkInsertMaticO} instances to perform the inserts on table 
+	 */
+	@Override
+	public List<SQLBulkInsertMaticO> insertData(Iterable<?> os) {
+		String db=validateBase(this.db), table= attachPreSuf(this.table); 
+		List<SQLBulkInsertMaticO> statements=new LinkedList<>();
+		
+		String[] columns=kv.keySet().toArray(new String[kv.size()]);
+		int header=40+(db==null?0:db.length())+(table==null?0:table.length());
+		for (String column : columns) header+=column.length()+3;
+		
+		SQLBulkInsertMaticO qc=null;
+		int size=0;
+		
+		for (Object o : os) {
+			if (o==null) continue;
+			Map<String,Object> map=SQLClassParser.parseInstance(type, o);
+			
+			int rowSize=3;
+			for (String column : columns) rowSize+=estimateSize(map.get(column))+1;
+			
+			if (qc==null || size+rowSize > maxPacket) {
+				qc=new SQLBulkInsertMaticO().DB(db).table(table);
+				statements.add(qc);
+				size=header;
+			}
+			
+			qc.row();
+			for (String column : columns) qc.entry(column, map.get(column));
+			size+=rowSize;
+		}
+		
+		return statements;
+	}
+	
+	/**
+	 * set the max size, in bytes, of a single statement built by {@link #insertData(Iterable)}. 
+	 * It should not be greater than <code>max_allowed_packet</code> of server
+	 * 
+	 * @param bytes max size of statement 
+	 * @return SQLTableMaticO updated reference
+	 */
+	@Override
+	public SQLTableMaticO maxPacket(int bytes) {
+		this.maxPacket=bytes;
+		return this;
+	}
+	
+	/**
+	 * create {@link SQLSelectMaticO} instances to select records by values of primary key, 
+	 * as <code>WHERE primary IN ( keys )</code>.<br>
+	 * Keys are split in more statements of at most {@link #keysChunk(int)} values each, 
+	 * so results of all statements must be merged ( see {@link MySqlConnection#queryList(Class, List)} )
+	 * 
+	 * @param keys values of primary key, <code>null</code> and duplicated elements are skipped
+	 * 
+	 * @return list of {@link SQLSelectMaticO} instances, empty if there are no keys
+	 * 
+	 * @throws IllegalArgumentException if table has not exactly one primary key
+	 */
+	@Override
+	public List<SQLSelectMaticO> selectByKeys(Collection<?> keys) {
+		if (primary==null || primary.size()!=1) 
+			throw new IllegalArgumentException(Translations.getMsg(KEYS_NEED_ONE_PRIMARY, table, ""+(primary==null?0:primary.size())));
+		String column=primary.get(0);
+		List<SQLSelectMaticO> statements=new LinkedList<>();
+		
+		Set<Object> distinct=new LinkedHashSet<>();
+		for (Object key : keys) if (key!=null) distinct.add(key);
+		
+		int size=Math.max(1, keysChunk);
+		List<Object> chunk=new ArrayList<>(Math.min(size, distinct.size()));
+		for (Object key : distinct) {
+			chunk.add(key);
+			if (chunk.size()==size) {
+				statements.add(selectData(null).filter(SQLPredicate.in(column, chunk)));
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) statements.add(selectData(null).filter(SQLPredicate.in(column, chunk)));
+		
+		return statements;
+	}
+	
+	/**
+	 * set the max number of keys of a single statement built by {@link #selectByKeys(Collection)}
+	 * 
+	 * @param size max number of keys of statement 
+	 * @return SQLTableMaticO updated reference
+	 */
+	@Override
+	public SQLTableMaticO keysChunk(int size) {
+		this.keysChunk=size;
+		return this;
+	}
+	
+	/**
+	 * estimate, by excess, the bytes needed by a value into an insert statement
+	 * @param o the value
+	 * @return estimated size in bytes
+	 */
+	private static int estimateSize(Object o) {
+		if (o==null) return 4;
+		if (o instanceof Boolean) return 1;
+		if (o instanceof Number) return 24;
+		if (o instanceof File) return (int) Math.min(Integer.MAX_VALUE/2, ((File)o).length()*2+300);
+		if (o instanceof String) return ((String)o).length()*3+2; 
+		return 32;
+	}
+
 	/**
 	 * create a {@link SQLSelectMaticO} instance to select records filtering by field specified by input object
 	 * 
@@ -360,6 +502,100 @@ public class SQLTableMaticO implements TableMaticO{
 		return qc;
 	}
 
+	/**
+	 * build a parameterized select of records with same value of not null fields of input object, as {@link #selectData(Object)}.
+	 * Statement text is cached by shape of input (see {@link SQLShapeCache}), so only values are bound on next calls
+	 * 
+	 * @param istance of Object to filter query ( it must be of the same class setted with {@link #table(Class)} method or <code>null</code> to select all fields
+	 * 
+	 * @return parameterized select
+	 * 
+	 * @throws IllegalArgumentException if a field can not be read or validation of statement fail
+	 */
+	@Override
+	public PreparedQuery selectPrepared(Object o) {
+		return prepared(Operation.SELECT, o);
+	}
+
+	/**
+	 * build a parameterized delete of records with same value of not null fields of input object, as {@link #deleteData(Object)}.
+	 * Statement text is cached by shape of input (see {@link SQLShapeCache}), so only values are bound on next calls
+	 * 
+	 * @param istance of Object needed to filter rows to delete from table 
+	 * ( it must be of the same class setted with {@link #table(Class)} method
+	 * 
+	 * @return parameterized delete
+	 * 
+	 * @throws IllegalArgumentException if a field can not be read or validation of statement fail
+	 */
+	@Override
+	public PreparedQuery deletePrepared(Object o) {
+		return prepared(Operation.DELETE, o);
+	}
+
+	/**
+	 * build a parameterized update of records of input object, as {@link #updateData(Object)}.
+	 * Statement text is cached by shape of input (see {@link SQLShapeCache}), so only values are bound on next calls
+	 * 
+	 * @param istance of Object is intended to update table's records ( it must be of the same class setted with {@link #table(Class)} method
+	 * 
+	 * @return parameterized update
+	 * 
+	 * @throws IllegalArgumentException if a primary key is null, a field can not be read or validation of statement fail
+	 */
+	@Override
+	public PreparedQuery updatePrepared(Object o) {
+		return prepared(Operation.UPDATE, o);
+	}
+
+	/**
+	 * look for shape of input object into {@link SQLShapeCache}, bind its values if found, 
+	 * otherwise build statement with a builder and store its shape
+	 * 
+	 * @param op operation
+	 * @param o input object, <code>null</code> only for select
+	 * @return parameterized statement
+	 * 
+	 * @throws IllegalArgumentException if a field of input object can not be read
+	 */
+	private PreparedQuery prepared(Operation op, Object o) {
+		if (type==null || (o==null && op!=Operation.SELECT)) return builder(op, o).buildPrepared();
+		if (o!=null && !type.isInstance(o))
+			throw new IllegalArgumentException(Translations.getMsg(WRONG_OBJECT_TYPE,getTrueName(type),getTrueName(o.getClass())));
+		
+		SQLClassMetadata<?> meta=SQLClassMetadata.of(type);
+		Object[] values=new Object[meta.size()];
+		if (o!=null) for (int i=0; i<values.length; i++) {
+			try {
+				values[i] = meta.getAccessor(i).get(o);
+			} catch (IllegalAccessException | RuntimeException e) {
+				throw new IllegalArgumentException(Translations.getMsg(FIELD_NOT_READABLE, meta.getColumn(i), getTrueName(type), ""+e.getMessage()), e);
+			}
+		}
+		
+		long mask=SQLShapeCache.mask(values);
+		String db=(this.db==null)? MySqlConnection.db():this.db;
+		Shape shape=SQLShapeCache.get(type, op, db, table, prefix, suffix, primary, mask);
+		if (shape!=null) return shape.bind(meta, values);
+		
+		PreparedQuery built=builder(op, o).DB(db).buildPrepared();
+		SQLShapeCache.put(type, op, db, table, prefix, suffix, primary, mask, built);
+		return built;
+	}
+	
+	/**
+	 * @param op operation
+	 * @param o input object
+	 * @return builder of operation, see {@link #selectData(Object)}, {@link #deleteData(Object)}, {@link #updateData(Object)}
+	 */
+	private QueryMaticO builder(Operation op, Object o) {
+		switch (op) {
+			case UPDATE: return updateData(o);
+			case DELETE: return deleteData(o);
+			default    : return selectData(o);
+		}
+	}
+
 	/**
 	 * create a {@link SQLSelectMaticO} instance that count rows with same value of not null fields of input object. If input is null, all records are selected
 	 * 
@@ -391,7 +627,7 @@ public class SQLTableMaticO implements TableMaticO{
 	 */
 	@Override
 	public SQLTableMaticO copy() {
-		SQLTableMaticO tf= new SQLTableMaticO().DB(db).prefix(prefix).suffix(suffix);
+		SQLTableMaticO tf= new SQLTableMaticO().DB(db).prefix(prefix).suffix(suffix).maxPacket(maxPacket).keysChunk(keysChunk);
 		if (table!=null && kv!=null) tf.table(type);
 		if (primary!=null) for (String key : primary)
 			tf.primary(key);
@@ -1,10 +1,12 @@
 package psykeco.querymatico.sql;
 
+import static psykeco.querymatico.sql.utility.SQLClassParser.copyOf;
 import static psykeco.querymatico.sql.utility.SQLClassParser.getTrueName;
+import static psykeco.querymatico.sql.utility.SQLClassParser.param;
 import static psykeco.querymatico.sql.utility.SQLClassParser.parseType;
-import static psykeco.querymatico.sql.utility.SQLClassParser.str;
 import static psykeco.querymatico.sql.utility.SQLClassParser.validateBase;
 import static psykeco.querymatico.sql.utility.SQLClassParser.validateValue;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BUILDER_FROZEN;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_EMPTY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NOT_VALID;
@@ -15,9 +17,12 @@ import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_EMPTY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_NOT_VALID;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map.Entry;
 
+import psykeco.querymatico.PreparedQuery;
 import psykeco.querymatico.QueryMaticO;
 import psykeco.querymatico.sql.runners.MySqlConnection;
 import psykeco.querymatico.translations.Translations;
@@ -29,7 +34,8 @@ import psykeco.querymatico.translations.Translations;
  * table name and db name are required! <br>   
  * 
  * entry are used into <code>set</code> clausole.
- * filter are used into <code>where</code> clausole.
+ * filter are used into <code>where</code> clausole, 
+ * with equality or with a {@link SQLPredicate}.
  * 
  * @author PsykeDady (psdady@msn.com) 
  * */
@@ -41,15 +47,25 @@ public class SQLUpdateMaticO implements QueryMaticO {
 	private String db;
 	/** couple name-values needed to filter in where clausole */
 	private HashMap<String,Object> filter=new HashMap<>();
+	
+	/** predicates of where clausole */
+	private List<SQLPredicate> predicates=new ArrayList<>();
 	/** couple name-values needed in set clausole */
 	private HashMap<String,Object> kv    =new HashMap<>();
 	
+	/** true if collections are shared with a copy, they are copied before next change */
+	private boolean shared;
+	
+	/** true after {@link #freeze()} */
+	private boolean frozen;
+	
 	/** Set db name
 	 *  @param DB name of db
 	 *  @return SQLUpdateMaticO updated reference
 	 *  */
 	@Override
 	public SQLUpdateMaticO DB(String DB) {
+		checkFrozen();
 		this.db=DB;
 		return this;
 	}
@@ -60,9 +76,26 @@ public class SQLUpdateMaticO implements QueryMaticO {
 	 *  */
 	@Override
 	public SQLUpdateMaticO table(String table) {
+		checkFrozen();
 		this.table=table;
 		return this;
 	}
+
+	/**
+	 * @return db name, <code>null</code> if not set
+	 */
+	@Override
+	public String getDB() {
+		return db;
+	}
+
+	/**
+	 * @return table name, <code>null</code> if not set
+	 */
+	@Override
+	public String getTable() {
+		return table;
+	}
 	
 	/** add "column name-column value" into set <code>value</code> fields
 	 * 
@@ -82,6 +115,7 @@ public class SQLUpdateMaticO implements QueryMaticO {
 	 *  */
 	@Override
 	public SQLUpdateMaticO entry(String column, Object value) {
+		unshare();
 		this.kv.putIfAbsent(column, value);
 		return this;
 	}
@@ -104,10 +138,22 @@ public class SQLUpdateMaticO implements QueryMaticO {
 	 *  */
 	@Override
 	public SQLUpdateMaticO filter(String column, Object value) {
+		unshare();
 		this.filter.putIfAbsent(column, value);
 		return this;
 	}
 
+	/** add a predicate as filter of where clausole, in <code>AND</code> with other filters
+	 * 
+	 *  @param  predicate the condition, see {@link SQLPredicate}
+	 *  @return SQLUpdateMaticO updated reference
+	 *  */
+	public SQLUpdateMaticO filter(SQLPredicate predicate) {
+		unshare();
+		this.predicates.add(predicate);
+		return this;
+	}
+
 	/**
 	 * check all the fields in order to validate a possible query. <br>
 	 * Returned value represent a String with encountered 
@@ -124,17 +170,26 @@ public class SQLUpdateMaticO implements QueryMaticO {
 	 */
 	@Override
 	public String validate() {
+		return validate(db);
+	}
+	
+	/**
+	 * check all the fields as {@link #validate()}, using input db in place of db of builder. 
+	 * Fields are never changed, so validation can run on more threads
+	 * 
+	 * @param db db name
+	 * @return empty string if all check is passed, an error message otherwise
+	 */
+	private String validate(String db) {
 		
 		if (table==null || table.equals("")) return Translations.getMsg(TABLE_NULL) ;
 		if (db   ==null || db   .equals("")) return Translations.getMsg(DB_NULL) ;
 		
 		String tmp=validateBase(table);
 		if (tmp==null) return Translations.getMsg(TABLE_NOT_VALID, table);
-		table=tmp;
 		
 		tmp=validateBase(db);
 		if (tmp==null) return Translations.getMsg(DB_NOT_VALID, db);
-		db=tmp;		
 		
 		if ( kv.size() < 1 ) return Translations.getMsg(ENTRY_EMPTY);
 		
@@ -166,6 +221,12 @@ public class SQLUpdateMaticO implements QueryMaticO {
 			if ( tmpV==null ) return Translations.getMsg(VALUE_NOT_VALID,value);
 		}
 		
+		for (SQLPredicate p : predicates) {
+			if (p==null) return Translations.getMsg(VALUE_EMPTY, "filter");
+			tmp=p.validate();
+			if ( !tmp.equals("") ) return tmp;
+		}
+		
 		return "";
 	}
 	
@@ -176,19 +237,39 @@ public class SQLUpdateMaticO implements QueryMaticO {
 	 * */
 	@Override
 	public String build() {
+		return build(null);
+	}
+	
+	/**
+	 * Build update istruction with a <code>?</code> placeholder for every value of 
+	 * <code>set</code> and <code>where</code> clausoles
+	 * @return UPDATE istruction and its parameters
+	 * 
+	 * @throws IllegalArgumentException if {@link #validate()} fail
+	 * */
+	@Override
+	public PreparedQuery buildPrepared() {
+		List<Entry<String,Object>> params=new ArrayList<>(kv.size()+filter.size());
+		return new PreparedQuery(build(params), params);
+	}
+	
+	/**
+	 * build update istruction
+	 * @param params list to fill with bind parameters, <code>null</code> to inline values
+	 * @return UPDATE istruction
+	 */
+	private String build(List<Entry<String,Object>> params) {
 		StringBuilder column=new StringBuilder(kv.size()*20);		
 		StringBuilder values=new StringBuilder(filter.size()*20);
-		String thisdb=this.db;
-		this.db=(this.db==null)? MySqlConnection.db():this.db;
-		String db=validateBase(this.db), table=validateBase(this.table);
+		String db=(this.db==null)? MySqlConnection.db():this.db;
 		
-		String validation=validate();
+		String validation=validate(db);
 		if( ! validation.equals("") ) throw new IllegalArgumentException(validation);
 		
-		column.append("UPDATE `"+db+"`.`"+table+"` SET ");
+		column.append("UPDATE `"+validateBase(db)+"`.`"+validateBase(table)+"` SET ");
 		
 		for (Entry<String,Object> kv : this.kv.entrySet()) {
-			String key=validateBase(kv.getKey()),value=str(kv.getValue());
+			String key=validateBase(kv.getKey()),value=param(params,kv.getKey(),kv.getValue());
 			column.append("`"+key+"`="+value+"," );
 		}
 		
@@ -197,27 +278,73 @@ public class SQLUpdateMaticO implements QueryMaticO {
 		values.append(" WHERE 1=1 ");
 		
 		for (Entry<String,Object> f : filter.entrySet()) {
-			String key=validateBase(f.getKey()),value=str(f.getValue());
+			String key=validateBase(f.getKey()),value=param(params,f.getKey(),f.getValue());
 			values.append("AND `"+key +"`="+value+" " );
 		}
 		
-		this.db=thisdb;
+		for (SQLPredicate p : predicates) {
+			values.append("AND "+p.build(c -> "`"+validateBase(c)+"`", params)+" " );
+		}
+		
 		return (column.toString()+values.toString()).trim();
 	}
 
 	/**
-	 * create a SQLUpdateMaticO as new object with same data of this.
+	 * create a SQLUpdateMaticO as new object with same data of this. 
+	 * Collections are shared until one of two builders is changed
 	 * 
-	 * @return the new instance
+	 * @return the new instance, not frozen
 	 */
 	@Override
 	public SQLUpdateMaticO copy() {
-		SQLUpdateMaticO qfc=new SQLUpdateMaticO().table(table).DB(db);
-		if(filter!=null) for (Entry<String,Object> kv : filter.entrySet()) 
-			qfc.filter(kv);
-		if(kv!=null) for (Entry<String,Object> cv : kv.entrySet()) 
-			qfc.filter(cv);
-		return qfc;
+		SQLUpdateMaticO cf=new SQLUpdateMaticO();
+		cf.db=db;
+		cf.table=table;
+		cf.filter=filter;
+		cf.predicates=predicates;
+		cf.kv=kv;
+		cf.shared=true;
+		if (!frozen) shared=true;
+		return cf;
+	}
+	
+	/**
+	 * make this builder immutable, every next change throw an {@link IllegalStateException}
+	 * 
+	 * @return SQLUpdateMaticO updated reference
+	 */
+	@Override
+	public SQLUpdateMaticO freeze() {
+		frozen=true;
+		return this;
+	}
+	
+	/**
+	 * @return <code>true</code> if {@link #freeze()} was called
+	 */
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
+	
+	/**
+	 * @throws IllegalStateException if builder is frozen
+	 */
+	private void checkFrozen() {
+		if (frozen) throw new IllegalStateException(Translations.getMsg(BUILDER_FROZEN, getTrueName(SQLUpdateMaticO.class)));
+	}
+	
+	/**
+	 * copy collections shared with a copy, before changing them
+	 * @throws IllegalStateException if builder is frozen
+	 */
+	private void unshare() {
+		checkFrozen();
+		if (!shared) return;
+		filter=copyOf(filter);
+		predicates=new ArrayList<>(predicates);
+		kv=copyOf(kv);
+		shared=false;
 	}
 
 }
@@ -0,0 +1,277 @@
+package psykeco.querymatico.sql.runners;
+
+import static psykeco.querymatico.translations.Translations.KEY_MSG.ASYNC_NEED_AUTOCOMMIT;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import psykeco.querymatico.PreparedQuery;
+import psykeco.querymatico.QueryMaticO;
+import psykeco.querymatico.translations.Translations;
+
+/**
+ * <p>Asynchronous facade of {@link MySqlConnection}: every operation is executed on an executor and returns a {@link CompletableFuture},
+ * so independent queries can run in parallel.</br></p>
+ * <p>Default executor start a virtual thread for every operation, when the JVM supports them,
+ * otherwise a fixed pool of platform threads. At most {@link #getMaxConcurrency()} operations run at the same time,
+ * by default max size of {@link MySqlConnection#getPool() pool}, so waiting operations do not hold a thread of pool of connections</br></p>
+ * <p>Futures complete exceptionally with an {@link IllegalStateException} with the message of {@link MySqlConnection#getErrMsg()} if an error occur.
+ * Transactions are bound to a thread (see {@link MySqlConnection#commit()}), so connection must have autocommit on</br></p>
+ * <p>Builders are copied when an operation is submitted, so they can be changed right after</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class AsyncMySqlConnection implements AutoCloseable {
+
+	/**
+	 * a blocking operation on a {@link MySqlConnection}
+	 * @param <R> type of result
+	 */
+	@FunctionalInterface
+	private interface Operation<R> {
+		R apply(MySqlConnection m);
+	}
+
+	/** executor of operations */
+	private final ExecutorService executor;
+	/** true if executor was created by this object and must be shut down by {@link #close()} */
+	private final boolean ownExecutor;
+	/** max number of operations running at the same time */
+	private final int maxConcurrency;
+	/** one permit for every operation that can run */
+	private final Semaphore permits;
+
+	/**
+	 * create a facade on default executor, with concurrency bound to max size of current pool
+	 * ( {@link SQLConnectionPool#DEFAULT_MAX_SIZE} if no connection was created )
+	 */
+	public AsyncMySqlConnection() {
+		this(defaultConcurrency());
+	}
+
+	/**
+	 * create a facade on default executor
+	 * @param maxConcurrency max number of operations running at the same time
+	 */
+	public AsyncMySqlConnection(int maxConcurrency) {
+		this(newExecutor(Math.max(1, maxConcurrency)), maxConcurrency, true);
+	}
+
+	/**
+	 * create a facade on an executor. It is not shut down by {@link #close()}
+	 * @param executor executor of operations
+	 * @param maxConcurrency max number of operations running at the same time
+	 */
+	public AsyncMySqlConnection(ExecutorService executor, int maxConcurrency) {
+		this(executor, maxConcurrency, false);
+	}
+
+	private AsyncMySqlConnection(ExecutorService executor, int maxConcurrency, boolean ownExecutor) {
+		this.executor=executor;
+		this.ownExecutor=ownExecutor;
+		this.maxConcurrency=Math.max(1, maxConcurrency);
+		this.permits=new Semaphore(this.maxConcurrency, true);
+	}
+
+	/**
+	 * @return max number of operations running at the same time
+	 */
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * execute a command as {@link MySqlConnection#exec(QueryMaticO)}
+	 * @param command sql command to execute
+	 * @return future of number of changed rows ( see {@link MySqlConnection#getUpdateCount()} )
+	 */
+	public CompletableFuture<Integer> exec(QueryMaticO command) {
+		QueryMaticO q=command.copy();
+		return submit(m -> {
+			m.exec(q);
+			return m.getUpdateCount();
+		});
+	}
+
+	/**
+	 * execute a command as {@link MySqlConnection#exec(PreparedQuery)}
+	 * @param command sql command to execute
+	 * @return future of number of changed rows ( see {@link MySqlConnection#getUpdateCount()} )
+	 */
+	public CompletableFuture<Integer> exec(PreparedQuery command) {
+		return submit(m -> {
+			m.exec(command);
+			return m.getUpdateCount();
+		});
+	}
+
+	/**
+	 * execute a command as {@link MySqlConnection#exec(String)}
+	 * @param command sql command to execute
+	 * @return future of number of changed rows ( see {@link MySqlConnection#getUpdateCount()} )
+	 */
+	public CompletableFuture<Integer> exec(String command) {
+		return submit(m -> {
+			m.exec(command);
+			return m.getUpdateCount();
+		});
+	}
+
+	/**
+	 * execute a list of commands as JDBC batches, as {@link MySqlConnection#exec(List)}
+	 * @param commands sql commands to execute
+	 * @return future of update count of every command
+	 */
+	public CompletableFuture<int[]> exec(List<? extends QueryMaticO> commands) {
+		QueryMaticO[] copies=new QueryMaticO[commands.size()];
+		for (int i=0; i<copies.length; i++) copies[i]=commands.get(i).copy();
+		return submit(m -> m.exec(Arrays.asList(copies)));
+	}
+
+	/**
+	 * execute a query as {@link MySqlConnection#query(QueryMaticO)}
+	 * @param query sql query to execute
+	 * @return future of disconnected result set
+	 */
+	public CompletableFuture<ResultSet> query(QueryMaticO query) {
+		QueryMaticO q=query.copy();
+		return submit(m -> m.query(q));
+	}
+
+	/**
+	 * execute a query as {@link MySqlConnection#queryList(Class, QueryMaticO)}
+	 * @param <T> the class of expected result
+	 * @param c the class of expected result
+	 * @param query sql query to execute
+	 * @return future of list of objects
+	 */
+	public <T> CompletableFuture<List<T>> queryList(Class<T> c, QueryMaticO query) {
+		QueryMaticO q=query.copy();
+		return submit(m -> m.queryList(c, q));
+	}
+
+	/**
+	 * execute a query as {@link MySqlConnection#queryList(Class, PreparedQuery)}
+	 * @param <T> the class of expected result
+	 * @param c the class of expected result
+	 * @param query sql query to execute
+	 * @return future of list of objects
+	 */
+	public <T> CompletableFuture<List<T>> queryList(Class<T> c, PreparedQuery query) {
+		return submit(m -> m.queryList(c, query));
+	}
+
+	/**
+	 * execute queries in parallel, every one on its own connection as {@link MySqlConnection#queryList(Class, QueryMaticO)},
+	 * and merge results in order of queries.
+	 * At most {@link #getMaxConcurrency()} queries run at the same time
+	 * @param <T> the class of expected result
+	 * @param c the class of expected result
+	 * @param queries sql queries to execute, for example the chunks built by 
+	 * {@link psykeco.querymatico.TableMaticO#selectByKeys(java.util.Collection) selectByKeys(Collection)}
+	 * @return future of list of objects of all queries, it fails if one of queries fails
+	 */
+	public <T> CompletableFuture<List<T>> queryList(Class<T> c, List<? extends QueryMaticO> queries) {
+		List<CompletableFuture<List<T>>> futures=new ArrayList<>(queries.size());
+		for (QueryMaticO query : queries) futures.add(queryList(c, query));
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).thenApply(v -> {
+			List<T> result=new ArrayList<>();
+			for (CompletableFuture<List<T>> future : futures) result.addAll(future.join());
+			return result;
+		});
+	}
+
+	/**
+	 * execute a query as {@link MySqlConnection#queryMap(QueryMaticO)}
+	 * @param query sql query to execute
+	 * @return future of rows as maps, <code>null</code> if there are no rows
+	 */
+	public CompletableFuture<Map<String,Object>[]> queryMap(QueryMaticO query) {
+		QueryMaticO q=query.copy();
+		return submit(m -> m.queryMap(q));
+	}
+
+	/**
+	 * shut down default executor, running operations are completed. Given executors are not shut down
+	 */
+	@Override
+	public void close() {
+		if (ownExecutor) executor.shutdown();
+	}
+
+	/**
+	 * run an operation on executor, with a new {@link MySqlConnection}, when a permit is free
+	 * @param <R> type of result
+	 * @param op the operation
+	 * @return future of result
+	 */
+	private <R> CompletableFuture<R> submit(Operation<R> op) {
+		SQLConnectionPool pool=MySqlConnection.getPool();
+		if (pool!=null && !pool.getConnectionMaticO().getAutocommit()) {
+			CompletableFuture<R> failed=new CompletableFuture<>();
+			failed.completeExceptionally(new IllegalStateException(Translations.getMsg(ASYNC_NEED_AUTOCOMMIT)));
+			return failed;
+		}
+
+		CompletableFuture<R> future=new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				if (future.isDone()) return;
+				try {
+					permits.acquire();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					future.completeExceptionally(e);
+					return;
+				}
+				try {
+					if (future.isDone()) return;
+					MySqlConnection m=new MySqlConnection();
+					R result=op.apply(m);
+					if (!m.getErrMsg().equals("")) future.completeExceptionally(new IllegalStateException(m.getErrMsg()));
+					else future.complete(result);
+				} catch (Throwable t) {
+					future.completeExceptionally(t);
+				} finally {
+					permits.release();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	/**
+	 * @return max size of current pool, {@link SQLConnectionPool#DEFAULT_MAX_SIZE} if there is no pool
+	 */
+	private static int defaultConcurrency() {
+		SQLConnectionPool pool=MySqlConnection.getPool();
+		return pool==null? SQLConnectionPool.DEFAULT_MAX_SIZE : pool.getMaxSize();
+	}
+
+	/**
+	 * @param threads number of platform threads, if virtual threads are not supported
+	 * @return an executor of virtual threads, or a fixed pool of daemon threads
+	 */
+	private static ExecutorService newExecutor(int threads) {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return Executors.newFixedThreadPool(threads, r -> {
+				Thread t=new Thread(r, "QueryMaticO-async");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+package psykeco.querymatico.sql.runners;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>Java Flight Recorder event of mapping of a result set into objects by a {@link psykeco.querymatico.sql.utility.SQLResultPlan SQLResultPlan}, 
+ * named <code>psykeco.querymatico.Hydration</code>.</br></p>
+ * <p>Event lasts from first to last mapped row of {@link MySqlConnection#queryList(Class, String)}, so it includes reading of rows from driver. 
+ * It is created only while a recording has enabled it</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+@Name("psykeco.querymatico.Hydration")
+@Label("Hydration")
+@Category({"QueryMaticO"})
+@Description("Rows of a result set mapped into objects")
+@StackTrace(false)
+public final class HydrationEvent extends jdk.jfr.Event {
+
+	/** used only to check if event is enabled */
+	private static final HydrationEvent PROBE=new HydrationEvent();
+
+	@Label("Type")
+	@Description("Class of mapped objects")
+	Class<?> type;
+
+	@Label("Rows")
+	long rows;
+
+	/**
+	 * @return a started event, <code>null</code> if no recording has enabled it
+	 */
+	static HydrationEvent start() {
+		if (!PROBE.isEnabled()) return null;
+		HydrationEvent e=new HydrationEvent();
+		e.begin();
+		return e;
+	}
+
+}
@@ -0,0 +1,95 @@
+package psykeco.querymatico.sql.runners;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Histogram of durations, with a bucket for every power of two of microseconds.</br></p>
+ * <p>Recording is lock free, percentiles are approximated by upper bound of their bucket, never over max recorded value</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class LatencyHistogram {
+
+	/** number of buckets: bucket <code>i</code> contains durations from 2^(i-1) to 2^i-1 microseconds, bucket 0 durations under a microsecond */
+	private static final int BUCKETS=64;
+
+	private final LongAdder[] buckets=new LongAdder[BUCKETS];
+	private final LongAdder count=new LongAdder();
+	private final LongAdder totalMicros=new LongAdder();
+	private final LongAccumulator maxMicros=new LongAccumulator(Math::max, 0);
+
+	/**
+	 * create an empty histogram
+	 */
+	public LatencyHistogram() {
+		for (int i=0; i<BUCKETS; i++) buckets[i]=new LongAdder();
+	}
+
+	/**
+	 * @param nanos a duration, in nanoseconds
+	 */
+	public void record(long nanos) {
+		long micros=Math.max(0, nanos/1000);
+		buckets[64-Long.numberOfLeadingZeros(micros)].increment();
+		count.increment();
+		totalMicros.add(micros);
+		maxMicros.accumulate(micros);
+	}
+
+	/**
+	 * @return number of recorded durations
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return sum of recorded durations, in microseconds
+	 */
+	public long getTotalMicros() {
+		return totalMicros.sum();
+	}
+
+	/**
+	 * @return max recorded duration, in microseconds
+	 */
+	public long getMaxMicros() {
+		return maxMicros.get();
+	}
+
+	/**
+	 * @return mean of recorded durations, in microseconds, 0 if there are none
+	 */
+	public double getMeanMicros() {
+		long n=getCount();
+		return n==0 ? 0 : (double) getTotalMicros()/n;
+	}
+
+	/**
+	 * @param percentile a value between 0 and 100
+	 * @return approximated duration, in microseconds, not exceeded by given percentile of recorded durations
+	 */
+	public long percentileMicros(double percentile) {
+		long n=getCount();
+		if (n==0) return 0;
+		long rank=(long) Math.ceil(n*Math.min(100, Math.max(0, percentile))/100);
+		long seen=0;
+		for (int i=0; i<BUCKETS; i++) {
+			seen+=buckets[i].sum();
+			if (seen>=Math.max(1, rank)) return Math.min(i==0 ? 0 : (1L<<i)-1, getMaxMicros());
+		}
+		return getMaxMicros();
+	}
+
+	/**
+	 * clear all recorded durations
+	 */
+	public void reset() {
+		for (LongAdder b : buckets) b.reset();
+		count.reset();
+		totalMicros.reset();
+		maxMicros.reset();
+	}
+
+}
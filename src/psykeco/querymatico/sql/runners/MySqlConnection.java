@@ -2,40 +2,84 @@ package psykeco.querymatico.sql.runners;
 
 
 import static psykeco.querymatico.sql.utility.SQLClassParser.getTrueName;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.ASYNC_NEED_AUTOCOMMIT;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BIND_ERROR;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_CLOSED;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_MATICO_NOT_AVAIBLE;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CONSTRUCTOR_ERROR;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.NOT_EMPTY_ACCESSIBLE_CONSTRUCTOR;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.NOT_EMPTY_CONSTRUCTOR;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.PAGE_COLUMN_NOT_FIELD;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.PAGE_SIZE_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.PAGE_WITH_OFFSET;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.QUERY_REJECTED;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.SEEK_WITHOUT_ORDER;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
+import java.io.IOException;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import psykeco.querymatico.DBMaticO;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+
+import psykeco.querymatico.PreparedQuery;
 import psykeco.querymatico.QueryMaticO;
+import psykeco.querymatico.SelectMaticO;
 import psykeco.querymatico.sql.SQLConnectionMaticO;
-import psykeco.querymatico.sql.SQLDBMaticO;
+import psykeco.querymatico.sql.runners.QueryMetrics.Operation;
+import psykeco.querymatico.sql.utility.FieldAccessor;
+import psykeco.querymatico.sql.utility.SQLClassMetadata;
 import psykeco.querymatico.sql.utility.SQLClassParser;
+import psykeco.querymatico.sql.utility.SQLFingerprint;
+import psykeco.querymatico.sql.utility.SQLResultPlan;
 import psykeco.querymatico.translations.Translations;
 
 
 /**
  * <p></br></p>
  * <p>Manage mysql connection and session.</br></p>
- * <p>It start a singleton instance of {@link java.sql.Connection Connection} created through {@link psykeco.querymatico.sql SQLConnectionMaticO}, checking state of connection, getting mysql errors string, exec query and other</br></p>
+ * <p>It start a shared {@link SQLConnectionPool} of {@link java.sql.Connection Connection} created through {@link psykeco.querymatico.sql SQLConnectionMaticO}, checking state of connection, getting mysql errors string, exec query and other</br></p>
+ * <p>Every operation borrow a connection from pool and give it back when done, so the pool is shared by all instances and threads.
+ * An instance is not thread safe: error message, update count and pending batch belong to it, so every thread must use its own instance 
+ * ( as {@link AsyncMySqlConnection} does for every operation ). 
+ * If autocommit is off, the connection borrowed by a thread stay bound to it until {@link #commit()} or {@link #rollback()}</br></p>
+ * <p>Time, rows and errors of every operation can be measured with {@link #metrics(QueryMetrics)}, 
+ * slow ones can be recorded with {@link #slowQueryLog(SlowQueryLog)}. Every operation can also be observed by {@link QueryListener}s</br></p>
+ * <p>While a Java Flight Recorder recording is active, every operation emit a {@link QueryEvent} 
+ * and mapping of rows of {@link #queryList(Class, String)} emit a {@link HydrationEvent}</br></p>
  * <p></br></p>
- * <p>To start connection call {@link #createConnection(String,int,String,String)} or {@link #createConnection(SQLConnectionMaticO)}</br></p>
+ * <p>To start connection call {@link #createConnection(String,int,String,String)}, {@link #createConnection(SQLConnectionMaticO)} or {@link #createConnection(SQLConnectionPool)}</br></p>
  * 
  * @author PsykeDady (psdady@msn.com)
  *
@@ -43,28 +87,95 @@ import psykeco.querymatico.translations.Translations;
 public class MySqlConnection {
 	
 	/**
-	 * the connection builder
+	 * pool of connections to database
+	 */
+	private static volatile SQLConnectionPool pool;
+	
+	/**
+	 * connection bound to current thread while a transaction is open ( autocommit off )
+	 */
+	private static final ThreadLocal<PooledConnection> transaction=new ThreadLocal<>();
+	
+	/**
+	 * cache of query results, <code>null</code> if disabled
+	 */
+	private static volatile QueryCache cache;
+	
+	/**
+	 * receiver of measures of operations, <code>null</code> if disabled
+	 */
+	private static volatile QueryMetrics metrics;
+	
+	/**
+	 * log of slow operations, <code>null</code> if disabled
 	 */
-	private static SQLConnectionMaticO connMaticO;
+	private static volatile SlowQueryLog slowQueryLog;
 	
 	/**
-	 * Connection to database
+	 * registered listeners, replaced on every change so operations read them without locks
 	 */
-	private static Connection connection;
+	private static volatile QueryListener[] listeners=new QueryListener[0];
 	
 	/**
-	 * a single statement can perform more query, if you want to rollback more actions
+	 * logger of errors of listeners
 	 */
-	private static Statement statement;
+	private static final Logger LOGGER=Logger.getLogger(MySqlConnection.class.getName());
 	
 	/**
 	 * last SQL Error Message
 	 */
 	private String errMsg="";
 	
+	/**
+	 * update count of last command executed with exec, -1 if it failed or it was not an update
+	 */
+	private int updateCount=-1;
+	
+	/**
+	 * commands added with {@link #addBatch(QueryMaticO)} and not yet sent to server
+	 */
+	private List<PreparedQuery> batch=new ArrayList<>();
+	
+	/**
+	 * builders of {@link #batch}, same order
+	 */
+	private List<QueryMaticO> batchQueries=new ArrayList<>();
+	
+	/**
+	 * update counts of batch commands already sent to server and not yet returned by {@link #executeBatch()}
+	 */
+	private List<Integer> batchCounts=new ArrayList<>();
+	
+	/**
+	 * db and table of commands in {@link #batch}, to invalidate in {@link QueryCache} when they are sent
+	 */
+	private Set<Entry<String,String>> batchTables=new HashSet<>();
+	
+	/**
+	 * fetch size of streaming result sets of {@link #queryStream(Class, String)} and {@link #queryPublisher(Class, String, Executor)}
+	 */
+	private int fetchSize=STREAM_FETCH_SIZE;
+	
+	/**
+	 * number of pending commands that trigger the send of batch to server
+	 */
+	private int batchSize=DEFAULT_BATCH_SIZE;
+	
+	/**
+	 * default value of {@link #batchSize(int)}
+	 */
+	public static final int DEFAULT_BATCH_SIZE=1000;
+	
+	/**
+	 * fetch size of {@link #queryStream(Class, String)}: for MySQL Connector/J it means rows are sent one at a time instead of buffering whole result
+	 */
+	public static final int STREAM_FETCH_SIZE=Integer.MIN_VALUE;
+	
 	/**
 	 * this is a DB name to test if connection work properly
+	 * @deprecated connection is checked with a {@link SQLConnectionPool.Validation}, this DB is no more created
 	 */
+	@Deprecated
 	public static final String TEST_ECHO="test_QueryMaticO_Connection";
 	
 	
@@ -76,6 +187,7 @@ public class MySqlConnection {
 	/**
 	 * <p>Execute a single MySql command using {@link psykeco.querymatico.QueryMaticO #build QueryMaticO.build()} using {@link #exec(String)} methods and return a string contains an error message. If no error occur, it returns an empty string.</br></p>
 	 * <p>DB info of will be replaced with Connection information with {@link #db} if are not null</p>
+	 * <p>If a {@link QueryCache} is set, cached results of table of command are invalidated</p>
 	 * <p>If no connection through {@link #createConnection(String,int,String,String)} or {@link #createConnection(SQLConnectionMaticO)} are established, methods return immediately an error string</br></p>
 	 * <p></br></p>
 	 * 
@@ -84,7 +196,11 @@ public class MySqlConnection {
 	 * @return empty string if no error occurs. Error message instead
 	 */
 	public String exec(QueryMaticO command){
-		return exec( (db()==null)? command.copy().build() : command.copy().DB(db()).build());
+		QueryMaticO q=(db()==null)? command.copy() : command.copy().DB(db());
+		String err=execute(q.build(), q);
+		QueryCache qc=cache;
+		if (qc!=null) qc.invalidate(q);
+		return err;
 	}
 	/**
 	 * <p>Execute a single MySql query using {@link psykeco.querymatico.QueryMaticO #build QueryMaticO.build()} using {@link #query(String)} methods and return the resultSet. </br></p>
@@ -98,7 +214,8 @@ public class MySqlConnection {
 	 * @return the ResultSet or <code>null</code>
 	 */
 	public ResultSet query(QueryMaticO query){
-		return query((db()==null)? query.copy().build() : query.copy().DB(db()).build());
+		String sql=(db()==null)? query.copy().build() : query.copy().DB(db()).build();
+		return read(Operation.QUERY, query, sql, null, this::disconnect, null);
 	}
 	/**
 	 * <p>Execute a single MySql query using {@link psykeco.querymatico.QueryMaticO #build QueryMaticO.build()} using {@link #queryList(Class, String)} methods and return a list of class objects represents the table. </br></p>
@@ -106,6 +223,8 @@ public class MySqlConnection {
 	 * <p>If error occur, it returns an empty list and message errors can be queried from {@link #getErrMsg()}</br></p>
 	 * <p>If no connection through {@link #createConnection(String,int,String,String)} or {@link #createConnection(SQLConnectionMaticO)} are established, methods return immediately</br></p>
 	 * <p>Automatic Relation-Object-mapping with input class is possible only if <b>empty constructor is avaible</b> and <b>class is concrete</b></br></p>
+	 * <p>If a {@link QueryCache} is set and query is a {@link SelectMaticO}, result is read from cache or stored in it. 
+	 * Returned list is always a new one, but cached objects are shared</br></p>
 	 * 
 	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
 	 * @param c the class of expected result ( class of queried table )
@@ -113,8 +232,44 @@ public class MySqlConnection {
 	 * 
 	 * @return {@link java.util.List List} &lt; c &gt;, if empty, check {@link #getErrMsg()}
 	 */
+	@SuppressWarnings("unchecked")
 	public <T> List<T> queryList(Class<T> c, QueryMaticO query){
-		return queryList(c,(db()==null)? query.copy().build() : query.copy().DB(db()).build());
+		QueryMaticO q=(db()==null)? query.copy() : query.copy().DB(db());
+		String sql=q.build();
+		QueryCache qc=cacheFor(q);
+		if (qc==null) return read(Operation.QUERY_LIST, q, sql, null, rs -> toList(c, rs), new LinkedList<T>());
+		
+		List<T> cached=(List<T>) qc.get(sql, c);
+		if (cached!=null) {
+			errMsg="";
+			return new LinkedList<T>(cached);
+		}
+		long generation=qc.generation();
+		List<T> result=read(Operation.QUERY_LIST, q, sql, null, rs -> toList(c, rs), new LinkedList<T>());
+		if (errMsg.equals("")) qc.put(sql, c, (SelectMaticO) q, new ArrayList<T>(result), generation);
+		return result;
+	}
+	
+	/**
+	 * <p>Execute queries one after another with {@link #queryList(Class, QueryMaticO)} and merge results in order of queries, 
+	 * for example the chunks built by {@link psykeco.querymatico.TableMaticO#selectByKeys(java.util.Collection) selectByKeys(Collection)}</br></p>
+	 * <p>Execution stops at first error, see {@link AsyncMySqlConnection#queryList(Class, List)} to run queries in parallel</br></p>
+	 * 
+	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
+	 * @param c the class of expected result ( class of queried table )
+	 * @param queries sql queries to execute
+	 * 
+	 * @return {@link java.util.List List} &lt; c &gt; with rows of all queries, if empty, check {@link #getErrMsg()}
+	 */
+	public <T> List<T> queryList(Class<T> c, List<? extends QueryMaticO> queries){
+		List<T> result=new LinkedList<T>();
+		errMsg="";
+		for (QueryMaticO query : queries) {
+			List<T> rows=queryList(c, query);
+			if (!errMsg.equals("")) return new LinkedList<T>();
+			result.addAll(rows);
+		}
+		return result;
 	}
 	/**
 	 * <p>Execute a single MySql query using {@link psykeco.querymatico.QueryMaticO #build QueryMaticO.build()} using {@link #queryMap(String)} methods and return an array of map. Every map rappresent a row of resultset</br></p>
@@ -131,15 +286,33 @@ public class MySqlConnection {
 	 * <p>If no connection through {@link #createConnection(String,int,String,String)} or {@link #createConnection(SQLConnectionMaticO)} are established, methods return immediately</br></p>
 	 * 
 	 * 
+	 * <p>If a {@link QueryCache} is set and query is a {@link SelectMaticO}, result is read from cache or stored in it. 
+	 * Returned array is always a new one, but cached maps are shared</br></p>
+	 * 
 	 * @param query la query
 	 * @return a {@link java.util.Map Map} &lt; {@link java.lang.String String},{@link java.lang.Object Object} &gt;
 	 */ 
+	@SuppressWarnings("unchecked")
 	public Map<String,Object>[] queryMap(QueryMaticO query){ 
-		return queryMap((db()==null)? query.copy().build() : query.copy().DB(db()).build());
+		QueryMaticO q=(db()==null)? query.copy() : query.copy().DB(db());
+		String sql=q.build();
+		QueryCache qc=cacheFor(q);
+		if (qc==null) return read(Operation.QUERY_MAP, q, sql, null, this::toMap, null);
+		
+		Map<String,Object>[] cached=(Map<String,Object>[]) qc.get(sql, Map.class);
+		if (cached!=null) {
+			errMsg="";
+			return cached.clone();
+		}
+		long generation=qc.generation();
+		Map<String,Object>[] result=read(Operation.QUERY_MAP, q, sql, null, this::toMap, null);
+		if (result!=null) qc.put(sql, Map.class, (SelectMaticO) q, result.clone(), generation);
+		return result;
 	}
 
 	/**
 	 * <p>Execute a single MySql command and return a string contains an error message. If no error occur, it returns an empty string.</br></p>
+	 * <p>Tables touched by command are unknown, so if a {@link QueryCache} is set, it is cleared</br></p>
 	 * <p>If no connection through {@link #createConnection(String,int,String,String)} or {@link #createConnection(SQLConnectionMaticO)} are established, methods return immediately an error string</br></p>
 	 * <p></br></p>
 	 * 
@@ -148,24 +321,49 @@ public class MySqlConnection {
 	 * @return empty string if no error occurs. Error message instead
 	 */
 	public String exec(String command){
+		String err=execute(command, null);
+		QueryCache qc=cache;
+		if (qc!=null) qc.clear();
+		return err;
+	}
+	
+	/**
+	 * execute a single command over a plain statement
+	 * @param command sql command to execute
+	 * @param query builder of command, <code>null</code> if unknown
+	 * @return empty string if no error occurs. Error message instead
+	 */
+	private String execute(String command, QueryMaticO query){
 		if(!existConnection()) {
 			errMsg= Translations.getMsg(CONNECTION_CLOSED);
 			return errMsg;
 		}
+		PooledConnection pc=null;
+		updateCount=-1;
+		QueryEvent jfr=null;
+		long start=System.nanoTime();
 		try{
-			if (connection.getAutoCommit()) connection.createStatement().execute(command);
-			else {
-				if( statement==null ) statement=connection.createStatement();
-				statement.execute(command);
+			jfr=before(Operation.EXEC, query, command);
+			start=System.nanoTime();
+			pc=acquire(jfr);
+			try(Statement st=pc.getConnection().createStatement()){
+				st.execute(command);
+				updateCount=st.getUpdateCount();
 			}
 			return errMsg="";
 		}catch(SQLException s){
 			return errMsg=buildSQLErrMessage(s);
+		}catch(IllegalStateException e){
+			return errMsg=e.getMessage();
+		}finally{
+			release(pc);
+			record(Operation.EXEC, query, command, start, updateCount, errMsg, jfr);
 		}//try-catch
 	}//esegui
 	
 	/**
 	 * <p>Execute a single MySql query and return the resultSet. </br></p>
+	 * <p>Rows are read into a disconnected {@link CachedRowSet}, so the connection is given back to pool before return</br></p>
 	 * <p>If error occur, it returns <code>null</code> and message errors can be queried from {@link #getErrMsg()} </br></p>
 	 * <p>If no connection through {@link #createConnection(String,int,String,String)} or {@link #createConnection(SQLConnectionMaticO)} are established, methods return immediately</br></p>
 	 * <p></br></p>
@@ -179,14 +377,7 @@ public class MySqlConnection {
 			errMsg= Translations.getMsg(CONNECTION_CLOSED);
 			return null;
 		}
-		try{
-			ResultSet rs=connection.createStatement().executeQuery(query);
-			errMsg="";
-			return  rs;
-		}catch(SQLException s){
-			errMsg=buildSQLErrMessage(s);
-		}//try-catch
-		return null;
+		return read(Operation.QUERY, null, query, null, this::disconnect, null);
 	}//query
 	
 	/**
@@ -202,47 +393,11 @@ public class MySqlConnection {
 	 * @return {@link java.util.List List} &lt; c &gt;, if empty, check {@link #getErrMsg()}
 	 */
 	public <T> List<T> queryList(Class<T> c, String query){
-		LinkedList<T> ris=new LinkedList<T>();
 		if(!existConnection()) {
 			errMsg= Translations.getMsg(CONNECTION_CLOSED);
-			return ris;
+			return new LinkedList<T>();
 		}
-		ResultSet rs = query(query);
-		try {
-			ResultSetMetaData rsmeta=rs.getMetaData();
-			Set<String> columns=new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
-			int count=rsmeta.getColumnCount();
-			for(int i=1;i<=count;i++) columns.add(rsmeta.getColumnLabel(i));
-			while(rs.next()) {
-				Field[] f= c.getDeclaredFields();
-				Constructor<T> cons=c.getDeclaredConstructor();
-				boolean access=cons.isAccessible();
-				cons.setAccessible(true);
-				T istanza = cons.newInstance();
-				cons.setAccessible(access);
-				
-				for ( Field x : f ) {
-					access=x.isAccessible();
-					x.setAccessible(true);
-					
-					Object inst=SQLClassParser.parseResultToField(rs,x,columns);
-					
-					x.set(istanza, inst==null? SQLClassParser.nullValue(x.getType()) : inst );
-					x.setAccessible(access);
-				}
-				ris.add(istanza);
-			}
-			errMsg="";
-		}catch (SQLException s){
-			errMsg=buildSQLErrMessage(s);
-		} catch (IllegalAccessException e) {
-			errMsg=Translations.getMsg(NOT_EMPTY_CONSTRUCTOR);
-		} catch (InstantiationException e) {
-			errMsg=Translations.getMsg(NOT_EMPTY_ACCESSIBLE_CONSTRUCTOR);
-		} catch (Exception e) {
-			errMsg=Translations.getMsg(CONSTRUCTOR_ERROR);
-		} 
-		return ris;
+		return read(Operation.QUERY_LIST, null, query, null, rs -> toList(c, rs), new LinkedList<T>());
 	}
 	
 	/**
@@ -263,181 +418,1336 @@ public class MySqlConnection {
 	 * @param query la query
 	 * @return a {@link java.util.Map Map} &lt; {@link java.lang.String String},{@link java.lang.Object Object} &gt;
 	 */ 
-	@SuppressWarnings("unchecked")
 	public Map<String,Object>[] queryMap(String query){
 		if(!existConnection()) {
 			errMsg= Translations.getMsg(CONNECTION_CLOSED);
 			return null;
 		}
-		ResultSet rs = query(query);
-		Map<String,Object>[] ris=null;
-		int nrow=0;
-		try {
-			ResultSetMetaData rsmeta=rs.getMetaData();
-			int count=rsmeta.getColumnCount();
-			if(! rs.last()) return null;
-			ris=new HashMap[rs.getRow()];
-			
-			rs.beforeFirst();
-			while(rs.next()) {
-				ris[nrow]=new HashMap<String,Object>();
-				for(int i=1;i<=count;i++) {
-					ris[nrow].put(rsmeta.getColumnLabel(i),rs.getObject(i));
-				}
-				nrow++;
-			}
-			errMsg="";
-		}catch (SQLException s){
-			errMsg=buildSQLErrMessage(s);
-		} 
-		return ris;
+		return read(Operation.QUERY_MAP, null, query, null, this::toMap, null);
 	}
 	
-	public String getErrMsg() {
-		return errMsg;
+	/**
+	 * <p>Execute a single MySql command with bind parameters over a {@link PreparedStatement} and return a string contains an error message. If no error occur, it returns an empty string.</br></p>
+	 * <p>Use {@link QueryMaticO#buildPrepared()} to get the command. Tables touched by command are unknown, so if a {@link QueryCache} is set, it is cleared</br></p>
+	 * <p>If no connection through {@link #createConnection(String,int,String,String)} or {@link #createConnection(SQLConnectionMaticO)} are established, methods return immediately an error string</br></p>
+	 * 
+	 * @param command parameterized sql command to execute
+	 * 
+	 * @return empty string if no error occurs. Error message instead
+	 */
+	public String exec(PreparedQuery command){
+		if(!existConnection()) {
+			errMsg= Translations.getMsg(CONNECTION_CLOSED);
+			return errMsg;
+		}
+		PooledConnection pc=null;
+		updateCount=-1;
+		QueryEvent jfr=null;
+		long start=System.nanoTime();
+		try{
+			jfr=before(Operation.EXEC, null, command.getSql());
+			start=System.nanoTime();
+			pc=acquire(jfr);
+			PreparedStatement ps=pc.prepareStatement(command.getSql());
+			try{
+				SQLClassParser.bind(ps, command.getParameters());
+				ps.execute();
+				updateCount=ps.getUpdateCount();
+			}finally{
+				pc.closeStatement(command.getSql(), ps);
+			}
+			return errMsg="";
+		}catch(SQLException s){
+			return errMsg=buildSQLErrMessage(s);
+		}catch(IOException e){
+			return errMsg=Translations.getMsg(BIND_ERROR, e.getMessage());
+		}catch(IllegalStateException e){
+			return errMsg=e.getMessage();
+		}finally{
+			release(pc);
+			record(Operation.EXEC, null, command.getSql(), start, updateCount, errMsg, jfr);
+			QueryCache qc=cache;
+			if (qc!=null) qc.clear();
+		}//try-catch
 	}
 	
-	// STATIC METHODS
-	
 	/**
-	 * <p>if any connection exists, it will be created</br></p>
-	 * @param connMaticO connection builder
+	 * <p>Execute a single MySql query with bind parameters over a {@link PreparedStatement} and return the resultSet. </br></p>
+	 * <p>Use {@link QueryMaticO#buildPrepared()} to get the query. Rows are read into a disconnected {@link CachedRowSet}</br></p>
+	 * <p>If error occur, it returns <code>null</code> and message errors can be queried from {@link #getErrMsg()} </br></p>
+	 * <p>If no connection through {@link #createConnection(String,int,String,String)} or {@link #createConnection(SQLConnectionMaticO)} are established, methods return immediately</br></p>
+	 * 
+	 * @param query parameterized sql query to execute
+	 * 
+	 * @return the ResultSet or <code>null</code>
 	 */
-	public static void createConnection(SQLConnectionMaticO connMaticO) {
-		
-		if(connection==null) {
-			MySqlConnection.connMaticO=connMaticO;
-			initConnection();
-		} 
+	public ResultSet query(PreparedQuery query){
+		if(!existConnection()) {
+			errMsg= Translations.getMsg(CONNECTION_CLOSED);
+			return null;
+		}
+		return read(Operation.QUERY, null, query.getSql(), query.getParameters(), this::disconnect, null);
 	}
 	
 	/**
-	 * <p>if any connection exists, it will be created</br></p>
+	 * <p>Execute a single MySql query with bind parameters and return a list of class objects represents the table. </br></p>
+	 * <p>Use {@link QueryMaticO#buildPrepared()} to get the query</br></p>
+	 * <p>If error occur, it returns an empty list and message errors can be queried from {@link #getErrMsg()}</br></p>
+	 * <p>Automatic Relation-Object-mapping with input class is possible only if <b>empty constructor is avaible</b> and <b>class is concrete</b></br></p>
 	 * 
-	 * <p>it call {@link #createConnection(SQLConnectionMaticO)}</br></p>
-	 * @param url ip address
-	 * @param port port of mysql server
-	 * @param user user name
-	 * @param psk password
+	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
+	 * @param c the class of expected result ( class of queried table )
+	 * @param query parameterized sql query to execute
+	 * 
+	 * @return {@link java.util.List List} &lt; c &gt;, if empty, check {@link #getErrMsg()}
 	 */
-	public static void createConnection(
-		String url, int port, 
-		String user, String psk
-	){
-		createConnection (
-			(SQLConnectionMaticO) new SQLConnectionMaticO()
-				.url(url)
-				.port(port)
-				.user(user)
-				.psk(psk)
-		);
+	public <T> List<T> queryList(Class<T> c, PreparedQuery query){
+		if(!existConnection()) {
+			errMsg= Translations.getMsg(CONNECTION_CLOSED);
+			return new LinkedList<T>();
+		}
+		return read(Operation.QUERY_LIST, null, query.getSql(), query.getParameters(), rs -> toList(c, rs), new LinkedList<T>());
 	}
 	
-	/** 
-	 * create the connection with connectionMaticO
-	 */
-	private static void initConnection() {
-		statement=null;
-		connection=connMaticO.connect();
-		String msg=testConnessione();
-		if(!msg.equals("")) {
-			connection=null;
-			throw new IllegalArgumentException(msg);
+	/**
+	 * <p>Execute a single MySql query with bind parameters and return an array of map. Every map rappresent a row of resultset</br></p>
+	 * <p>Use {@link QueryMaticO#buildPrepared()} to get the query. Map is structured as in {@link #queryMap(String)}</br></p>
+	 * <p>if an error occur, <code>null</code> value will be returned and message errors can be queried from {@link #getErrMsg()}</br></p>
+	 * 
+	 * @param query parameterized sql query to execute
+	 * @return a {@link java.util.Map Map} &lt; {@link java.lang.String String},{@link java.lang.Object Object} &gt;
+	 */ 
+	public Map<String,Object>[] queryMap(PreparedQuery query){
+		if(!existConnection()) {
+			errMsg= Translations.getMsg(CONNECTION_CLOSED);
+			return null;
 		}
+		return read(Operation.QUERY_MAP, null, query.getSql(), query.getParameters(), this::toMap, null);
 	}
 	
 	/**
+	 * <p>borrow a connection, execute a query and read its result set with reader. 
+	 * Result set is closed, statement is given back to cache of connection and connection to pool before return</br></p>
 	 * 
-	 * @return empty string if connection is active and work ( a db named {@link #TEST_ECHO} will be created and then destroyed )
+	 * @param <R> type of result
+	 * @param op kind of operation, for {@link QueryMetrics}
+	 * @param query builder of query, <code>null</code> if unknown
+	 * @param sql query to execute
+	 * @param params bind parameters, <code>null</code> to execute sql as plain statement
+	 * @param reader function that read result set
+	 * @param onError value returned if an error occur
+	 * @return result of reader, or onError
 	 */
-	private static String testConnessione(){
-		MySqlConnection m=new MySqlConnection();
-		
-		DBMaticO dbc=new SQLDBMaticO().DB(TEST_ECHO);
-		
-		Boolean f=InformationSchema.existsDB(TEST_ECHO);
-		if (f==null) return m.getErrMsg();
-		else if (f) {
-			if( ! m.exec(dbc.drop()).equals("")) 
-				return m.getErrMsg();
-			return "";
+	private <R> R read(Operation op, QueryMaticO query, String sql, List<Entry<String,Object>> params, Function<ResultSet,R> reader, R onError) {
+		if(!existConnection()) {
+			errMsg= Translations.getMsg(CONNECTION_CLOSED);
+			return onError;
 		}
-		
-		if( ! m.exec(dbc.create()).equals("")) 
-			return m.getErrMsg();
-		
-		if( ! m.exec(dbc.drop()).equals("")) 
-			return m.getErrMsg();
-		
-		return "";
+		PooledConnection pc=null;
+		R result=onError;
+		QueryEvent jfr=null;
+		long start=System.nanoTime();
+		try{
+			jfr=before(op, query, sql);
+			start=System.nanoTime();
+			pc=acquire(jfr);
+			Connection connection=pc.getConnection();
+			if (params==null) {
+				try(Statement st=connection.createStatement(); ResultSet rs=st.executeQuery(sql)){
+					result=reader.apply(rs);
+				}
+			} else {
+				PreparedStatement ps=pc.prepareStatement(sql);
+				try{
+					SQLClassParser.bind(ps, params);
+					try(ResultSet rs=ps.executeQuery()){
+						result=reader.apply(rs);
+					}
+				}finally{
+					pc.closeStatement(sql, ps);
+				}
+			}
+		}catch(SQLException s){
+			errMsg=buildSQLErrMessage(s);
+		}catch(IOException e){
+			errMsg=Translations.getMsg(BIND_ERROR, e.getMessage());
+		}catch(IllegalStateException e){
+			errMsg=e.getMessage();
+		}finally{
+			release(pc);
+			record(op, query, sql, start, rows(result), errMsg, jfr);
+		}//try-catch
+		return result;
 	}
 	
 	/**
-	 * @return true if connected
+	 * @param result result of a query
+	 * @return number of rows of result, -1 if unknown
 	 */
-	public static boolean existConnection(){
-		return connection!=null;
+	private static long rows(Object result) {
+		if (result instanceof List) return ((List<?>) result).size();
+		if (result instanceof Object[]) return ((Object[]) result).length;
+		if (result instanceof CachedRowSet) return ((CachedRowSet) result).size();
+		return -1;
 	}
 	
 	/**
-	 * @return the connected db
+	 * copy a result set into a disconnected {@link CachedRowSet}
+	 * 
+	 * @param rs result set to copy
+	 * @return the copy, <code>null</code> if an error occur
 	 */
-	public static String db() {
-		return (existConnection())?
-				connMaticO.getDB():
-				null; 
+	private ResultSet disconnect(ResultSet rs) {
+		try {
+			CachedRowSet crs=RowSetProvider.newFactory().createCachedRowSet();
+			crs.populate(rs);
+			errMsg="";
+			return crs;
+		} catch (SQLException s) {
+			errMsg=buildSQLErrMessage(s);
+			return null;
+		}
 	}
 	
-	/** 
-	 * reset della connessione per reimpostarne una nuova
+	/**
+	 * <p>Execute a single MySql query and return a lazy {@link Stream} of class objects represents the table.</br></p>
+	 * <p>Result set is forward-only and fetched row by row from server (see {@link #fetchSize(int)}), every row is mapped only when stream reach it, 
+	 * so memory used does not depend on number of rows.</br></p>
+	 * <p>The stream keep a connection borrowed from pool until it is closed or fully consumed: use it in a <code>try-with-resources</code> block.
+	 * While stream is open, no other statement can be executed on its connection (it matters if autocommit is off, because connection is bound to current thread)</br></p>
+	 * <p>If error occur, stream is empty or stops early and message errors can be queried from {@link #getErrMsg()}</br></p>
+	 * <p>Automatic Relation-Object-mapping with input class is possible only if <b>empty constructor is avaible</b> and <b>class is concrete</b></br></p>
+	 * 
+	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
+	 * @param c the class of expected result ( class of queried table )
+	 * @param query sql query to execute
+	 * 
+	 * @return {@link java.util.stream.Stream Stream} &lt; c &gt;
 	 */
-	public static void reset() {
-		connection=null;
-		statement=null;
+	public <T> Stream<T> queryStream(Class<T> c, String query){
+		return stream(c, query, null, null);
 	}
 	
 	/**
-	 * connection will be recreated
+	 * <p>Execute a single MySql query using {@link psykeco.querymatico.QueryMaticO #build QueryMaticO.build()} using {@link #queryStream(Class, String)} methods.</br></p>
+	 * <p>DB info of will be replaced with Connection information with {@link #db} if are not null</p>
+	 * 
+	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
+	 * @param c the class of expected result ( class of queried table )
+	 * @param query sql query to execute
+	 * 
+	 * @return {@link java.util.stream.Stream Stream} &lt; c &gt;, to close after use
 	 */
-	public static void reboot() {
-		if (connMaticO==null)
-			throw new IllegalStateException(Translations.getMsg(CONNECTION_MATICO_NOT_AVAIBLE, getTrueName(SQLConnectionMaticO.class)));
-		initConnection();
+	public <T> Stream<T> queryStream(Class<T> c, QueryMaticO query){
+		return stream(c, (db()==null)? query.copy().build() : query.copy().DB(db()).build(), null, query);
 	}
 	
 	/**
-	 * <p>commit all mysql suspended istructions, if connection have autocommit flag at <code>true</code> (see {@link psykeco.querymatico.ConnectionMaticO #autocommit(boolean) ConnectionMaticO.autocommit})</br></p>
+	 * <p>Execute a single MySql query with bind parameters and return a lazy {@link Stream} of class objects, as {@link #queryStream(Class, String)}.</br></p>
+	 * <p>Use {@link QueryMaticO#buildPrepared()} to get the query</br></p>
+	 * 
+	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
+	 * @param c the class of expected result ( class of queried table )
+	 * @param query parameterized sql query to execute
+	 * 
+	 * @return {@link java.util.stream.Stream Stream} &lt; c &gt;, to close after use
 	 */
-	public static void commit() {
-		if(!existConnection()) return;
-		try{
-			connection.commit();
-			statement=null;
-		}catch(SQLException s){}
+	public <T> Stream<T> queryStream(Class<T> c, PreparedQuery query){
+		return stream(c, query.getSql(), query.getParameters(), null);
 	}
 	
 	/**
+	 * <p>Return a {@link Flow.Publisher} of class objects represents the table, that push rows to its subscribers with backpressure.</br></p>
+	 * <p>Query is executed for every subscriber, when it request first rows: result set is read as {@link #queryStream(Class, String)}, 
+	 * with {@link #fetchSize(int)}, and only requested rows are read and mapped. Rows are mapped as {@link #queryList(Class, String)}</br></p>
+	 * <p>The connection is given back to pool when last row is sent, an error occur or subscription is cancelled.
+	 * Errors are sent to {@link Flow.Subscriber#onError(Throwable)} as {@link IllegalStateException} with the message of {@link #getErrMsg()}</br></p>
+	 * <p>Rows are read and sent on executor, if given, otherwise on the thread calling {@link Flow.Subscription#request(long)}.
+	 * Transactions are bound to a thread, so an executor can be used only if autocommit is on</br></p>
+	 * 
+	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
+	 * @param c the class of expected result ( class of queried table )
+	 * @param query sql query to execute
+	 * @param executor executor that read and send rows, <code>null</code> to use thread of requests
 	 * 
-	 * <p>discard every suspended istructions on statement , if connection have autocommit flag at <code>true</code> (see {@link psykeco.querymatico.ConnectionMaticO #autocommit(boolean) ConnectionMaticO.autocommit})</br></p>
+	 * @return {@link Flow.Publisher Publisher} &lt; c &gt;
 	 */
-	public static void rollback() {
-		if(!existConnection()) return;
-		try{
-			connection.rollback();
-			statement=null;
-		}catch(SQLException s){}
+	public <T> Flow.Publisher<T> queryPublisher(Class<T> c, String query, Executor executor){
+		return new RowPublisher<>(c, query, null, executor, null);
 	}
 	
+	/**
+	 * <p>Return a {@link Flow.Publisher} of rows of a query built with {@link psykeco.querymatico.QueryMaticO #build QueryMaticO.build()}, as {@link #queryPublisher(Class, String, Executor)}.</br></p>
+	 * <p>DB info of will be replaced with Connection information with {@link #db} if are not null</p>
+	 * 
+	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
+	 * @param c the class of expected result ( class of queried table )
+	 * @param query sql query to execute
+	 * @param executor executor that read and send rows, <code>null</code> to use thread of requests
+	 * 
+	 * @return {@link Flow.Publisher Publisher} &lt; c &gt;
+	 */
+	public <T> Flow.Publisher<T> queryPublisher(Class<T> c, QueryMaticO query, Executor executor){
+		return new RowPublisher<>(c, (db()==null)? query.copy().build() : query.copy().DB(db()).build(), null, executor, query);
+	}
 	
-		
 	/**
-	 * connection will be closed
+	 * <p>Return a {@link Flow.Publisher} of rows of a query with bind parameters, as {@link #queryPublisher(Class, String, Executor)}.</br></p>
+	 * <p>Use {@link QueryMaticO#buildPrepared()} to get the query</br></p>
+	 * 
+	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
+	 * @param c the class of expected result ( class of queried table )
+	 * @param query parameterized sql query to execute
+	 * @param executor executor that read and send rows, <code>null</code> to use thread of requests
+	 * 
+	 * @return {@link Flow.Publisher Publisher} &lt; c &gt;
 	 */
-	public static void close(){
-		if(!existConnection()) return;
-		try{
-			connection.close();
-		}catch(SQLException s){}
+	public <T> Flow.Publisher<T> queryPublisher(Class<T> c, PreparedQuery query, Executor executor){
+		return new RowPublisher<>(c, query.getSql(), query.getParameters(), executor, null);
+	}
+	
+	/**
+	 * <p>Walk rows of a select page by page, with keyset pagination: every page is read with {@link #queryList(Class, QueryMaticO)} 
+	 * from a copy of query with {@link SelectMaticO#limit(long) limit} pageSize and {@link SelectMaticO#seekAfter(Object) seekAfter} 
+	 * the value of column of order by in last row of previous page. Server never read skipped rows, as it would do with an offset</br></p>
+	 * <p>Column of {@link SelectMaticO#orderBy(String, boolean) order by} of query must be a field of input class and should be 
+	 * not null and unique, like a primary key. Query must not have an {@link SelectMaticO#offset(long) offset}. Pages are read only when requested, every iterator start again from first page</br></p>
+	 * <p>If an error occur, iteration stops and message errors can be queried from {@link #getErrMsg()}</br></p>
+	 * 
+	 * @param <T> the class of expected result ( class of queried table ), automatic selected through c parameter
+	 * @param c the class of expected result ( class of queried table )
+	 * @param query select to page, with an order by
+	 * @param pageSize max number of rows of every page
+	 * 
+	 * @return pages of rows, never empty
+	 * 
+	 * @throws IllegalArgumentException if query has not an order by or has an offset, its column is not a field of c or pageSize is not positive
+	 */
+	public <T> Iterable<List<T>> queryPages(Class<T> c, SelectMaticO query, int pageSize){
+		if (pageSize<1) throw new IllegalArgumentException(Translations.getMsg(PAGE_SIZE_NOT_VALID, ""+pageSize));
+		String column=query.getOrderBy();
+		if (column==null) throw new IllegalArgumentException(Translations.getMsg(SEEK_WITHOUT_ORDER));
+		if (query.getOffset()!=null) throw new IllegalArgumentException(Translations.getMsg(PAGE_WITH_OFFSET, ""+query.getOffset()));
+		
+		SQLClassMetadata<T> meta=SQLClassMetadata.of(c);
+		int field=0;
+		while (field<meta.size() && !meta.getColumn(field).equalsIgnoreCase(column)) field++;
+		if (field==meta.size()) throw new IllegalArgumentException(Translations.getMsg(PAGE_COLUMN_NOT_FIELD, column, getTrueName(c)));
+		
+		SelectMaticO template=query.copy().limit(pageSize).seekAfter(null).freeze();
+		FieldAccessor key=meta.getAccessor(field);
+		return () -> new PageIterator<>(c, template, pageSize, key);
+	}
+	
+	/**
+	 * borrow a connection and open a streaming result set on it
+	 * 
+	 * @param <T> the class of expected result
+	 * @param c the class of expected result
+	 * @param sql query to execute
+	 * @param params bind parameters, <code>null</code> to execute sql as plain statement
+	 * @param query builder of query, <code>null</code> if unknown
+	 * @return a stream that give back connection when closed or consumed, empty if an error occur
+	 */
+	private <T> Stream<T> stream(Class<T> c, String sql, List<Entry<String,Object>> params, QueryMaticO query) {
+		RowStream<T> rows=openRows(c, sql, params, query);
+		if (rows.getError()!=null) {
+			errMsg=rows.getError();
+			return Stream.empty();
+		}
+		errMsg="";
+		rows.reportErrors=true;
+		return StreamSupport.stream(rows, false).onClose(rows::close);
+	}
+	
+	/**
+	 * borrow a connection and open a forward-only result set on it, with {@link #fetchSize(int)}.
+	 * It never changes {@link #getErrMsg()}, so publishers can call it from their executor
+	 * 
+	 * @param <T> the class of expected result
+	 * @param c the class of expected result
+	 * @param sql query to execute
+	 * @param params bind parameters, <code>null</code> to execute sql as plain statement
+	 * @param query builder of query, <code>null</code> if unknown
+	 * @return rows that give back connection when closed or consumed, closed rows with {@link RowStream#getError()} if an error occur
+	 */
+	private <T> RowStream<T> openRows(Class<T> c, String sql, List<Entry<String,Object>> params, QueryMaticO query) {
+		if(!existConnection()) return new RowStream<>(Translations.getMsg(CONNECTION_CLOSED));
+		String error;
+		PooledConnection pc=null;
+		Statement st=null;
+		ResultSet rs=null;
+		QueryEvent jfr=null;
+		long start=System.nanoTime();
+		try {
+			jfr=before(Operation.STREAM, query, sql);
+			start=System.nanoTime();
+			pc=acquire(jfr);
+			Connection connection=pc.getConnection();
+			if (params==null) {
+				st=connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+				st.setFetchSize(fetchSize);
+				rs=st.executeQuery(sql);
+			} else {
+				PreparedStatement ps=connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+				st=ps;
+				ps.setFetchSize(fetchSize);
+				SQLClassParser.bind(ps, params);
+				rs=ps.executeQuery();
+			}
+			return new RowStream<>(pc, st, rs, objectMapper(c, rs), query, sql, start, jfr);
+		} catch (SQLException s) {
+			error=buildSQLErrMessage(s);
+		} catch (IOException e) {
+			error=Translations.getMsg(BIND_ERROR, e.getMessage());
+		} catch (IllegalStateException e) {
+			error=e.getMessage();
+		} catch (ReflectiveOperationException e) {
+			error=Translations.getMsg(CONSTRUCTOR_ERROR);
+		}
+		closeQuietly(rs, st);
+		release(pc);
+		record(Operation.STREAM, query, sql, start, -1, error, jfr);
+		return new RowStream<>(error);
+	}
+	
+	/**
+	 * map every row of a result set into an instance of input class
+	 * 
+	 * @param <T> the class of expected result
+	 * @param c the class of expected result
+	 * @param rs result set to read, if <code>null</code> an empty list is returned
+	 * @return {@link java.util.List List} &lt; c &gt;, if empty, check {@link #getErrMsg()}
+	 */
+	private <T> List<T> toList(Class<T> c, ResultSet rs){
+		LinkedList<T> ris=new LinkedList<T>();
+		if(rs==null) return ris;
+		HydrationEvent jfr=HydrationEvent.start();
+		try {
+			RowMapper<T> mapper=objectMapper(c, rs);
+			while(rs.next()) ris.add(mapper.map(rs));
+			errMsg="";
+		}catch (SQLException s){
+			errMsg=buildSQLErrMessage(s);
+		} catch (IllegalAccessException e) {
+			errMsg=Translations.getMsg(NOT_EMPTY_CONSTRUCTOR);
+		} catch (InstantiationException e) {
+			errMsg=Translations.getMsg(NOT_EMPTY_ACCESSIBLE_CONSTRUCTOR);
+		} catch (Exception e) {
+			errMsg=Translations.getMsg(CONSTRUCTOR_ERROR);
+		} 
+		if (jfr!=null) {
+			jfr.end();
+			if (jfr.shouldCommit()) {
+				jfr.type=c;
+				jfr.rows=ris.size();
+				jfr.commit();
+			}
+		}
+		return ris;
+	}
+	
+	/**
+	 * map every row of a result set into a map column-value. 
+	 * Rows are read forward only, result set is never scrolled
+	 * 
+	 * @param rs result set to read, if <code>null</code>, <code>null</code> is returned
+	 * @return a {@link java.util.Map Map} &lt; {@link java.lang.String String},{@link java.lang.Object Object} &gt;, <code>null</code> if there are no rows
+	 */
+	@SuppressWarnings("unchecked")
+	private Map<String,Object>[] toMap(ResultSet rs){
+		if(rs==null) return null;
+		try {
+			ResultSetMetaData rsmeta=rs.getMetaData();
+			int count=rsmeta.getColumnCount();
+			String[] labels=new String[count];
+			for(int i=0;i<count;i++) labels[i]=rsmeta.getColumnLabel(i+1);
+			
+			List<Map<String,Object>> rows=new ArrayList<>();
+			while(rs.next()) {
+				Map<String,Object> row=new HashMap<String,Object>();
+				for(int i=0;i<count;i++) {
+					row.put(labels[i],rs.getObject(i+1));
+				}
+				rows.add(row);
+			}
+			errMsg="";
+			return rows.isEmpty()? null : rows.toArray(new HashMap[rows.size()]);
+		}catch (SQLException s){
+			errMsg=buildSQLErrMessage(s);
+		} 
+		return null;
+	}
+	
+	/**
+	 * map the current row of a result set into an object
+	 * @param <R> type of object
+	 */
+	@FunctionalInterface
+	private interface RowMapper<R> {
+		R map(ResultSet rs) throws SQLException, IOException, ReflectiveOperationException;
+	}
+	
+	/**
+	 * prepare mapping of rows of a result set into instances of input class: 
+	 * a {@link SQLResultPlan} bind once every field of cached {@link SQLClassMetadata} to index and typed getter of its column
+	 * 
+	 * @param <T> the class of expected result
+	 * @param c the class of expected result
+	 * @param rs result set to read
+	 * @return mapper of current row
+	 * @throws SQLException if metadata of result set are not available
+	 * @throws NoSuchMethodException if class has not an empty constructor
+	 */
+	private static <T> RowMapper<T> objectMapper(Class<T> c, ResultSet rs) throws SQLException, NoSuchMethodException {
+		SQLClassMetadata<T> meta=SQLClassMetadata.of(c);
+		if (!meta.hasEmptyConstructor()) throw new NoSuchMethodException(c.getName()+".<init>()");
+		
+		return SQLResultPlan.of(meta, rs)::map;
+	}
+	
+	/**
+	 * close result set and statement, ignoring errors
+	 * @param rs result set, can be <code>null</code>
+	 * @param st statement, can be <code>null</code>
+	 */
+	private static void closeQuietly(ResultSet rs, Statement st) {
+		try { if (rs!=null) rs.close(); } catch (SQLException s) {}
+		try { if (st!=null) st.close(); } catch (SQLException s) {}
+	}
+	
+	/**
+	 * rows of an open result set, mapped one at a time. 
+	 * Resources are closed and connection is given back when last row is read, an error occur or {@link #close()} is called
+	 * @param <T> the class of rows
+	 */
+	private class RowStream<T> extends Spliterators.AbstractSpliterator<T> {
+		
+		private final PooledConnection pc;
+		private final Statement st;
+		private final ResultSet rs;
+		private final RowMapper<T> mapper;
+		/** true if connection is bound to a transaction of the thread that opened the stream */
+		private final boolean pinned;
+		private boolean closed;
+		/** message of error that stopped rows */
+		private volatile String error;
+		/** true if errors are also copied into {@link MySqlConnection#getErrMsg()}, only when rows are read by thread of connection */
+		private boolean reportErrors;
+		/** builder, executed query and its start time in nanoseconds, for {@link QueryMetrics} and {@link QueryListener}s */
+		private final QueryMaticO query;
+		private final String sql;
+		private final long start;
+		/** event of Java Flight Recorder, <code>null</code> if disabled */
+		private final QueryEvent jfr;
+		/** number of read rows */
+		private long count;
+		
+		RowStream(PooledConnection pc, Statement st, ResultSet rs, RowMapper<T> mapper, QueryMaticO query, String sql, long start, QueryEvent jfr) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.pc=pc;
+			this.st=st;
+			this.rs=rs;
+			this.mapper=mapper;
+			this.pinned= transaction.get()==pc;
+			this.query=query;
+			this.sql=sql;
+			this.start=start;
+			this.jfr=jfr;
+		}
+		
+		/**
+		 * create closed rows of a query that failed
+		 * @param error error message
+		 */
+		RowStream(String error) {
+			this(null, null, null, null, null, null, 0, null);
+			this.closed=true;
+			this.error=error;
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (closed) return false;
+			T row;
+			try {
+				if (!rs.next()) {
+					close();
+					return false;
+				}
+				row=mapper.map(rs);
+				count++;
+			} catch (SQLException s) {
+				return fail(buildSQLErrMessage(s));
+			} catch (IllegalAccessException e) {
+				return fail(Translations.getMsg(NOT_EMPTY_CONSTRUCTOR));
+			} catch (InstantiationException e) {
+				return fail(Translations.getMsg(NOT_EMPTY_ACCESSIBLE_CONSTRUCTOR));
+			} catch (Exception e) {
+				return fail(Translations.getMsg(CONSTRUCTOR_ERROR));
+			}
+			action.accept(row);
+			return true;
+		}
+		
+		/**
+		 * record an error and close
+		 * @param msg error message
+		 * @return always <code>false</code>
+		 */
+		private boolean fail(String msg) {
+			error=msg;
+			if (reportErrors) errMsg=msg;
+			close();
+			return false;
+		}
+		
+		/**
+		 * @return message of error that stopped rows, <code>null</code> if there was no error
+		 */
+		String getError() {
+			return error;
+		}
+		
+		/**
+		 * close result set and statement and give back connection, only the first time
+		 */
+		synchronized void close() {
+			if (closed) return;
+			closed=true;
+			closeQuietly(rs, st);
+			if (!pinned) pc.close();
+			record(Operation.STREAM, query, sql, start, count, error, jfr);
+		}
+	}
+	
+	/**
+	 * pages of a select, read with keyset pagination when requested
+	 * @param <T> the class of rows
+	 */
+	private class PageIterator<T> implements Iterator<List<T>> {
+		
+		private final Class<T> c;
+		/** frozen select with limit, copied for every page */
+		private final SelectMaticO template;
+		private final int pageSize;
+		/** accessor of field of column of order by */
+		private final FieldAccessor key;
+		/** value of column of order by in last row of previous page, <code>null</code> before first page */
+		private Object last;
+		/** next page, <code>null</code> if not read yet */
+		private List<T> next;
+		/** true after last page */
+		private boolean done;
+		
+		PageIterator(Class<T> c, SelectMaticO template, int pageSize, FieldAccessor key) {
+			this.c=c;
+			this.template=template;
+			this.pageSize=pageSize;
+			this.key=key;
+		}
+		
+		@Override
+		public boolean hasNext() {
+			if (next!=null) return true;
+			if (done) return false;
+			
+			List<T> page=queryList(c, template.copy().seekAfter(last));
+			if (!errMsg.equals("") || page.isEmpty()) {
+				done=true;
+				return false;
+			}
+			if (page.size()<pageSize) done=true;
+			else {
+				try {
+					last=key.get(page.get(page.size()-1));
+				} catch (IllegalAccessException e) {
+					errMsg=e.getMessage();
+					last=null;
+				}
+				// a null key can't be used as seek, it would start again from first page
+				done= last==null;
+			}
+			next=page;
+			return true;
+		}
+		
+		@Override
+		public List<T> next() {
+			if (!hasNext()) throw new NoSuchElementException();
+			List<T> page=next;
+			next=null;
+			return page;
+		}
+	}
+	
+	/**
+	 * publisher of rows of a query, executed again for every subscriber
+	 * @param <T> the class of rows
+	 */
+	private class RowPublisher<T> implements Flow.Publisher<T> {
+		
+		private final Class<T> c;
+		private final String sql;
+		private final List<Entry<String,Object>> params;
+		private final Executor executor;
+		/** builder of query, <code>null</code> if unknown */
+		private final QueryMaticO query;
+		
+		RowPublisher(Class<T> c, String sql, List<Entry<String,Object>> params, Executor executor, QueryMaticO query) {
+			this.c=c;
+			this.sql=sql;
+			this.params=params;
+			this.executor=executor;
+			this.query=query;
+		}
+		
+		@Override
+		public void subscribe(Flow.Subscriber<? super T> subscriber) {
+			subscriber.onSubscribe(new RowSubscription<>(this, subscriber));
+		}
+	}
+	
+	/**
+	 * subscription of a {@link RowPublisher}: rows are read only when requested, 
+	 * by a single drain loop at a time ( on executor of publisher or on thread of requests )
+	 * @param <T> the class of rows
+	 */
+	private class RowSubscription<T> implements Flow.Subscription {
+		
+		private final RowPublisher<T> publisher;
+		private final Flow.Subscriber<? super T> subscriber;
+		/** rows requested and not yet sent */
+		private final AtomicLong requested=new AtomicLong();
+		/** number of signals to drain, drain loop is running if not 0 */
+		private final AtomicInteger wip=new AtomicInteger();
+		private volatile boolean cancelled;
+		/** error of a not positive request */
+		private volatile Throwable badRequest;
+		/** open rows, <code>null</code> until first request. Used only by drain loop */
+		private RowStream<T> rows;
+		/** true after last signal to subscriber. Used only by drain loop */
+		private boolean done;
+		
+		RowSubscription(RowPublisher<T> publisher, Flow.Subscriber<? super T> subscriber) {
+			this.publisher=publisher;
+			this.subscriber=subscriber;
+		}
+		
+		@Override
+		public void request(long n) {
+			if (n<=0) badRequest=new IllegalArgumentException("request(" + n + ")");
+			else requested.getAndAccumulate(n, (r,x) -> r+x<0 ? Long.MAX_VALUE : r+x);
+			signal();
+		}
+		
+		@Override
+		public void cancel() {
+			cancelled=true;
+			signal();
+		}
+		
+		/**
+		 * start drain loop, if it is not running
+		 */
+		private void signal() {
+			if (wip.getAndIncrement()!=0) return;
+			if (publisher.executor==null) {
+				drain();
+				return;
+			}
+			try {
+				publisher.executor.execute(this::drain);
+			} catch (RejectedExecutionException e) {
+				wip.set(0);
+				cancelled=true;
+				subscriber.onError(e);
+			}
+		}
+		
+		/**
+		 * send requested rows, until no more signals are pending. 
+		 * If subscriber throw an exception, subscription is cancelled
+		 */
+		private void drain() {
+			int missed=1;
+			do {
+				try {
+					if (!done) step();
+				} catch (RuntimeException e) {
+					finish();
+				}
+				missed=wip.addAndGet(-missed);
+			} while (missed!=0);
+		}
+		
+		/**
+		 * handle cancel and errors, open rows at first request and send requested ones
+		 */
+		private void step() {
+			if (cancelled) {
+				finish();
+				return;
+			}
+			if (badRequest!=null) {
+				finish();
+				subscriber.onError(badRequest);
+				return;
+			}
+			long r=requested.get();
+			if (r==0) return;
+			if (rows==null) {
+				if (publisher.executor!=null && existConnection() && !pool.getConnectionMaticO().getAutocommit()) {
+					finish();
+					subscriber.onError(new IllegalStateException(Translations.getMsg(ASYNC_NEED_AUTOCOMMIT)));
+					return;
+				}
+				rows=openRows(publisher.c, publisher.sql, publisher.params, publisher.query);
+			}
+			long sent=0;
+			while (sent<r && !cancelled) {
+				if (!rows.tryAdvance(subscriber::onNext)) {
+					done=true;
+					if (rows.getError()!=null) subscriber.onError(new IllegalStateException(rows.getError()));
+					else subscriber.onComplete();
+					return;
+				}
+				sent++;
+			}
+			if (cancelled) finish();
+			else requested.addAndGet(-sent);
+		}
+		
+		/**
+		 * close rows and stop sending signals
+		 */
+		private void finish() {
+			done=true;
+			if (rows!=null) rows.close();
+		}
+	}
+	
+	/**
+	 * <p>set fetch size of streaming result sets of {@link #queryStream(Class, String)} and {@link #queryPublisher(Class, String, Executor)}, 
+	 * default is {@link #STREAM_FETCH_SIZE} (rows sent one at a time).</br></p>
+	 * <p>A positive size is a hint to driver to read rows from server in chunks of that size 
+	 * (for MySQL Connector/J it needs <code>useCursorFetch=true</code> in connection properties)</br></p>
+	 * 
+	 * @param fetchSize rows read together from server
+	 * @return MySqlConnection updated reference
+	 */
+	public MySqlConnection fetchSize(int fetchSize) {
+		this.fetchSize=fetchSize;
+		return this;
+	}
+	
+	/**
+	 * <p>set number of commands added with {@link #addBatch(QueryMaticO)} that are sent together to the server.</br></p>
+	 * <p>When pending commands reach this size, they are executed automatically</br></p>
+	 * 
+	 * @param batchSize number of commands for every batch, at least 1
+	 * @return MySqlConnection updated reference
+	 */
+	public MySqlConnection batchSize(int batchSize) {
+		this.batchSize=Math.max(1, batchSize);
+		return this;
+	}
+	
+	/**
+	 * <p>add a command (insert, update or delete) to the current batch. Command is built with {@link QueryMaticO#buildPrepared()}.</br></p>
+	 * <p>DB info of will be replaced with Connection information with {@link #db} if are not null</p>
+	 * <p>Commands are sent to server with {@link #executeBatch()} or automatically when {@link #batchSize(int)} commands are pending</br></p>
+	 * 
+	 * @param command sql command to add
+	 * 
+	 * @return empty string if no error occurs. Error message instead
+	 */
+	public String addBatch(QueryMaticO command) {
+		QueryMaticO q=(db()==null)? command.copy() : command.copy().DB(db());
+		batch.add(q.buildPrepared());
+		batchQueries.add(q);
+		batchTables.add(new SimpleEntry<>(q.getDB(), q.getTable()));
+		if (batch.size() >= batchSize) return flushBatch();
+		return errMsg="";
+	}
+	
+	/**
+	 * <p>send to server every pending command of batch. 
+	 * Consecutive commands with same statement text share a single {@link PreparedStatement} batch</br></p>
+	 * <p>If an error occur, message errors can be queried from {@link #getErrMsg()} and the commands not executed are discarded</br></p>
+	 * <p>If no connection through {@link #createConnection(String,int,String,String)} or {@link #createConnection(SQLConnectionMaticO)} are established, methods return immediately</br></p>
+	 * 
+	 * @return update count of every command sent since last call, in order of {@link #addBatch(QueryMaticO)}
+	 */
+	public int[] executeBatch() {
+		flushBatch();
+		int[] counts=new int[batchCounts.size()];
+		int i=0;
+		for (int count : batchCounts) counts[i++]=count;
+		batchCounts.clear();
+		return counts;
+	}
+	
+	/**
+	 * <p>execute a list of commands (insert, update or delete) as JDBC batches of {@link #batchSize(int)} commands.</br></p>
+	 * <p>It call {@link #addBatch(QueryMaticO)} for every command and then {@link #executeBatch()}</br></p>
+	 * 
+	 * @param commands sql commands to execute
+	 * @return update count of every command, if an error occur, message errors can be queried from {@link #getErrMsg()}
+	 */
+	public int[] exec(List<? extends QueryMaticO> commands) {
+		String err="";
+		for (QueryMaticO command : commands) {
+			String msg=addBatch(command);
+			if (err.equals("")) err=msg;
+		}
+		int[] counts=executeBatch();
+		if (errMsg.equals("")) errMsg=err;
+		return counts;
+	}
+	
+	/**
+	 * send pending commands to server
+	 * @return empty string if no error occurs. Error message instead
+	 */
+	private String flushBatch() {
+		if (batch.isEmpty()) return errMsg="";
+		if (!existConnection()) {
+			batch.clear();
+			batchQueries.clear();
+			batchTables.clear();
+			return errMsg= Translations.getMsg(CONNECTION_CLOSED);
+		}
+		
+		int from=0;
+		PooledConnection pc=null;
+		String pending=null;
+		QueryMaticO query=null;
+		QueryEvent jfr=null;
+		long start=0;
+		try {
+			while (from < batch.size()) {
+				String sql=pending=batch.get(from).getSql();
+				query=batchQueries.get(from);
+				jfr=null;
+				start=System.nanoTime();
+				jfr=before(Operation.BATCH, query, sql);
+				start=System.nanoTime();
+				if (pc==null) pc=acquire(jfr);
+				int to=from;
+				PreparedStatement ps=pc.prepareStatement(sql);
+				try {
+					while (to < batch.size() && batch.get(to).getSql().equals(sql)) {
+						SQLClassParser.bind(ps, batch.get(to).getParameters());
+						ps.addBatch();
+						to++;
+					}
+					long rows=0;
+					for (int count : ps.executeBatch()) {
+						batchCounts.add(count);
+						if (count>0) rows+=count;
+					}
+					record(Operation.BATCH, query, sql, start, rows, null, jfr);
+					pending=null;
+				} finally {
+					pc.closeStatement(sql, ps);
+				}
+				from=to;
+			}
+			errMsg="";
+		} catch (BatchUpdateException b) {
+			for (int count : b.getUpdateCounts()) batchCounts.add(count);
+			errMsg=buildSQLErrMessage(b);
+		} catch (SQLException s) {
+			errMsg=buildSQLErrMessage(s);
+		} catch (IOException e) {
+			errMsg=Translations.getMsg(BIND_ERROR, e.getMessage());
+		} catch (IllegalStateException e) {
+			errMsg=e.getMessage();
+		} finally {
+			release(pc);
+			if (pending!=null) record(Operation.BATCH, query, pending, start, -1, errMsg, jfr);
+			batch.clear();
+			batchQueries.clear();
+			QueryCache qc=cache;
+			if (qc!=null) for (Entry<String,String> table : batchTables) qc.invalidate(table.getKey(), table.getValue());
+			batchTables.clear();
+		}
+		return errMsg;
+	}
+	
+	public String getErrMsg() {
+		return errMsg;
+	}
+	
+	/**
+	 * @return number of rows changed by last command executed with {@link #exec(QueryMaticO)}, {@link #exec(String)} or {@link #exec(PreparedQuery)}, 
+	 * -1 if it failed or it was not an update
+	 */
+	public int getUpdateCount() {
+		return updateCount;
+	}
+	
+	/**
+	 * <p>borrow a connection from pool for a single operation.</br></p>
+	 * <p>If autocommit is off, connection is bound to current thread and returned by every next call until {@link #commit()} or {@link #rollback()}</br></p>
+	 * 
+	 * @param jfr event of operation, to record time spent waiting connection. <code>null</code> if disabled
+	 * @return a connection, to give back with {@link #release(PooledConnection)}
+	 * 
+	 * @throws IllegalStateException if pool is closed or no connection is available
+	 */
+	private static PooledConnection acquire(QueryEvent jfr) {
+		PooledConnection pc=transaction.get();
+		if (pc!=null) return pc;
+		SQLConnectionPool p=pool;
+		if (p==null) throw new IllegalStateException(Translations.getMsg(CONNECTION_CLOSED));
+		QueryMetrics m=metrics;
+		long start=System.nanoTime();
+		pc=p.borrow();
+		if (m!=null || jfr!=null) {
+			long wait=System.nanoTime()-start;
+			if (m!=null) m.connectionWait(wait);
+			if (jfr!=null) jfr.connectionWait=wait;
+		}
+		if (!p.getConnectionMaticO().getAutocommit()) transaction.set(pc);
+		return pc;
+	}
+	
+	/**
+	 * give back a connection borrowed with {@link #acquire(QueryEvent)}, if it is not bound to a transaction of current thread
+	 * @param pc the connection, <code>null</code> is ignored
+	 */
+	private static void release(PooledConnection pc) {
+		if (pc!=null && transaction.get()!=pc) pc.close();
+	}
+	
+	// STATIC METHODS
+	
+	/**
+	 * <p>if any connection exists, it will be created, with a {@link SQLConnectionPool} of default settings</br></p>
+	 * @param connMaticO connection builder
+	 */
+	public static void createConnection(SQLConnectionMaticO connMaticO) {
+		if(!existConnection()) createConnection(new SQLConnectionPool(connMaticO));
+	}
+	
+	/**
+	 * <p>if any connection exists, input pool will be started and used for every operation</br></p>
+	 * @param pool pool of connections, not started
+	 */
+	public static synchronized void createConnection(SQLConnectionPool pool) {
+		if(!existConnection()) {
+			MySqlConnection.pool=pool;
+			initConnection();
+		}
+	}
+	
+	/**
+	 * <p>if any connection exists, it will be created</br></p>
+	 * 
+	 * <p>it call {@link #createConnection(SQLConnectionMaticO)}</br></p>
+	 * @param url ip address
+	 * @param port port of mysql server
+	 * @param user user name
+	 * @param psk password
+	 */
+	public static void createConnection(
+		String url, int port, 
+		String user, String psk
+	){
+		createConnection (
+			(SQLConnectionMaticO) new SQLConnectionMaticO()
+				.url(url)
+				.port(port)
+				.user(user)
+				.psk(psk)
+		);
+	}
+	
+	/** 
+	 * start the pool and test it
+	 */
+	private static void initConnection() {
+		transaction.remove();
+		String msg;
+		try {
+			pool.start();
+			msg=testConnessione();
+		} catch (IllegalStateException e) {
+			msg=e.getMessage();
+		}
+		if(!msg.equals("")) {
+			pool.close();
+			throw new IllegalArgumentException(msg);
+		}
+	}
+	
+	/**
+	 * borrow a connection and check it with validation of pool ( {@link SQLConnectionPool.Validation#IS_VALID} if pool has not validation ).
+	 * No statement is written on server
+	 * @return empty string if connection is active and work
+	 */
+	private static String testConnessione(){
+		SQLConnectionPool.Validation v=pool.getValidation()==SQLConnectionPool.Validation.NONE ?
+				SQLConnectionPool.Validation.IS_VALID : pool.getValidation();
+		try (PooledConnection pc=pool.borrow()) {
+			if (!v.validate(pc.getConnection(), SQLConnectionPool.DEFAULT_VALIDATION_TIMEOUT)) 
+				return Translations.getMsg(CONNECTION_NOT_VALID, v.name());
+		}
+		return "";
+	}
+	
+	/**
+	 * @return true if connected
+	 */
+	public static boolean existConnection(){
+		SQLConnectionPool p=pool;
+		return p!=null && !p.isClosed();
+	}
+	
+	/**
+	 * @return the connected db
+	 */
+	public static String db() {
+		SQLConnectionPool p=pool;
+		return (p!=null && !p.isClosed())?
+				p.getConnectionMaticO().getDB():
+				null; 
+	}
+	
+	/**
+	 * <p>set cache of query results of {@link #queryList(Class, QueryMaticO)} and {@link #queryMap(QueryMaticO)}, <code>null</code> to disable it (default).</br></p>
+	 * <p>Results are not cached while current thread has an open transaction (autocommit off), 
+	 * and the cache is cleared at every {@link #commit()} and {@link #rollback()}</br></p>
+	 * @param cache the cache
+	 */
+	public static void cache(QueryCache cache) {
+		MySqlConnection.cache=cache;
+	}
+	
+	/**
+	 * @return cache of query results, <code>null</code> if disabled
+	 */
+	public static QueryCache getCache() {
+		return cache;
+	}
+	
+	/**
+	 * <p>set receiver of measures of operations: time, rows and errors of every command and query, 
+	 * and time spent waiting connections from pool. <code>null</code> disable measures (default)</br></p>
+	 * <p>Use a {@link QueryMetricsRegistry} to keep them in memory and read them through JMX</br></p>
+	 * @param metrics receiver of measures
+	 */
+	public static void metrics(QueryMetrics metrics) {
+		MySqlConnection.metrics=metrics;
+	}
+	
+	/**
+	 * @return receiver of measures of operations, <code>null</code> if disabled
+	 */
+	public static QueryMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * <p>set log of operations slower than its threshold, <code>null</code> to disable it (default)</br></p>
+	 * @param slowQueryLog log of slow operations
+	 */
+	public static void slowQueryLog(SlowQueryLog slowQueryLog) {
+		MySqlConnection.slowQueryLog=slowQueryLog;
+	}
+	
+	/**
+	 * @return log of slow operations, <code>null</code> if disabled
+	 */
+	public static SlowQueryLog getSlowQueryLog() {
+		return slowQueryLog;
+	}
+	
+	/**
+	 * <p>register a listener of every operation. A listener registered twice is notified twice</br></p>
+	 * @param listener the listener
+	 */
+	public static synchronized void addListener(QueryListener listener) {
+		if (listener==null) return;
+		QueryListener[] ls=Arrays.copyOf(listeners, listeners.length+1);
+		ls[ls.length-1]=listener;
+		listeners=ls;
+	}
+	
+	/**
+	 * <p>remove a listener registered with {@link #addListener(QueryListener)}, once</br></p>
+	 * @param listener the listener
+	 * @return <code>true</code> if listener was registered
+	 */
+	public static synchronized boolean removeListener(QueryListener listener) {
+		List<QueryListener> ls=new ArrayList<>(Arrays.asList(listeners));
+		if (!ls.remove(listener)) return false;
+		listeners=ls.toArray(new QueryListener[0]);
+		return true;
+	}
+	
+	/**
+	 * @return registered listeners, in order of registration
+	 */
+	public static List<QueryListener> getListeners() {
+		return Arrays.asList(listeners.clone());
+	}
+	
+	/**
+	 * notify listeners that an operation is going to be executed and start its {@link QueryEvent}
+	 * @param op kind of operation
+	 * @param query builder of statement, <code>null</code> if unknown
+	 * @param sql statement to execute
+	 * @return started event, <code>null</code> if no recording has enabled it
+	 * 
+	 * @throws QueryRejectedException if a listener rejects the operation, next listeners are not notified
+	 */
+	private static QueryEvent before(Operation op, QueryMaticO query, String sql) {
+		QueryListener[] ls=listeners;
+		for (int i=0; i<ls.length; i++) {
+			try {
+				ls[i].beforeExecute(op, query, sql);
+			} catch (QueryRejectedException e) {
+				if (e.getMessage()==null || e.getMessage().equals("")) 
+					throw new QueryRejectedException(Translations.getMsg(QUERY_REJECTED, getTrueName(ls[i].getClass())));
+				throw e;
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, e.getMessage(), e);
+			}
+		}
+		return QueryEvent.start();
+	}
+	
+	/**
+	 * send measure of an operation to {@link #metrics(QueryMetrics)}, {@link #slowQueryLog(SlowQueryLog)}, listeners and Java Flight Recorder, if set
+	 * @param op kind of operation
+	 * @param query builder of statement, <code>null</code> if unknown
+	 * @param sql executed statement
+	 * @param start start time, from {@link System#nanoTime()}
+	 * @param rows rows read or changed, -1 if unknown
+	 * @param errMsg error message, <code>null</code> or empty if operation succeeded
+	 * @param jfr event of operation, <code>null</code> if disabled
+	 */
+	private static void record(Operation op, QueryMaticO query, String sql, long start, long rows, String errMsg, QueryEvent jfr) {
+		boolean error=errMsg!=null && !errMsg.equals("");
+		long nanos=System.nanoTime()-start;
+		if (jfr!=null) jfr.end();
+		boolean commit= jfr!=null && jfr.shouldCommit();
+		
+		QueryMetrics m=metrics;
+		SlowQueryLog sl=slowQueryLog;
+		QueryListener[] ls=listeners;
+		boolean slow= sl!=null && sl.isSlow(nanos);
+		// statement is parsed once, only if someone needs its fingerprint
+		SQLFingerprint fp= (commit || m!=null || slow) ? SQLFingerprint.of(sql) : null;
+		
+		if (commit) {
+			jfr.operation=op.name();
+			jfr.fingerprint=fp.getFingerprint();
+			jfr.builder= query==null ? "" : getTrueName(query.getClass());
+			jfr.db=fp.getDB();
+			jfr.table=fp.getTable();
+			jfr.rows=rows;
+			jfr.error= error ? errMsg : null;
+			jfr.commit();
+		}
+		
+		if (m!=null) m.operation(op, sql, fp, nanos, rows, error);
+		if (slow) sl.record(op, query==null ? null : query.getClass(), fp, nanos, rows, error);
+		for (int i=0; i<ls.length; i++) {
+			try {
+				if (error) ls[i].onError(op, query, sql, nanos, errMsg);
+				else ls[i].afterExecute(op, query, sql, nanos, rows);
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, e.getMessage(), e);
+			}
+		}
+	}
+	
+	/**
+	 * @param query the query
+	 * @return cache to use for query, <code>null</code> if it is disabled, query is not a select or a transaction is open
+	 */
+	private static QueryCache cacheFor(QueryMaticO query) {
+		QueryCache qc=cache;
+		if (qc==null || !(query instanceof SelectMaticO) || transaction.get()!=null) return null;
+		return qc;
+	}
+	
+	/**
+	 * @return the pool in use, <code>null</code> if no connection was created
+	 */
+	public static SQLConnectionPool getPool() {
+		return pool;
+	}
+	
+	/** 
+	 * reset della connessione per reimpostarne una nuova
+	 */
+	public static synchronized void reset() {
+		if (pool!=null) pool.close();
+		transaction.remove();
+	}
+	
+	/**
+	 * connection will be recreated, with a new pool of same settings
+	 */
+	public static synchronized void reboot() {
+		if (pool==null)
+			throw new IllegalStateException(Translations.getMsg(CONNECTION_MATICO_NOT_AVAIBLE, getTrueName(SQLConnectionMaticO.class)));
+		SQLConnectionPool old=pool;
+		pool=old.copy();
+		old.close();
+		initConnection();
+	}
+	
+	/**
+	 * <p>commit all mysql suspended istructions of current thread, if connection have autocommit flag at <code>false</code> (see {@link psykeco.querymatico.ConnectionMaticO #autocommit(boolean) ConnectionMaticO.autocommit})</br></p>
+	 * <p>the connection bound to current thread is given back to pool</br></p>
+	 */
+	public static void commit() {
+		PooledConnection pc=transaction.get();
+		if(pc==null) return;
+		try{
+			pc.getConnection().commit();
+		}catch(SQLException s){
+		}finally{
+			transaction.remove();
+			pc.close();
+			QueryCache qc=cache;
+			if (qc!=null) qc.clear();
+		}
+	}
+	
+	/**
+	 * 
+	 * <p>discard every suspended istructions of current thread, if connection have autocommit flag at <code>false</code> (see {@link psykeco.querymatico.ConnectionMaticO #autocommit(boolean) ConnectionMaticO.autocommit})</br></p>
+	 * <p>the connection bound to current thread is given back to pool</br></p>
+	 */
+	public static void rollback() {
+		PooledConnection pc=transaction.get();
+		if(pc==null) return;
+		try{
+			pc.getConnection().rollback();
+		}catch(SQLException s){
+		}finally{
+			transaction.remove();
+			pc.close();
+			QueryCache qc=cache;
+			if (qc!=null) qc.clear();
+		}
+	}
+	
+	
+		
+	/**
+	 * connection will be closed
+	 */
+	public static void close(){
+		if(!existConnection()) return;
+		pool.close();
 	}
 	
 	/**
@@ -0,0 +1,186 @@
+package psykeco.querymatico.sql.runners;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * <p>A {@link Connection} owned by a {@link SQLConnectionPool}.</br></p>
+ * <p>It is obtained with {@link SQLConnectionPool#borrow()} and must be given back with {@link #close()}
+ * (or {@link SQLConnectionPool#release(PooledConnection)}), so it can be used in a <code>try-with-resources</code> block</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class PooledConnection implements AutoCloseable {
+
+	/** pool that own this connection */
+	private final SQLConnectionPool pool;
+
+	/** the physical connection */
+	private final Connection connection;
+
+	/** cached statements, <code>null</code> if cache is disabled */
+	private final StatementCache statements;
+
+	/** creation time, in milliseconds */
+	private final long createdAt;
+
+	/** last time connection was given back to pool, in milliseconds */
+	private volatile long lastUsed;
+
+	/** last time connection passed a validation, in milliseconds */
+	private volatile long lastValidated;
+
+	/** last time connection was borrowed, in milliseconds */
+	private volatile long borrowedAt;
+
+	/** stack trace of last borrow, only if leak detection is active */
+	private volatile Throwable borrowTrace;
+
+	/** true if a leak of current borrow was already reported */
+	private volatile boolean leakReported;
+
+	/**
+	 * @param pool pool that own this connection
+	 * @param connection the physical connection
+	 * @param statementCacheSize max number of cached statements, 0 disable cache
+	 * @param stats counters of statement cache
+	 */
+	PooledConnection(SQLConnectionPool pool, Connection connection, int statementCacheSize, StatementCache.Stats stats) {
+		this.pool=pool;
+		this.connection=connection;
+		this.statements=statementCacheSize>0 ? new StatementCache(connection, statementCacheSize, stats) : null;
+		this.createdAt=System.currentTimeMillis();
+		this.lastUsed=createdAt;
+		this.lastValidated=createdAt;
+	}
+
+	/**
+	 * @return the physical connection, do not close it directly
+	 */
+	public Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * take a statement from cache of this connection, or prepare it. 
+	 * It must be given back with {@link #closeStatement(String, PreparedStatement)} instead of closing it
+	 * @param sql statement text
+	 * @return the statement
+	 * @throws SQLException if statement can't be prepared
+	 */
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return statements==null ? connection.prepareStatement(sql) : statements.prepare(sql);
+	}
+
+	/**
+	 * give back a statement taken with {@link #prepareStatement(String)}: it is kept in cache for next calls, or closed if cache is disabled
+	 * @param sql statement text
+	 * @param ps the statement, <code>null</code> is ignored
+	 */
+	public void closeStatement(String sql, PreparedStatement ps) {
+		if (ps==null) return;
+		if (statements!=null) {
+			statements.release(sql, ps);
+			return;
+		}
+		try {
+			ps.close();
+		} catch (SQLException s) {}
+	}
+
+	/**
+	 * @return number of cached statements
+	 */
+	int cachedStatements() {
+		return statements==null ? 0 : statements.size();
+	}
+
+	/**
+	 * @return creation time, in milliseconds
+	 */
+	long getCreatedAt() {
+		return createdAt;
+	}
+
+	/**
+	 * @return last time connection was given back to pool, in milliseconds
+	 */
+	long getLastUsed() {
+		return lastUsed;
+	}
+
+	/**
+	 * @return last time connection was used or validated, in milliseconds
+	 */
+	long getLastChecked() {
+		return Math.max(lastUsed, lastValidated);
+	}
+
+	/**
+	 * @return last time connection was borrowed, in milliseconds
+	 */
+	long getBorrowedAt() {
+		return borrowedAt;
+	}
+
+	/**
+	 * @return stack trace of last borrow, <code>null</code> if leak detection is not active
+	 */
+	Throwable getBorrowTrace() {
+		return borrowTrace;
+	}
+
+	/**
+	 * mark connection as borrowed
+	 * @param trace stack trace of borrow, <code>null</code> if leak detection is not active
+	 */
+	void borrowed(Throwable trace) {
+		borrowedAt=System.currentTimeMillis();
+		borrowTrace=trace;
+		leakReported=false;
+	}
+
+	/**
+	 * mark connection as given back to pool
+	 */
+	void released() {
+		lastUsed=System.currentTimeMillis();
+		borrowTrace=null;
+	}
+
+	/**
+	 * mark connection as validated
+	 */
+	void validated() {
+		lastValidated=System.currentTimeMillis();
+	}
+
+	/**
+	 * mark current borrow as reported leak
+	 * @return <code>false</code> if it was already reported
+	 */
+	boolean reportLeak() {
+		if (leakReported) return false;
+		return leakReported=true;
+	}
+
+	/**
+	 * close cached statements and the physical connection, ignoring errors
+	 */
+	void discard() {
+		if (statements!=null) statements.close();
+		try {
+			connection.close();
+		} catch (SQLException s) {}
+	}
+
+	/**
+	 * give back this connection to its pool
+	 */
+	@Override
+	public void close() {
+		pool.release(this);
+	}
+
+}
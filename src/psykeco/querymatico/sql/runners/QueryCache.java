@@ -0,0 +1,266 @@
+package psykeco.querymatico.sql.runners;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import psykeco.querymatico.QueryMaticO;
+import psykeco.querymatico.SelectMaticO;
+
+/**
+ * <p>Cache of query results, used by {@link MySqlConnection} when set with {@link MySqlConnection#cache(QueryCache)}.</br></p>
+ * <p>Results are kept by built SQL and kind of result (class of {@link MySqlConnection#queryList(Class, QueryMaticO)} or map of {@link MySqlConnection#queryMap(QueryMaticO)}).
+ * Every entry remember db and tables of its select, joined ones included, and it is removed when:
+ * <ul>
+ * 	<li>its time to live ({@link #ttl(long)}) expires</li>
+ * 	<li>cache is full ({@link #maxEntries(int)}), least recently used one is evicted</li>
+ * 	<li>a command on one of its tables is executed ( {@link #invalidate(String, String)} )</li>
+ * </ul>
+ * </p>
+ * <p>Hits, misses, evictions and invalidations are counted to tune size and time to live</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class QueryCache {
+
+	/** default max number of entries */
+	public static final int DEFAULT_MAX_ENTRIES=1000;
+	/** default time to live (ms) of an entry, 0 means no expiration */
+	public static final long DEFAULT_TTL=60*1000L;
+
+	/**
+	 * key of an entry: SQL and kind of result
+	 */
+	private static final class Key {
+		private final String sql;
+		private final Object kind;
+
+		Key(String sql, Object kind) {
+			this.sql=sql;
+			this.kind=kind;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) return false;
+			Key k=(Key) o;
+			return sql.equals(k.sql) && kind.equals(k.kind);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31*sql.hashCode()+kind.hashCode();
+		}
+	}
+
+	/**
+	 * a cached result
+	 */
+	private static final class Value {
+		private final Object result;
+		private final Set<String> tables;
+		private final long expiresAt;
+
+		Value(Object result, Set<String> tables, long expiresAt) {
+			this.result=result;
+			this.tables=tables;
+			this.expiresAt=expiresAt;
+		}
+	}
+
+	private int maxEntries=DEFAULT_MAX_ENTRIES;
+	private long ttl=DEFAULT_TTL;
+
+	/** entries, in access order */
+	private final LinkedHashMap<Key,Value> entries=new LinkedHashMap<Key,Value>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key,Value> eldest) {
+			if (size() <= maxEntries) return false;
+			evictions.increment();
+			return true;
+		}
+	};
+
+	/** incremented by every invalidation, a result read before it is not stored */
+	private long generation;
+
+	private final LongAdder hits=new LongAdder();
+	private final LongAdder misses=new LongAdder();
+	private final LongAdder evictions=new LongAdder();
+	private final LongAdder invalidations=new LongAdder();
+
+	/**
+	 * set max number of entries, least recently used ones are evicted
+	 * @param maxEntries
+	 * @return QueryCache updated reference
+	 */
+	public synchronized QueryCache maxEntries(int maxEntries) {
+		this.maxEntries=Math.max(1, maxEntries);
+		return this;
+	}
+
+	/**
+	 * set time to live (ms) of entries, 0 means no expiration
+	 * @param ttl
+	 * @return QueryCache updated reference
+	 */
+	public synchronized QueryCache ttl(long ttl) {
+		this.ttl=ttl;
+		return this;
+	}
+
+	/**
+	 * @param sql built query
+	 * @param kind kind of result
+	 * @return cached result, <code>null</code> if missing or expired
+	 */
+	public synchronized Object get(String sql, Object kind) {
+		Key key=new Key(sql, kind);
+		Value v=entries.get(key);
+		if (v!=null && v.expiresAt!=0 && v.expiresAt < System.currentTimeMillis()) {
+			entries.remove(key);
+			v=null;
+		}
+		if (v==null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return v.result;
+	}
+
+	/**
+	 * @return current generation, to read before executing a query to store with {@link #put(String, Object, SelectMaticO, Object, long)}
+	 */
+	public synchronized long generation() {
+		return generation;
+	}
+
+	/**
+	 * @param sql built query
+	 * @param kind kind of result
+	 * @param query select of result, to know its tables
+	 * @param result the result
+	 * @param generation value of {@link #generation()} before query was executed, 
+	 * if an invalidation happened since then result is not stored
+	 */
+	public synchronized void put(String sql, Object kind, SelectMaticO query, Object result, long generation) {
+		if (generation!=this.generation) return;
+		Set<String> tables=new HashSet<>();
+		addTables(tables, query, query.getDB());
+		entries.put(new Key(sql, kind), new Value(result, Collections.unmodifiableSet(tables), ttl>0? System.currentTimeMillis()+ttl : 0));
+	}
+
+	/**
+	 * collect tables of a select and of all selects in join with it
+	 * @param tables set to fill
+	 * @param query the select
+	 * @param db db of selects in explicit join without db
+	 */
+	private static void addTables(Set<String> tables, SelectMaticO query, String db) {
+		for (SelectMaticO s=query; s!=null; s=s.getJoin()) {
+			String sdb= s.getDB()==null? db : s.getDB();
+			tables.add(tableKey(sdb, s.getTable()));
+			for (SelectMaticO j : s.getJoins()) addTables(tables, j, sdb);
+		}
+	}
+
+	/**
+	 * remove every entry that read a table
+	 * @param db db name
+	 * @param table table name
+	 */
+	public synchronized void invalidate(String db, String table) {
+		generation++;
+		String key=tableKey(db, table);
+		Iterator<Value> it=entries.values().iterator();
+		while (it.hasNext()) {
+			if (it.next().tables.contains(key)) {
+				it.remove();
+				invalidations.increment();
+			}
+		}
+	}
+
+	/**
+	 * remove every entry that read table of a command
+	 * @param command insert, update or delete command
+	 */
+	public void invalidate(QueryMaticO command) {
+		invalidate(command.getDB(), command.getTable());
+	}
+
+	/**
+	 * remove every entry
+	 */
+	public synchronized void clear() {
+		generation++;
+		invalidations.add(entries.size());
+		entries.clear();
+	}
+
+	/**
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	/**
+	 * @return number of results found in cache
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return number of results not found in cache (or expired)
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return number of entries removed because cache was full
+	 */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/**
+	 * @return number of entries removed by {@link #invalidate(String, String)} or {@link #clear()}
+	 */
+	public long getInvalidations() {
+		return invalidations.sum();
+	}
+
+	/**
+	 * @return hits on total requests, 0 if there are no requests
+	 */
+	public double hitRate() {
+		long h=getHits(), total=h+getMisses();
+		return total==0 ? 0 : (double)h/total;
+	}
+
+	/**
+	 * @param db db name
+	 * @param table table name
+	 * @return key of table, case insensitive
+	 */
+	private static String tableKey(String db, String table) {
+		return (db==null? "" : db.toLowerCase())+'.'+(table==null? "" : table.toLowerCase());
+	}
+
+	@Override
+	public String toString() {
+		return "QueryCache[size="+size()+", hits="+getHits()+", misses="+getMisses()
+			+", evictions="+getEvictions()+", invalidations="+getInvalidations()+"]";
+	}
+
+}
@@ -0,0 +1,66 @@
+package psykeco.querymatico.sql.runners;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * <p>Java Flight Recorder event of an operation executed by {@link MySqlConnection}, named <code>psykeco.querymatico.Query</code>.</br></p>
+ * <p>Event lasts from execution of statement to its end (for streams, until they are closed or consumed) and keep 
+ * {@link psykeco.querymatico.sql.utility.SQLFingerprint fingerprint} of statement, never its values. 
+ * It is created only while a recording has enabled it, so without recordings operations pay a single check</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+@Name("psykeco.querymatico.Query")
+@Label("Query")
+@Category({"QueryMaticO"})
+@Description("Statement executed by MySqlConnection")
+@StackTrace(false)
+public final class QueryEvent extends jdk.jfr.Event {
+
+	/** used only to check if event is enabled */
+	private static final QueryEvent PROBE=new QueryEvent();
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Fingerprint")
+	@Description("Statement without values")
+	String fingerprint;
+
+	@Label("Builder")
+	@Description("Class of builder of statement, empty if executed as text")
+	String builder;
+
+	@Label("DB")
+	String db;
+
+	@Label("Table")
+	String table;
+
+	@Label("Rows")
+	@Description("Rows read or changed, -1 if unknown")
+	long rows;
+
+	@Label("Connection Wait")
+	@Timespan(Timespan.NANOSECONDS)
+	long connectionWait;
+
+	@Label("Error")
+	String error;
+
+	/**
+	 * @return a started event, <code>null</code> if no recording has enabled it
+	 */
+	static QueryEvent start() {
+		if (!PROBE.isEnabled()) return null;
+		QueryEvent e=new QueryEvent();
+		e.begin();
+		return e;
+	}
+
+}
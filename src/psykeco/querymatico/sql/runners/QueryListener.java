@@ -0,0 +1,55 @@
+package psykeco.querymatico.sql.runners;
+
+import psykeco.querymatico.QueryMaticO;
+import psykeco.querymatico.sql.runners.QueryMetrics.Operation;
+
+/**
+ * <p>Listener of operations executed by {@link MySqlConnection}, registered with {@link MySqlConnection#addListener(QueryListener)}.
+ * It can be used for tracing, auditing or sampling statements without changing the runner, 
+ * and it can stop an operation throwing a {@link QueryRejectedException} from {@link #beforeExecute(Operation, QueryMaticO, String)}.
+ * Statements can not be rewritten and results can not be replaced</br></p>
+ * <p>For every operation {@link #beforeExecute(Operation, QueryMaticO, String)} is called before statement is sent to server,
+ * then {@link #afterExecute(Operation, QueryMaticO, String, long, long)} or {@link #onError(Operation, QueryMaticO, String, long, String)} when it ends.
+ * Streams end when they are closed or consumed, batches are notified once for every group of commands with same text.
+ * Results read from {@link QueryCache} are not executed, so they are not notified</br></p>
+ * <p>Methods are called on thread that execute the operation, so they must be thread safe and fast.
+ * Exceptions thrown by a listener are logged and ignored, except {@link QueryRejectedException}. All methods do nothing by default</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public interface QueryListener {
+
+	/**
+	 * called before an operation is executed. 
+	 * To reject it, throw a {@link QueryRejectedException}: operation is not sent to server, 
+	 * next listeners are not called before it and all listeners are called on {@link #onError(Operation, QueryMaticO, String, long, String)} 
+	 * with message of exception
+	 * @param op kind of operation
+	 * @param query builder of statement, <code>null</code> if statement was executed as text or {@link psykeco.querymatico.PreparedQuery PreparedQuery}
+	 * @param sql statement, with values or <code>?</code> placeholders
+	 * 
+	 * @throws QueryRejectedException to stop the operation
+	 */
+	public default void beforeExecute(Operation op, QueryMaticO query, String sql) {}
+
+	/**
+	 * called after an operation ended without errors
+	 * @param op kind of operation
+	 * @param query builder of statement, <code>null</code> if statement was executed as text or {@link psykeco.querymatico.PreparedQuery PreparedQuery}
+	 * @param sql statement, with values or <code>?</code> placeholders
+	 * @param nanos elapsed time, in nanoseconds
+	 * @param rows rows read or changed, -1 if unknown
+	 */
+	public default void afterExecute(Operation op, QueryMaticO query, String sql, long nanos, long rows) {}
+
+	/**
+	 * called after an operation failed
+	 * @param op kind of operation
+	 * @param query builder of statement, <code>null</code> if statement was executed as text or {@link psykeco.querymatico.PreparedQuery PreparedQuery}
+	 * @param sql statement, with values or <code>?</code> placeholders
+	 * @param nanos elapsed time, in nanoseconds
+	 * @param errMsg error message, as {@link MySqlConnection#getErrMsg()}
+	 */
+	public default void onError(Operation op, QueryMaticO query, String sql, long nanos, String errMsg) {}
+
+}
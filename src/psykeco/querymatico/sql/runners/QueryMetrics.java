@@ -0,0 +1,63 @@
+package psykeco.querymatico.sql.runners;
+
+import psykeco.querymatico.sql.utility.SQLFingerprint;
+
+/**
+ * <p>Receiver of measures of operations executed by {@link MySqlConnection}, set with {@link MySqlConnection#metrics(QueryMetrics)}.</br></p>
+ * <p>{@link QueryMetricsRegistry} keep them in memory and expose them through JMX, 
+ * other implementations can send them to an external monitoring system.
+ * Methods are called by every thread that use a connection, so they must be thread safe and fast</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public interface QueryMetrics {
+
+	/**
+	 * kind of measured operation
+	 */
+	public static enum Operation {
+		/** a command, see {@link MySqlConnection#exec(String)} */
+		EXEC,
+		/** a query read into a disconnected result set, see {@link MySqlConnection#query(String)} */
+		QUERY,
+		/** a query mapped into objects, see {@link MySqlConnection#queryList(Class, String)} */
+		QUERY_LIST,
+		/** a query mapped into maps, see {@link MySqlConnection#queryMap(String)} */
+		QUERY_MAP,
+		/** a query read one row at a time, see {@link MySqlConnection#queryStream(Class, String)}, measured from execution to close */
+		STREAM,
+		/** a group of commands with same text sent as JDBC batch, see {@link MySqlConnection#executeBatch()} */
+		BATCH
+	}
+
+	/**
+	 * record an executed operation
+	 * @param op kind of operation
+	 * @param sql executed statement, with values or <code>?</code> placeholders
+	 * @param nanos elapsed time, in nanoseconds
+	 * @param rows rows read or changed, -1 if unknown
+	 * @param error <code>true</code> if operation failed
+	 */
+	public void operation(Operation op, String sql, long nanos, long rows, boolean error);
+
+	/**
+	 * record an executed operation, whose fingerprint was already computed. 
+	 * {@link MySqlConnection} call this method, by default it calls {@link #operation(Operation, String, long, long, boolean)}
+	 * @param op kind of operation
+	 * @param sql executed statement, with values or <code>?</code> placeholders
+	 * @param fingerprint fingerprint of sql
+	 * @param nanos elapsed time, in nanoseconds
+	 * @param rows rows read or changed, -1 if unknown
+	 * @param error <code>true</code> if operation failed
+	 */
+	public default void operation(Operation op, String sql, SQLFingerprint fingerprint, long nanos, long rows, boolean error) {
+		operation(op, sql, nanos, rows, error);
+	}
+
+	/**
+	 * record time spent waiting a connection from pool
+	 * @param nanos elapsed time, in nanoseconds
+	 */
+	public void connectionWait(long nanos);
+
+}
@@ -0,0 +1,63 @@
+package psykeco.querymatico.sql.runners;
+
+import java.util.List;
+
+/**
+ * <p>JMX interface of {@link QueryMetricsRegistry}, registered with {@link QueryMetricsRegistry#register()}</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public interface QueryMetricsMXBean {
+
+	/**
+	 * @return number of recorded operations
+	 */
+	public long getOperations();
+
+	/**
+	 * @return number of failed operations
+	 */
+	public long getErrors();
+
+	/**
+	 * @return total rows read or changed
+	 */
+	public long getRows();
+
+	/**
+	 * @return number of connections taken from pool
+	 */
+	public long getConnectionWaits();
+
+	/**
+	 * @return mean time spent waiting a connection from pool, in microseconds
+	 */
+	public double getConnectionWaitMeanMicros();
+
+	/**
+	 * @return approximated 99th percentile of time spent waiting a connection from pool, in microseconds
+	 */
+	public long getConnectionWaitP99Micros();
+
+	/**
+	 * @return max time spent waiting a connection from pool, in microseconds
+	 */
+	public long getConnectionWaitMaxMicros();
+
+	/**
+	 * @return measures of every operation and fingerprint, by total time descending
+	 */
+	public List<QueryStats> getStats();
+
+	/**
+	 * @param n max number of returned measures
+	 * @return measures of operations and fingerprints with highest total time
+	 */
+	public List<QueryStats> top(int n);
+
+	/**
+	 * clear all measures
+	 */
+	public void reset();
+
+}
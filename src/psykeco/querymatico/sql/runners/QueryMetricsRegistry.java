@@ -0,0 +1,217 @@
+package psykeco.querymatico.sql.runners;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import psykeco.querymatico.sql.utility.SQLFingerprint;
+
+/**
+ * <p>In memory {@link QueryMetrics}: measures are grouped by {@link QueryMetrics.Operation operation} and {@link SQLFingerprint fingerprint} of statement,
+ * so every builder that produce a same shape of statement share its {@link QueryStats}, tagged with db and table of statement.</br></p>
+ * <p>At most {@link #maxFingerprints(int)} fingerprints are kept, next ones are grouped under fingerprint {@link #OTHERS}.
+ * Time spent waiting a connection from pool is kept in a separated histogram</br></p>
+ * <p>Measures can be read with {@link #getStats()} or through JMX, after {@link #register()}, as {@link QueryMetricsMXBean}</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class QueryMetricsRegistry implements QueryMetrics, QueryMetricsMXBean {
+
+	/** default max number of kept fingerprints */
+	public static final int DEFAULT_MAX_FINGERPRINTS=1000;
+	/** fingerprint of operations over {@link #maxFingerprints(int)} */
+	public static final String OTHERS="*";
+	/** default JMX name */
+	public static final String OBJECT_NAME="psykeco.querymatico:type=QueryMetrics";
+
+	/** measures, one map of fingerprints for every operation. Filled by constructor, then only read */
+	private final EnumMap<Operation,ConcurrentHashMap<String,QueryStats>> stats=new EnumMap<>(Operation.class);
+	/** number of kept fingerprints */
+	private final AtomicInteger fingerprints=new AtomicInteger();
+	/** time spent waiting connections */
+	private final LatencyHistogram connectionWait=new LatencyHistogram();
+
+	private volatile int maxFingerprints=DEFAULT_MAX_FINGERPRINTS;
+	/** name registered by {@link #register()}, <code>null</code> if not registered */
+	private ObjectName name;
+
+	/**
+	 * create an empty registry
+	 */
+	public QueryMetricsRegistry() {
+		for (Operation op : Operation.values()) stats.put(op, new ConcurrentHashMap<>());
+	}
+
+	/**
+	 * set max number of kept fingerprints, operations on next ones are grouped under {@link #OTHERS}
+	 * @param maxFingerprints
+	 * @return QueryMetricsRegistry updated reference
+	 */
+	public QueryMetricsRegistry maxFingerprints(int maxFingerprints) {
+		this.maxFingerprints=Math.max(1, maxFingerprints);
+		return this;
+	}
+
+	@Override
+	public void operation(Operation op, String sql, long nanos, long rows, boolean error) {
+		operation(op, sql, SQLFingerprint.of(sql), nanos, rows, error);
+	}
+
+	@Override
+	public void operation(Operation op, String sql, SQLFingerprint fingerprint, long nanos, long rows, boolean error) {
+		SQLFingerprint fp=fingerprint;
+		ConcurrentHashMap<String,QueryStats> map=stats.get(op);
+		QueryStats qs=map.get(fp.getFingerprint());
+		if (qs==null) {
+			if (fingerprints.get()>=maxFingerprints) fp=SQLFingerprint.of(OTHERS);
+			SQLFingerprint key=fp;
+			qs=map.computeIfAbsent(key.getFingerprint(), k -> {
+				fingerprints.incrementAndGet();
+				return new QueryStats(op, key);
+			});
+		}
+		qs.record(nanos, rows, error);
+	}
+
+	@Override
+	public void connectionWait(long nanos) {
+		connectionWait.record(nanos);
+	}
+
+	/**
+	 * @param op kind of operation
+	 * @param sql a statement, with values or <code>?</code> placeholders
+	 * @return measures of operation on statements with same fingerprint of sql, <code>null</code> if there are none
+	 */
+	public QueryStats get(Operation op, String sql) {
+		return get(op, SQLFingerprint.of(sql));
+	}
+
+	/**
+	 * @param op kind of operation
+	 * @param fingerprint fingerprint of a statement
+	 * @return measures of operation on statements with fingerprint, <code>null</code> if there are none
+	 */
+	public QueryStats get(Operation op, SQLFingerprint fingerprint) {
+		return stats.get(op).get(fingerprint.getFingerprint());
+	}
+
+	@Override
+	public List<QueryStats> getStats() {
+		List<QueryStats> all=new ArrayList<>();
+		for (ConcurrentHashMap<String,QueryStats> map : stats.values()) all.addAll(map.values());
+		all.sort(Comparator.comparingLong(QueryStats::getTotalMicros).reversed());
+		return all;
+	}
+
+	@Override
+	public List<QueryStats> top(int n) {
+		List<QueryStats> all=getStats();
+		return new ArrayList<>(all.subList(0, Math.max(0, Math.min(n, all.size()))));
+	}
+
+	@Override
+	public long getOperations() {
+		long sum=0;
+		for (ConcurrentHashMap<String,QueryStats> map : stats.values()) for (QueryStats qs : map.values()) sum+=qs.getCount();
+		return sum;
+	}
+
+	@Override
+	public long getErrors() {
+		long sum=0;
+		for (ConcurrentHashMap<String,QueryStats> map : stats.values()) for (QueryStats qs : map.values()) sum+=qs.getErrors();
+		return sum;
+	}
+
+	@Override
+	public long getRows() {
+		long sum=0;
+		for (ConcurrentHashMap<String,QueryStats> map : stats.values()) for (QueryStats qs : map.values()) sum+=qs.getRows();
+		return sum;
+	}
+
+	@Override
+	public long getConnectionWaits() {
+		return connectionWait.getCount();
+	}
+
+	@Override
+	public double getConnectionWaitMeanMicros() {
+		return connectionWait.getMeanMicros();
+	}
+
+	@Override
+	public long getConnectionWaitP99Micros() {
+		return connectionWait.percentileMicros(99);
+	}
+
+	@Override
+	public long getConnectionWaitMaxMicros() {
+		return connectionWait.getMaxMicros();
+	}
+
+	@Override
+	public void reset() {
+		for (ConcurrentHashMap<String,QueryStats> map : stats.values()) map.clear();
+		fingerprints.set(0);
+		connectionWait.reset();
+	}
+
+	/**
+	 * register this registry on platform MBean server with name {@link #OBJECT_NAME}
+	 * @return QueryMetricsRegistry updated reference
+	 * @throws IllegalStateException if registration fail, for example if name is already used
+	 */
+	public QueryMetricsRegistry register() {
+		return register(OBJECT_NAME);
+	}
+
+	/**
+	 * register this registry on platform MBean server
+	 * @param objectName JMX name
+	 * @return QueryMetricsRegistry updated reference
+	 * @throws IllegalStateException if registration fail, for example if name is already used
+	 */
+	public synchronized QueryMetricsRegistry register(String objectName) {
+		unregister();
+		try {
+			ObjectName on=new ObjectName(objectName);
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+			name=on;
+		} catch (JMException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+		return this;
+	}
+
+	/**
+	 * remove this registry from platform MBean server, if registered
+	 */
+	public synchronized void unregister() {
+		if (name==null) return;
+		MBeanServer server=ManagementFactory.getPlatformMBeanServer();
+		try {
+			if (server.isRegistered(name)) server.unregisterMBean(name);
+		} catch (JMException e) {}
+		name=null;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb=new StringBuilder();
+		for (QueryStats qs : getStats()) sb.append(qs).append('\n');
+		return sb.append("connectionWait count=").append(getConnectionWaits())
+				.append(" meanMicros=").append((long) getConnectionWaitMeanMicros())
+				.append(" maxMicros=").append(getConnectionWaitMaxMicros()).toString();
+	}
+
+}
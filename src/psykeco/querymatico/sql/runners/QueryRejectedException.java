@@ -0,0 +1,21 @@
+package psykeco.querymatico.sql.runners;
+
+/**
+ * <p>Thrown by {@link QueryListener#beforeExecute(QueryMetrics.Operation, psykeco.querymatico.QueryMaticO, String)} to stop an operation 
+ * before it is sent to server, for example to enforce an audit policy or a read only mode.</br></p>
+ * <p>Operation fails as if server returned an error: its message can be queried from {@link MySqlConnection#getErrMsg()}</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class QueryRejectedException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * @param reason why operation is rejected, it become error message of operation
+	 */
+	public QueryRejectedException(String reason) {
+		super(reason);
+	}
+
+}
@@ -0,0 +1,152 @@
+package psykeco.querymatico.sql.runners;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import psykeco.querymatico.sql.runners.QueryMetrics.Operation;
+import psykeco.querymatico.sql.utility.SQLFingerprint;
+
+/**
+ * <p>Measures of a kind of operation on statements with same {@link SQLFingerprint}, kept by {@link QueryMetricsRegistry}:
+ * number of executions and errors, rows and histogram of latencies.</br></p>
+ * <p>Getters are exposed as attributes of JMX composite data by {@link QueryMetricsMXBean}</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class QueryStats {
+
+	private final Operation operation;
+	private final String fingerprint;
+	private final String db;
+	private final String table;
+
+	private final LongAdder errors=new LongAdder();
+	private final LongAdder rows=new LongAdder();
+	private final LatencyHistogram latency=new LatencyHistogram();
+
+	/**
+	 * @param operation kind of operation
+	 * @param fingerprint normalized statement, with its db and table
+	 */
+	QueryStats(Operation operation, SQLFingerprint fingerprint) {
+		this.operation=operation;
+		this.fingerprint=fingerprint.getFingerprint();
+		this.db=fingerprint.getDB();
+		this.table=fingerprint.getTable();
+	}
+
+	/**
+	 * @param nanos elapsed time, in nanoseconds
+	 * @param rows rows read or changed, -1 if unknown
+	 * @param error <code>true</code> if operation failed
+	 */
+	void record(long nanos, long rows, boolean error) {
+		latency.record(nanos);
+		if (rows>0) this.rows.add(rows);
+		if (error) errors.increment();
+	}
+
+	/**
+	 * @return kind of operation
+	 */
+	public Operation getOperation() {
+		return operation;
+	}
+
+	/**
+	 * @return normalized statement
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * @return db of statement, <code>null</code> if unknown
+	 */
+	public String getDB() {
+		return db;
+	}
+
+	/**
+	 * @return table of statement, <code>null</code> if unknown
+	 */
+	public String getTable() {
+		return table;
+	}
+
+	/**
+	 * @return number of executions
+	 */
+	public long getCount() {
+		return latency.getCount();
+	}
+
+	/**
+	 * @return number of failed executions
+	 */
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	/**
+	 * @return total rows read or changed
+	 */
+	public long getRows() {
+		return rows.sum();
+	}
+
+	/**
+	 * @return total time of executions, in microseconds
+	 */
+	public long getTotalMicros() {
+		return latency.getTotalMicros();
+	}
+
+	/**
+	 * @return mean time of an execution, in microseconds
+	 */
+	public double getMeanMicros() {
+		return latency.getMeanMicros();
+	}
+
+	/**
+	 * @return max time of an execution, in microseconds
+	 */
+	public long getMaxMicros() {
+		return latency.getMaxMicros();
+	}
+
+	/**
+	 * @return approximated median time of an execution, in microseconds
+	 */
+	public long getP50Micros() {
+		return latency.percentileMicros(50);
+	}
+
+	/**
+	 * @return approximated 95th percentile of time of an execution, in microseconds
+	 */
+	public long getP95Micros() {
+		return latency.percentileMicros(95);
+	}
+
+	/**
+	 * @return approximated 99th percentile of time of an execution, in microseconds
+	 */
+	public long getP99Micros() {
+		return latency.percentileMicros(99);
+	}
+
+	/**
+	 * @return histogram of latencies
+	 */
+	LatencyHistogram latency() {
+		return latency;
+	}
+
+	@Override
+	public String toString() {
+		return operation+" "+fingerprint+" count="+getCount()+" errors="+getErrors()+" rows="+getRows()
+				+" meanMicros="+(long) getMeanMicros()+" p99Micros="+getP99Micros()+" maxMicros="+getMaxMicros();
+	}
+
+}
@@ -0,0 +1,503 @@
+package psykeco.querymatico.sql.runners;
+
+import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_LEAK;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.POOL_CLOSED;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.POOL_TIMEOUT;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import psykeco.querymatico.sql.SQLConnectionMaticO;
+import psykeco.querymatico.translations.Translations;
+
+/**
+ * <p>Pool of connections created through a {@link SQLConnectionMaticO}.</br></p>
+ * <p>Connections are borrowed with {@link #borrow()} and given back with {@link PooledConnection#close()}.
+ * A background task evicts connections idle more than {@link #idleTimeout(long)} or older than {@link #maxLifetime(long)},
+ * keeps at least {@link #minSize(int)} connections open and reports connections borrowed for more than {@link #leakThreshold(long)}</br></p>
+ * <p>Connections are checked with a {@link Validation} ({@link #validation(Validation)}):
+ * idle ones when borrowed ({@link #validateOnBorrow(boolean)}) and in background when idle for more than {@link #keepaliveTime(long)}.
+ * Connections that fail validation are discarded and replaced by new ones, so a pool recover by itself from dropped connections</br></p>
+ * <p>Every connection keep a cache of its prepared statements ({@link #statementCacheSize(int)}), 
+ * hits and misses of all caches are counted by {@link #getStatementStats()}</br></p>
+ * <p>Settings must be given before {@link #start()}</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class SQLConnectionPool {
+
+	/** default min number of open connections */
+	public static final int DEFAULT_MIN_SIZE=1;
+	/** default max number of open connections */
+	public static final int DEFAULT_MAX_SIZE=10;
+	/** default time (ms) after that an idle connection is closed */
+	public static final long DEFAULT_IDLE_TIMEOUT=10*60*1000L;
+	/** default time (ms) after that a connection is replaced */
+	public static final long DEFAULT_MAX_LIFETIME=30*60*1000L;
+	/** default max time (ms) to wait a free connection */
+	public static final long DEFAULT_BORROW_TIMEOUT=30*1000L;
+	/** default time (ms) after that a borrowed connection is reported as leak, 0 means disabled */
+	public static final long DEFAULT_LEAK_THRESHOLD=0;
+	/** default max time (ms) of a validation */
+	public static final long DEFAULT_VALIDATION_TIMEOUT=5*1000L;
+	/** default time (ms) of idleness after that an idle connection is validated in background, 0 means disabled */
+	public static final long DEFAULT_KEEPALIVE_TIME=0;
+	/** default max number of prepared statements cached by every connection */
+	public static final int DEFAULT_STATEMENT_CACHE_SIZE=64;
+	/** a connection used or validated less than this time (ms) ago is not validated on borrow */
+	public static final long VALIDATION_BYPASS=500L;
+	/** period (ms) of background maintenance */
+	public static final long HOUSEKEEPING_PERIOD=5*1000L;
+
+	/**
+	 * <p>check that a connection still work</br></p>
+	 */
+	public static enum Validation {
+		/** no check, only closed connections are discarded */
+		NONE,
+		/** {@link Connection#isValid(int)}, MySQL Connector/J send a ping to server */
+		IS_VALID,
+		/** a ping query, MySQL Connector/J send a ping to server instead of executing it */
+		PING,
+		/** a <code>SELECT 1</code> query, working with every driver */
+		SELECT_1;
+
+		/** query of {@link #PING} */
+		public static final String PING_QUERY="/* ping */ SELECT 1";
+		/** query of {@link #SELECT_1} */
+		public static final String SELECT_1_QUERY="SELECT 1";
+
+		/**
+		 * @param connection connection to check
+		 * @param timeout max time (ms) of check
+		 * @return <code>true</code> if connection is open and, except for {@link #NONE}, server answer in time
+		 */
+		public boolean validate(Connection connection, long timeout) {
+			int seconds=(int) Math.max(1, (timeout+999)/1000);
+			try {
+				switch (this) {
+					case NONE     : return !connection.isClosed();
+					case IS_VALID : return connection.isValid(seconds);
+					case PING     : return query(connection, PING_QUERY, seconds);
+					case SELECT_1 : return query(connection, SELECT_1_QUERY, seconds);
+				}
+			} catch (SQLException | RuntimeException e) {}
+			return false;
+		}
+
+		/**
+		 * @return <code>true</code> if query is executed
+		 */
+		private static boolean query(Connection connection, String sql, int seconds) throws SQLException {
+			try (Statement st=connection.createStatement()) {
+				st.setQueryTimeout(seconds);
+				st.execute(sql);
+				return true;
+			}
+		}
+	}
+
+	/** logger of pool events */
+	private static final Logger LOGGER=Logger.getLogger(SQLConnectionPool.class.getName());
+
+	/** connection builder */
+	private final SQLConnectionMaticO connMaticO;
+
+	private int minSize=DEFAULT_MIN_SIZE;
+	private int maxSize=DEFAULT_MAX_SIZE;
+	private long idleTimeout=DEFAULT_IDLE_TIMEOUT;
+	private long maxLifetime=DEFAULT_MAX_LIFETIME;
+	private long borrowTimeout=DEFAULT_BORROW_TIMEOUT;
+	private long leakThreshold=DEFAULT_LEAK_THRESHOLD;
+	private Validation validation=Validation.IS_VALID;
+	private long validationTimeout=DEFAULT_VALIDATION_TIMEOUT;
+	private boolean validateOnBorrow=true;
+	private long keepaliveTime=DEFAULT_KEEPALIVE_TIME;
+	private int statementCacheSize=DEFAULT_STATEMENT_CACHE_SIZE;
+
+	/** counters of statement caches of all connections */
+	private final StatementCache.Stats statementStats=new StatementCache.Stats();
+
+	/** idle connections, most recently used first */
+	private final LinkedBlockingDeque<PooledConnection> idle=new LinkedBlockingDeque<>();
+	/** borrowed connections */
+	private final Set<PooledConnection> borrowed=ConcurrentHashMap.newKeySet();
+	/** one permit for every connection that can still be borrowed */
+	private volatile Semaphore permits;
+	/** background maintenance */
+	private ScheduledExecutorService housekeeper;
+	/** true after {@link #close()} */
+	private volatile boolean closed;
+
+	/**
+	 * @param connMaticO builder used to open every connection of pool
+	 */
+	public SQLConnectionPool(SQLConnectionMaticO connMaticO) {
+		this.connMaticO=connMaticO;
+	}
+
+	/**
+	 * @return builder used to open every connection of pool
+	 */
+	public SQLConnectionMaticO getConnectionMaticO() {
+		return connMaticO;
+	}
+
+	/**
+	 * set min number of open connections
+	 * @param minSize
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool minSize(int minSize) {
+		this.minSize=Math.max(0, minSize);
+		return this;
+	}
+
+	/**
+	 * set max number of open connections
+	 * @param maxSize
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool maxSize(int maxSize) {
+		this.maxSize=Math.max(1, maxSize);
+		return this;
+	}
+
+	/**
+	 * set time (ms) after that an idle connection is closed, if there are more than {@link #minSize(int)} connections
+	 * @param idleTimeout
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool idleTimeout(long idleTimeout) {
+		this.idleTimeout=idleTimeout;
+		return this;
+	}
+
+	/**
+	 * set time (ms) after that a connection is closed and replaced
+	 * @param maxLifetime
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool maxLifetime(long maxLifetime) {
+		this.maxLifetime=maxLifetime;
+		return this;
+	}
+
+	/**
+	 * set max time (ms) that {@link #borrow()} wait for a free connection
+	 * @param borrowTimeout
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool borrowTimeout(long borrowTimeout) {
+		this.borrowTimeout=borrowTimeout;
+		return this;
+	}
+
+	/**
+	 * set time (ms) after that a borrowed connection is reported as leak, with stack trace of borrow. 0 disable leak detection
+	 * @param leakThreshold
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool leakThreshold(long leakThreshold) {
+		this.leakThreshold=leakThreshold;
+		return this;
+	}
+
+	/**
+	 * set check of connections, default is {@link Validation#IS_VALID}
+	 * @param validation
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool validation(Validation validation) {
+		this.validation= validation==null? Validation.NONE : validation;
+		return this;
+	}
+
+	/**
+	 * set max time (ms) of a validation
+	 * @param validationTimeout
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool validationTimeout(long validationTimeout) {
+		this.validationTimeout=validationTimeout;
+		return this;
+	}
+
+	/**
+	 * set if idle connections are validated when borrowed (default <code>true</code>). 
+	 * Connections used or validated less than {@link #VALIDATION_BYPASS} ms ago are not validated
+	 * @param validateOnBorrow
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool validateOnBorrow(boolean validateOnBorrow) {
+		this.validateOnBorrow=validateOnBorrow;
+		return this;
+	}
+
+	/**
+	 * set time (ms) of idleness after that an idle connection is validated in background, 
+	 * so it is not closed by server and dead ones are replaced before they are borrowed. 0 disable keepalive
+	 * @param keepaliveTime
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool keepaliveTime(long keepaliveTime) {
+		this.keepaliveTime=keepaliveTime;
+		return this;
+	}
+
+	/**
+	 * set max number of prepared statements cached by every connection (see {@link PooledConnection#prepareStatement(String)}), 
+	 * least recently used ones are closed. 0 disable cache
+	 * @param statementCacheSize
+	 * @return SQLConnectionPool updated reference
+	 */
+	public SQLConnectionPool statementCacheSize(int statementCacheSize) {
+		this.statementCacheSize=Math.max(0, statementCacheSize);
+		return this;
+	}
+
+	/**
+	 * @return hits, misses and evictions of statement caches of all connections
+	 */
+	public StatementCache.Stats getStatementStats() {
+		return statementStats;
+	}
+
+	/**
+	 * @return check of connections
+	 */
+	public Validation getValidation() {
+		return validation;
+	}
+
+	/**
+	 * @return max number of open connections
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * open {@link #minSize(int)} connections and start background maintenance
+	 *
+	 * @return SQLConnectionPool updated reference
+	 *
+	 * @throws IllegalStateException if can't establish connection
+	 */
+	public synchronized SQLConnectionPool start() {
+		if (permits!=null) return this;
+		permits=new Semaphore(maxSize, true);
+		try {
+			fill();
+		} catch (IllegalStateException e) {
+			close();
+			throw e;
+		}
+		housekeeper=Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t=new Thread(r, "QueryMaticO-pool-housekeeper");
+			t.setDaemon(true);
+			return t;
+		});
+		housekeeper.scheduleAtFixedRate(this::housekeeping, HOUSEKEEPING_PERIOD, HOUSEKEEPING_PERIOD, TimeUnit.MILLISECONDS);
+		return this;
+	}
+
+	/**
+	 * <p>borrow a connection, waiting at most {@link #borrowTimeout(long)} ms if all {@link #maxSize(int)} connections are in use.</br></p>
+	 * <p>the connection must be given back with {@link PooledConnection#close()}</br></p>
+	 *
+	 * @return a connection
+	 *
+	 * @throws IllegalStateException if pool is closed, no connection is free in time or a new connection can't be established
+	 */
+	public PooledConnection borrow() {
+		if (permits==null) start();
+		if (closed) throw new IllegalStateException(Translations.getMsg(POOL_CLOSED));
+		try {
+			if (!permits.tryAcquire(borrowTimeout, TimeUnit.MILLISECONDS))
+				throw new IllegalStateException(Translations.getMsg(POOL_TIMEOUT, ""+borrowTimeout));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(Translations.getMsg(POOL_TIMEOUT, ""+borrowTimeout));
+		}
+
+		PooledConnection pc;
+		try {
+			while ((pc=idle.pollFirst())!=null && !usable(pc, System.currentTimeMillis())) pc.discard();
+			if (pc==null) pc=open();
+		} catch (RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+
+		pc.borrowed(leakThreshold>0 ? new Throwable() : null);
+		borrowed.add(pc);
+		return pc;
+	}
+
+	/**
+	 * give back a borrowed connection. Closed or expired connections are discarded
+	 * @param pc the borrowed connection, <code>null</code> is ignored
+	 */
+	public void release(PooledConnection pc) {
+		if (pc==null || !borrowed.remove(pc)) return;
+		pc.released();
+
+		boolean valid;
+		try {
+			valid=!pc.getConnection().isClosed();
+		} catch (SQLException s) {
+			valid=false;
+		}
+
+		if (closed || !valid || expired(pc, System.currentTimeMillis())) pc.discard();
+		else idle.offerFirst(pc);
+		permits.release();
+	}
+
+	/**
+	 * check a connection with {@link #validation(Validation)}
+	 * @param pc a connection of this pool
+	 * @return <code>true</code> if connection work
+	 */
+	public boolean validate(PooledConnection pc) {
+		if (!validation.validate(pc.getConnection(), validationTimeout)) return false;
+		pc.validated();
+		return true;
+	}
+
+	/**
+	 * @return number of borrowed connections
+	 */
+	public int active() {
+		return borrowed.size();
+	}
+
+	/**
+	 * @return number of idle connections
+	 */
+	public int idle() {
+		return idle.size();
+	}
+
+	/**
+	 * @return number of open connections
+	 */
+	public int total() {
+		return active()+idle();
+	}
+
+	/**
+	 * close every idle connection and stop background maintenance. Borrowed connections are closed when given back
+	 */
+	public synchronized void close() {
+		closed=true;
+		if (housekeeper!=null) housekeeper.shutdownNow();
+		PooledConnection pc;
+		while ((pc=idle.pollFirst())!=null) pc.discard();
+	}
+
+	/**
+	 * @return <code>true</code> if pool was closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * create a SQLConnectionPool, not started, as new object with same settings of this.
+	 *
+	 * @return the new instance
+	 */
+	public SQLConnectionPool copy() {
+		return new SQLConnectionPool(connMaticO)
+				.minSize(minSize).maxSize(maxSize)
+				.idleTimeout(idleTimeout).maxLifetime(maxLifetime)
+				.borrowTimeout(borrowTimeout).leakThreshold(leakThreshold)
+				.validation(validation).validationTimeout(validationTimeout)
+				.validateOnBorrow(validateOnBorrow).keepaliveTime(keepaliveTime)
+				.statementCacheSize(statementCacheSize);
+	}
+
+	/**
+	 * @param pc a connection
+	 * @param now current time in ms
+	 * @return true if connection is older than {@link #maxLifetime}
+	 */
+	private boolean expired(PooledConnection pc, long now) {
+		return maxLifetime>0 && now-pc.getCreatedAt() > maxLifetime;
+	}
+
+	/**
+	 * @param pc an idle connection
+	 * @param now current time in ms
+	 * @return true if connection is not expired and, if {@link #validateOnBorrow} is on, it pass validation
+	 */
+	private boolean usable(PooledConnection pc, long now) {
+		if (expired(pc, now)) return false;
+		if (!validateOnBorrow || now-pc.getLastChecked() <= VALIDATION_BYPASS) return true;
+		return validate(pc);
+	}
+
+	/**
+	 * @return a new connection
+	 */
+	private PooledConnection open() {
+		return new PooledConnection(this, connMaticO.connect(), statementCacheSize, statementStats);
+	}
+
+	/**
+	 * open connections until pool has {@link #minSize} of them
+	 */
+	private void fill() {
+		while (!closed && total() < Math.min(minSize, maxSize)) 
+			idle.offerLast(open());
+	}
+
+	/**
+	 * evict idle and expired connections, validate connections idle more than {@link #keepaliveTime}, refill pool and report leaks
+	 */
+	private void housekeeping() {
+		try {
+			long now=System.currentTimeMillis();
+
+			Iterator<PooledConnection> it=idle.descendingIterator();
+			while (it.hasNext()) {
+				PooledConnection pc=it.next();
+				boolean old= idleTimeout>0 && now-pc.getLastUsed() > idleTimeout && total() > minSize;
+				if ((old || expired(pc, now)) && idle.remove(pc)) pc.discard();
+			}
+
+			if (keepaliveTime>0) {
+				it=idle.descendingIterator();
+				while (it.hasNext()) {
+					PooledConnection pc=it.next();
+					if (now-pc.getLastChecked() <= keepaliveTime || !idle.remove(pc)) continue;
+					if (validate(pc)) idle.offerLast(pc);
+					else pc.discard();
+				}
+			}
+
+			fill();
+
+			if (leakThreshold>0) for (PooledConnection pc : borrowed) {
+				if (now-pc.getBorrowedAt() > leakThreshold && pc.reportLeak())
+					LOGGER.log(Level.WARNING, Translations.getMsg(CONNECTION_LEAK, ""+(now-pc.getBorrowedAt())), pc.getBorrowTrace());
+			}
+		} catch (RuntimeException e) {
+			LOGGER.log(Level.WARNING, e.getMessage(), e);
+		}
+	}
+
+}
@@ -0,0 +1,302 @@
+package psykeco.querymatico.sql.runners;
+
+import static psykeco.querymatico.translations.Translations.KEY_MSG.SLOW_QUERY;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import psykeco.querymatico.sql.runners.QueryMetrics.Operation;
+import psykeco.querymatico.sql.utility.SQLClassParser;
+import psykeco.querymatico.sql.utility.SQLFingerprint;
+import psykeco.querymatico.translations.Translations;
+
+/**
+ * <p>Log of operations of {@link MySqlConnection} slower than a {@link #threshold(long) threshold}, set with {@link MySqlConnection#slowQueryLog(SlowQueryLog)}.</br></p>
+ * <p>Every slow operation is recorded as a {@link SlowQuery}, with {@link SQLFingerprint fingerprint} of its statement (values are never kept),
+ * builder that generated it, db, table, elapsed time and rows. Last {@link #getCapacity() capacity} ones are kept in a ring buffer,
+ * and they can be grouped by fingerprint with {@link #byFingerprint()} to find access patterns that need indexes.
+ * They can also be sent to a {@link #sink(Consumer) sink} and to a {@link Logger} ({@link #log(Level)})</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public class SlowQueryLog {
+
+	/** default threshold, in milliseconds */
+	public static final long DEFAULT_THRESHOLD=1000;
+	/** default number of kept operations */
+	public static final int DEFAULT_CAPACITY=100;
+
+	/** logger of slow operations */
+	private static final Logger LOGGER=Logger.getLogger(SlowQueryLog.class.getName());
+
+	/**
+	 * <p>an operation slower than threshold</br></p>
+	 */
+	public static final class SlowQuery {
+		private final long timestamp;
+		private final Operation operation;
+		private final SQLFingerprint fingerprint;
+		private final String origin;
+		private final long elapsedMicros;
+		private final long rows;
+		private final boolean error;
+
+		SlowQuery(Operation operation, SQLFingerprint fingerprint, String origin, long elapsedMicros, long rows, boolean error) {
+			this.timestamp=System.currentTimeMillis();
+			this.operation=operation;
+			this.fingerprint=fingerprint;
+			this.origin=origin;
+			this.elapsedMicros=elapsedMicros;
+			this.rows=rows;
+			this.error=error;
+		}
+
+		/**
+		 * @return end time of operation, in milliseconds
+		 */
+		public long getTimestamp() {
+			return timestamp;
+		}
+
+		/**
+		 * @return kind of operation
+		 */
+		public Operation getOperation() {
+			return operation;
+		}
+
+		/**
+		 * @return normalized statement, without values
+		 */
+		public String getFingerprint() {
+			return fingerprint.getFingerprint();
+		}
+
+		/**
+		 * @return db of statement, <code>null</code> if unknown
+		 */
+		public String getDB() {
+			return fingerprint.getDB();
+		}
+
+		/**
+		 * @return table of statement, <code>null</code> if unknown
+		 */
+		public String getTable() {
+			return fingerprint.getTable();
+		}
+
+		/**
+		 * @return name of builder class that generated statement, <code>null</code> if it was executed as text
+		 */
+		public String getOrigin() {
+			return origin;
+		}
+
+		/**
+		 * @return elapsed time, in microseconds
+		 */
+		public long getElapsedMicros() {
+			return elapsedMicros;
+		}
+
+		/**
+		 * @return rows read or changed, -1 if unknown
+		 */
+		public long getRows() {
+			return rows;
+		}
+
+		/**
+		 * @return <code>true</code> if operation failed
+		 */
+		public boolean isError() {
+			return error;
+		}
+
+		@Override
+		public String toString() {
+			return operation+" "+(elapsedMicros/1000)+"ms rows="+rows+(error?" error":"")+" origin="+origin+" "+fingerprint;
+		}
+	}
+
+	private final SlowQuery[] ring;
+	/** number of slow operations recorded since creation or last {@link #clear()} */
+	private long count;
+
+	private volatile long thresholdNanos=TimeUnit.MILLISECONDS.toNanos(DEFAULT_THRESHOLD);
+	private volatile Consumer<SlowQuery> sink;
+	private volatile Level level;
+
+	/**
+	 * create a log that keep last {@link #DEFAULT_CAPACITY} slow operations
+	 */
+	public SlowQueryLog() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity number of kept slow operations
+	 */
+	public SlowQueryLog(int capacity) {
+		ring=new SlowQuery[Math.max(1, capacity)];
+	}
+
+	/**
+	 * set min elapsed time of a slow operation, default {@link #DEFAULT_THRESHOLD}
+	 * @param millis threshold, in milliseconds
+	 * @return SlowQueryLog updated reference
+	 */
+	public SlowQueryLog threshold(long millis) {
+		thresholdNanos=TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis));
+		return this;
+	}
+
+	/**
+	 * set a receiver of every slow operation, called on thread that executed it. <code>null</code> to remove it
+	 * @param sink receiver of slow operations
+	 * @return SlowQueryLog updated reference
+	 */
+	public SlowQueryLog sink(Consumer<SlowQuery> sink) {
+		this.sink=sink;
+		return this;
+	}
+
+	/**
+	 * write every slow operation on logger of this class, <code>null</code> to disable (default)
+	 * @param level level of log records
+	 * @return SlowQueryLog updated reference
+	 */
+	public SlowQueryLog log(Level level) {
+		this.level=level;
+		return this;
+	}
+
+	/**
+	 * @return threshold, in milliseconds
+	 */
+	public long getThreshold() {
+		return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+	}
+
+	/**
+	 * @return number of kept slow operations
+	 */
+	public int getCapacity() {
+		return ring.length;
+	}
+
+	/**
+	 * record an operation, if slower than threshold
+	 * @param op kind of operation
+	 * @param origin class of builder of statement, <code>null</code> if unknown
+	 * @param sql executed statement
+	 * @param nanos elapsed time, in nanoseconds
+	 * @param rows rows read or changed, -1 if unknown
+	 * @param error <code>true</code> if operation failed
+	 * @return <code>true</code> if operation was slow
+	 */
+	public boolean record(Operation op, Class<?> origin, String sql, long nanos, long rows, boolean error) {
+		if (!isSlow(nanos)) return false;
+		return record(op, origin, SQLFingerprint.of(sql), nanos, rows, error);
+	}
+
+	/**
+	 * @param nanos elapsed time, in nanoseconds
+	 * @return <code>true</code> if an operation that took nanos is recorded
+	 */
+	public boolean isSlow(long nanos) {
+		return nanos>=thresholdNanos;
+	}
+
+	/**
+	 * record an operation whose fingerprint was already computed, if slower than threshold
+	 * @param op kind of operation
+	 * @param origin class of builder of statement, <code>null</code> if unknown
+	 * @param fingerprint fingerprint of executed statement
+	 * @param nanos elapsed time, in nanoseconds
+	 * @param rows rows read or changed, -1 if unknown
+	 * @param error <code>true</code> if operation failed
+	 * @return <code>true</code> if operation was slow
+	 */
+	public boolean record(Operation op, Class<?> origin, SQLFingerprint fingerprint, long nanos, long rows, boolean error) {
+		if (!isSlow(nanos)) return false;
+
+		SlowQuery sq=new SlowQuery(op, fingerprint, origin==null ? null : SQLClassParser.getTrueName(origin), nanos/1000, rows, error);
+		synchronized (ring) {
+			ring[(int) (count++ % ring.length)]=sq;
+		}
+
+		Level l=level;
+		if (l!=null && LOGGER.isLoggable(l)) LOGGER.log(l, Translations.getMsg(SLOW_QUERY, ""+(sq.elapsedMicros/1000), ""+rows, ""+sq.origin, ""+sq.getTable(), sq.getFingerprint()));
+
+		Consumer<SlowQuery> s=sink;
+		if (s!=null) {
+			try {
+				s.accept(sq);
+			} catch (RuntimeException e) {
+				LOGGER.log(Level.WARNING, e.getMessage(), e);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return kept slow operations, oldest first
+	 */
+	public List<SlowQuery> getEntries() {
+		synchronized (ring) {
+			int n=(int) Math.min(count, ring.length);
+			List<SlowQuery> entries=new ArrayList<>(n);
+			for (long i=count-n; i<count; i++) entries.add(ring[(int) (i % ring.length)]);
+			return entries;
+		}
+	}
+
+	/**
+	 * @return kept slow operations grouped by fingerprint, most frequent fingerprints first
+	 */
+	public Map<String,List<SlowQuery>> byFingerprint() {
+		Map<String,List<SlowQuery>> groups=new LinkedHashMap<>();
+		for (SlowQuery sq : getEntries()) groups.computeIfAbsent(sq.getFingerprint(), k -> new ArrayList<>()).add(sq);
+
+		List<Map.Entry<String,List<SlowQuery>>> sorted=new ArrayList<>(groups.entrySet());
+		sorted.sort((a, b) -> b.getValue().size()-a.getValue().size());
+		Map<String,List<SlowQuery>> result=new LinkedHashMap<>();
+		for (Map.Entry<String,List<SlowQuery>> e : sorted) result.put(e.getKey(), e.getValue());
+		return result;
+	}
+
+	/**
+	 * @return number of slow operations recorded since creation or last {@link #clear()}, also the ones no more kept
+	 */
+	public long getCount() {
+		synchronized (ring) {
+			return count;
+		}
+	}
+
+	/**
+	 * remove all kept slow operations
+	 */
+	public void clear() {
+		synchronized (ring) {
+			for (int i=0; i<ring.length; i++) ring[i]=null;
+			count=0;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb=new StringBuilder();
+		for (SlowQuery sq : getEntries()) sb.append(sq).append('\n');
+		return sb.toString();
+	}
+
+}
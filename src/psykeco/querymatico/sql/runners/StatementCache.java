@@ -0,0 +1,161 @@
+package psykeco.querymatico.sql.runners;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Cache of {@link PreparedStatement}s of a single {@link PooledConnection}, by statement text.</br></p>
+ * <p>A statement is taken with {@link #prepare(String)} and given back with {@link #release(String, PreparedStatement)},
+ * so the same statement is never used twice at the same time. At most {@link SQLConnectionPool#statementCacheSize(int) max size}
+ * statements are kept, least recently used ones are closed. Every statement is closed with connection</br></p>
+ * <p>A connection is used by one thread at a time, so cache is not synchronized.
+ * Hits, misses and evictions are counted on {@link Stats} shared by all connections of a pool</br></p>
+ * <p>With MySQL Connector/J, set <code>useServerPrepStmts=true</code> on connection to keep statements prepared on server</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class StatementCache {
+
+	/**
+	 * <p>counters of statement caches of a pool, see {@link SQLConnectionPool#getStatementStats()}</br></p>
+	 */
+	public static final class Stats {
+		private final LongAdder hits=new LongAdder();
+		private final LongAdder misses=new LongAdder();
+		private final LongAdder evictions=new LongAdder();
+
+		/**
+		 * @return number of statements taken from cache
+		 */
+		public long getHits() {
+			return hits.sum();
+		}
+
+		/**
+		 * @return number of statements prepared because not in cache
+		 */
+		public long getMisses() {
+			return misses.sum();
+		}
+
+		/**
+		 * @return number of statements closed because cache was full
+		 */
+		public long getEvictions() {
+			return evictions.sum();
+		}
+
+		/**
+		 * @return hits on total requests, 0 if there are no requests
+		 */
+		public double hitRate() {
+			long h=getHits(), total=h+getMisses();
+			return total==0 ? 0 : (double) h/total;
+		}
+
+		@Override
+		public String toString() {
+			return "hits="+getHits()+" misses="+getMisses()+" evictions="+getEvictions()+" hitRate="+hitRate();
+		}
+	}
+
+	/** the physical connection */
+	private final Connection connection;
+	/** max number of cached statements */
+	private final int maxSize;
+	/** counters of pool */
+	private final Stats stats;
+
+	/** idle statements, in access order */
+	private final LinkedHashMap<String,PreparedStatement> statements=new LinkedHashMap<String,PreparedStatement>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String,PreparedStatement> eldest) {
+			if (size() <= maxSize) return false;
+			stats.evictions.increment();
+			closeQuietly(eldest.getValue());
+			return true;
+		}
+	};
+
+	/**
+	 * @param connection the physical connection
+	 * @param maxSize max number of cached statements
+	 * @param stats counters of pool
+	 */
+	StatementCache(Connection connection, int maxSize, Stats stats) {
+		this.connection=connection;
+		this.maxSize=maxSize;
+		this.stats=stats;
+	}
+
+	/**
+	 * take a cached statement, or prepare a new one
+	 * @param sql statement text
+	 * @return the statement, to give back with {@link #release(String, PreparedStatement)}
+	 * @throws SQLException if statement can't be prepared
+	 */
+	PreparedStatement prepare(String sql) throws SQLException {
+		PreparedStatement ps=statements.remove(sql);
+		if (ps!=null && !ps.isClosed()) {
+			stats.hits.increment();
+			return ps;
+		}
+		stats.misses.increment();
+		return connection.prepareStatement(sql);
+	}
+
+	/**
+	 * give back a statement taken with {@link #prepare(String)}. Parameters and batch are cleared,
+	 * statement is closed if it can't be cleared or another one with same text is already cached
+	 * @param sql statement text
+	 * @param ps the statement, <code>null</code> is ignored
+	 */
+	void release(String sql, PreparedStatement ps) {
+		if (ps==null) return;
+		try {
+			if (ps.isClosed()) return;
+			ps.clearParameters();
+			ps.clearBatch();
+		} catch (SQLException s) {
+			closeQuietly(ps);
+			return;
+		}
+		if (statements.putIfAbsent(sql, ps)!=null) closeQuietly(ps);
+	}
+
+	/**
+	 * @return number of cached statements
+	 */
+	int size() {
+		return statements.size();
+	}
+
+	/**
+	 * close all cached statements
+	 */
+	void close() {
+		Iterator<PreparedStatement> it=statements.values().iterator();
+		while (it.hasNext()) {
+			closeQuietly(it.next());
+			it.remove();
+		}
+	}
+
+	/**
+	 * close a statement, ignoring errors
+	 * @param ps the statement
+	 */
+	private static void closeQuietly(PreparedStatement ps) {
+		try {
+			ps.close();
+		} catch (SQLException s) {}
+	}
+
+}
@@ -0,0 +1,238 @@
+package psykeco.querymatico.sql.utility;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>Read and write a field of an entity class.</br></p>
+ * <p>Accessors are created once for every field by a {@link Factory} and cached in {@link SQLClassMetadata}:
+ * <ul>
+ * 	<li>{@link #REFLECTION} use {@link Field#get(Object)} and {@link Field#set(Object, Object)}</li>
+ * 	<li>{@link #METHOD_HANDLE} use {@link MethodHandle}s resolved with a private lookup in the class of field,
+ * 	it fall back to reflection if handles can't be resolved (static fields or not opened modules)</li>
+ * </ul>
+ * </p>
+ * <p>Setters of primitive fields accept <code>null</code> (as zero value) and every {@link Number},
+ * converted as a java cast. Typed setters ({@link #setInt(Object, int)}, {@link #setLong(Object, long)}, {@link #setDouble(Object, double)})
+ * write a field of same primitive type without boxing</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public interface FieldAccessor {
+
+	/**
+	 * create accessors of fields
+	 */
+	@FunctionalInterface
+	public static interface Factory {
+		/**
+		 * @param field an accessible field
+		 * @return accessor of field
+		 */
+		FieldAccessor of(Field field);
+	}
+
+	/** accessors over {@link Field} reflection */
+	public static final Factory REFLECTION=ReflectionAccessor::new;
+
+	/** accessors over {@link MethodHandle}, with reflection as fall back */
+	public static final Factory METHOD_HANDLE=field -> {
+		if (Modifier.isStatic(field.getModifiers())) return new ReflectionAccessor(field);
+		try {
+			return new MethodHandleAccessor(field);
+		} catch (IllegalAccessException | RuntimeException e) {
+			return new ReflectionAccessor(field);
+		}
+	};
+
+	/**
+	 * @return the accessed field
+	 */
+	public Field getField();
+
+	/**
+	 * @param instance an instance of class of field
+	 * @return value of field in instance
+	 * @throws IllegalAccessException if field can't be read
+	 */
+	public Object get(Object instance) throws IllegalAccessException;
+
+	/**
+	 * @param instance an instance of class of field
+	 * @param value new value of field
+	 * @throws IllegalAccessException if field can't be written
+	 */
+	public void set(Object instance, Object value) throws IllegalAccessException;
+
+	/**
+	 * @param instance an instance of class of field
+	 * @param value new value of field
+	 * @throws IllegalAccessException if field can't be written
+	 */
+	public default void setInt(Object instance, int value) throws IllegalAccessException {
+		set(instance, value);
+	}
+
+	/**
+	 * @param instance an instance of class of field
+	 * @param value new value of field
+	 * @throws IllegalAccessException if field can't be written
+	 */
+	public default void setLong(Object instance, long value) throws IllegalAccessException {
+		set(instance, value);
+	}
+
+	/**
+	 * @param instance an instance of class of field
+	 * @param value new value of field
+	 * @throws IllegalAccessException if field can't be written
+	 */
+	public default void setDouble(Object instance, double value) throws IllegalAccessException {
+		set(instance, value);
+	}
+
+	/**
+	 * accessor over {@link Field} reflection
+	 */
+	static final class ReflectionAccessor implements FieldAccessor {
+
+		private final Field field;
+
+		ReflectionAccessor(Field field) {
+			this.field=field;
+		}
+
+		@Override
+		public Field getField() {
+			return field;
+		}
+
+		@Override
+		public Object get(Object instance) throws IllegalAccessException {
+			return field.get(instance);
+		}
+
+		@Override
+		public void set(Object instance, Object value) throws IllegalAccessException {
+			if (value instanceof Number && field.getType().isPrimitive()) value=SQLClassParser.castNumber((Number)value, field.getType());
+			field.set(instance, value);
+		}
+
+		@Override
+		public void setInt(Object instance, int value) throws IllegalAccessException {
+			field.setInt(instance, value);
+		}
+
+		@Override
+		public void setLong(Object instance, long value) throws IllegalAccessException {
+			field.setLong(instance, value);
+		}
+
+		@Override
+		public void setDouble(Object instance, double value) throws IllegalAccessException {
+			field.setDouble(instance, value);
+		}
+	}
+
+	/**
+	 * accessor over {@link MethodHandle}s, typed as <code>(Object)Object</code> and <code>(Object,Object)void</code>
+	 */
+	static final class MethodHandleAccessor implements FieldAccessor {
+
+		private static final MethodType GETTER=MethodType.methodType(Object.class, Object.class);
+		private static final MethodType SETTER=MethodType.methodType(void.class, Object.class, Object.class);
+
+		private final Field field;
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+		/** setter typed <code>(Object,type of field)void</code>, <code>null</code> if field is not int, long or double */
+		private final MethodHandle primitiveSetter;
+
+		MethodHandleAccessor(Field field) throws IllegalAccessException {
+			this.field=field;
+			MethodHandles.Lookup lookup=MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup());
+			getter=lookup.unreflectGetter(field).asType(GETTER);
+			MethodHandle raw=lookup.unreflectSetter(field);
+			setter=MethodHandles.explicitCastArguments(raw, SETTER);
+			Class<?> type=field.getType();
+			primitiveSetter= (type==int.class || type==long.class || type==double.class)?
+					raw.asType(MethodType.methodType(void.class, Object.class, type)) : null;
+		}
+
+		@Override
+		public Field getField() {
+			return field;
+		}
+
+		@Override
+		public Object get(Object instance) {
+			try {
+				return getter.invokeExact(instance);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		}
+
+		@Override
+		public void set(Object instance, Object value) {
+			try {
+				setter.invokeExact(instance, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		}
+
+		@Override
+		public void setInt(Object instance, int value) {
+			if (field.getType()!=int.class) {
+				set(instance, value);
+				return;
+			}
+			try {
+				primitiveSetter.invokeExact(instance, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		}
+
+		@Override
+		public void setLong(Object instance, long value) {
+			if (field.getType()!=long.class) {
+				set(instance, value);
+				return;
+			}
+			try {
+				primitiveSetter.invokeExact(instance, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		}
+
+		@Override
+		public void setDouble(Object instance, double value) {
+			if (field.getType()!=double.class) {
+				set(instance, value);
+				return;
+			}
+			try {
+				primitiveSetter.invokeExact(instance, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		}
+	}
+
+}
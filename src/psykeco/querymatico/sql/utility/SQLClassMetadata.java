@@ -0,0 +1,217 @@
+package psykeco.querymatico.sql.utility;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Reflection data of a class, used to map it into a table:
+ * name of class, fields with their column names and java type names, MySQL types and empty constructor.</br></p>
+ * <p>Data are computed once for every class and cached, get them with {@link #of(Class)}.
+ * Fields and constructor are already accessible, fields are read and written through {@link FieldAccessor}s
+ * created by {@link #accessorFactory(FieldAccessor.Factory)}</br></p>
+ *
+ * @param <T> the described class
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class SQLClassMetadata<T> {
+
+	/** cache of metadata, one for every class */
+	private static final ClassValue<SQLClassMetadata<?>> CACHE=new ClassValue<SQLClassMetadata<?>>() {
+		@Override
+		protected SQLClassMetadata<?> computeValue(Class<?> type) {
+			return new SQLClassMetadata<>(type);
+		}
+	};
+
+	/** factory of accessors of classes not yet cached */
+	private static volatile FieldAccessor.Factory accessorFactory=FieldAccessor.METHOD_HANDLE;
+
+	/** described class */
+	private final Class<T> type;
+	/** name of class, as {@link SQLClassParser#getTrueName(Class)} */
+	private final String trueName;
+	/** mapped fields, synthetic <code>this$</code> fields excluded */
+	private final Field[] fields;
+	/** column names, same order of fields */
+	private final String[] columns;
+	/** java type names of fields, same order of fields */
+	private final String[] typeNames;
+	/** MySQL type of fields as not primary column, same order of fields */
+	private final String[] sqlTypes;
+	/** accessors of fields, same order of fields */
+	private final FieldAccessor[] accessors;
+	/** empty constructor, <code>null</code> if not available */
+	private final Constructor<T> constructor;
+
+	/**
+	 * @param type class to describe
+	 */
+	private SQLClassMetadata(Class<T> type) {
+		this.type=type;
+		this.trueName=SQLClassParser.getTrueName(type);
+
+		Field[] declared=type.getDeclaredFields();
+		int n=0;
+		for (Field x : declared) if (!x.getName().contains("this$")) declared[n++]=x;
+
+		fields=Arrays.copyOf(declared, n);
+		columns=new String[n];
+		typeNames=new String[n];
+		sqlTypes=new String[n];
+		accessors=new FieldAccessor[n];
+		FieldAccessor.Factory factory=accessorFactory;
+		for (int i=0; i<n; i++) {
+			try {
+				fields[i].setAccessible(true);
+			} catch (RuntimeException e) {}
+			columns[i]=fields[i].getName();
+			typeNames[i]=SQLClassParser.getTrueName(fields[i].getType());
+			sqlTypes[i]=SQLClassParser.parseType(typeNames[i], false);
+			accessors[i]=factory.of(fields[i]);
+		}
+
+		Constructor<T> cons=null;
+		try {
+			cons=type.getDeclaredConstructor();
+			cons.setAccessible(true);
+		} catch (NoSuchMethodException | RuntimeException e) {}
+		constructor=cons;
+	}
+
+	/**
+	 * @param <T> the class
+	 * @param type the class
+	 * @return cached metadata of type
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> SQLClassMetadata<T> of(Class<T> type) {
+		return (SQLClassMetadata<T>) CACHE.get(type);
+	}
+
+	/**
+	 * <p>set factory of {@link FieldAccessor}s, default is {@link FieldAccessor#METHOD_HANDLE}.</br></p>
+	 * <p>Metadata are cached, so it affects only classes not used yet: call it at startup</br></p>
+	 * @param factory factory of accessors
+	 */
+	public static void accessorFactory(FieldAccessor.Factory factory) {
+		if (factory!=null) accessorFactory=factory;
+	}
+
+	/**
+	 * @return described class
+	 */
+	public Class<T> getType() {
+		return type;
+	}
+
+	/**
+	 * @return name of class, without package and outer classes
+	 */
+	public String getTrueName() {
+		return trueName;
+	}
+
+	/**
+	 * @return number of mapped fields
+	 */
+	public int size() {
+		return fields.length;
+	}
+
+	/**
+	 * @param i index of field
+	 * @return the field, accessible
+	 */
+	public Field getField(int i) {
+		return fields[i];
+	}
+
+	/**
+	 * @param i index of field
+	 * @return accessor of field
+	 */
+	public FieldAccessor getAccessor(int i) {
+		return accessors[i];
+	}
+
+	/**
+	 * @return mapped fields, accessible
+	 */
+	public List<Field> getFields() {
+		return Collections.unmodifiableList(Arrays.asList(fields));
+	}
+
+	/**
+	 * @param i index of field
+	 * @return column name of field
+	 */
+	public String getColumn(int i) {
+		return columns[i];
+	}
+
+	/**
+	 * @param i index of field
+	 * @return java type name of field
+	 */
+	public String getTypeName(int i) {
+		return typeNames[i];
+	}
+
+	/**
+	 * @param i index of field
+	 * @return MySQL type of field as not primary column
+	 */
+	public String getSqlType(int i) {
+		return sqlTypes[i];
+	}
+
+	/**
+	 * @return <code>true</code> if class has an empty constructor
+	 */
+	public boolean hasEmptyConstructor() {
+		return constructor!=null;
+	}
+
+	/**
+	 * create an instance with empty constructor
+	 * @return new instance
+	 * @throws ReflectiveOperationException if class has not an empty constructor or it fail
+	 */
+	public T newInstance() throws ReflectiveOperationException {
+		if (constructor==null) throw new NoSuchMethodException(type.getName()+".<init>()");
+		return constructor.newInstance();
+	}
+
+	/**
+	 * <p>Build a map of field name and java type name, as {@link SQLClassParser#parseClass(Class)}</br></p>
+	 * @return new Map of &lt; field name, field type &gt;
+	 */
+	public Map<String,String> columnTypes() {
+		Map<String,String> map=new HashMap<>();
+		for (int i=0; i<fields.length; i++) map.put(columns[i], typeNames[i]);
+		return map;
+	}
+
+	/**
+	 * <p>Build a map of field name and value of instance, as {@link SQLClassParser#parseInstance(Class, Object)}.
+	 * Not readable fields have <code>null</code> value</br></p>
+	 * @param instance an instance of described class
+	 * @return new Map &lt; field name, field value &gt;
+	 */
+	public Map<String,Object> values(Object instance) {
+		Map<String,Object> map=new HashMap<>();
+		for (int i=0; i<fields.length; i++) {
+			Object value=null;
+			try {value = accessors[i].get(instance);} catch (Exception e) {}
+			map.put(columns[i], value);
+		}
+		return map;
+	}
+
+}
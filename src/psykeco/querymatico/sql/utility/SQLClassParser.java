@@ -9,15 +9,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import psykeco.querymatico.translations.Translations;
@@ -63,6 +69,14 @@ public final class SQLClassParser {
 		}
 	}//enum
 	
+	/** cache of {@link #getTrueName(Class)}, one for every class */
+	private static final ClassValue<String> TRUE_NAMES=new ClassValue<String>() {
+		@Override
+		protected String computeValue(Class<?> type) {
+			return getTrueName(type.toString());
+		}
+	};
+	
 	/** static class, private constructor */ 
 	private SQLClassParser() {}
 	
@@ -119,12 +133,13 @@ public final class SQLClassParser {
 	 * <p>this function return <code>nameclass</code><br></p>
 	 * 
 	 * <p><br>it work also with subclass paths, with <code>$</code> sign</p>
+	 * <p><br>name is computed once for every class and cached</p>
 	 * 
 	 * @param c the class
 	 * @return name of class
 	 */
 	public static String getTrueName(@SuppressWarnings("rawtypes") Class c) {
-		return getTrueName(c.toString());
+		return TRUE_NAMES.get(c);
 	}
 
 	/**
@@ -150,22 +165,14 @@ public final class SQLClassParser {
 	 *  <li>key : field name</li>
 	 *  <li>value : field type</li>
 	 * </ul>
-	 * <p><br></p>
+	 * <p>Fields are read from cached {@link SQLClassMetadata}<br></p>
 	 * <p><br></p>
 	 * @param c class
 	 * @return Map of &lt; field name, field type &gt;
 	 */
+	@SuppressWarnings("unchecked")
 	public static Map<String,String> parseClass(@SuppressWarnings("rawtypes") Class c){
-		Map<String,String> map= new HashMap<>();
-		Field[] f= c.getDeclaredFields();
-		
-		for ( Field x : f ) {
-			if(x.getName().contains("this$")) continue;
-			String s = getTrueName(x.getType());
-			map.put(x.getName(), s);
-		}
-		
-		return map;
+		return SQLClassMetadata.of((Class<Object>)c).columnTypes();
 	}
 	
 	/**
@@ -177,32 +184,18 @@ public final class SQLClassParser {
 	 *  <li>key : field name</li>
 	 *  <li>value : instance value</li>
 	 * </ul>
-	 * <p><br></p>
+	 * <p>Fields are read from cached {@link SQLClassMetadata}<br></p>
 	 * <p><br></p>
 	 * @param type : a type
 	 * @param instance : an instance of type
 	 * @return Map &lt; field name, field value &gt; of instances
 	 */
+	@SuppressWarnings("unchecked")
 	public static Map<String,Object> parseInstance(@SuppressWarnings("rawtypes") Class type, Object instance){
 		if(!type.isInstance(instance))
 			throw new IllegalArgumentException(Translations.getMsg(WRONG_OBJECT_TYPE,getTrueName(type),getTrueName(instance.getClass())));
 
-		Map<String,Object> mappa=new HashMap<>();
-		
-		Field[] f= type.getDeclaredFields();
-		
-		for ( Field x : f ) {
-			boolean acc=x.isAccessible();
-			if(x.getName().contains("this$")) continue;
-			x.setAccessible(true);
-			Object value=null;
-			try {value = x.get(instance);} catch (Exception e) {}
-			mappa.put(x.getName(), value);
-			x.setAccessible(acc);
-		}
-		
-		return mappa;
-		
+		return SQLClassMetadata.of((Class<Object>)type).values(instance);
 	}
 	
 	/**
@@ -256,6 +249,24 @@ public final class SQLClassParser {
 		
 	}
 
+	/**
+	 * convert a number to wrapper of a numeric primitive type, as a java cast
+	 * @param n a number
+	 * @param c a primitive type
+	 * @return n converted, or n itself if c is not a numeric primitive
+	 */
+	public static Object castNumber(Number n, Class<?> c) {
+		switch (getTrueName(c)) {
+			case "byte"   : return n.byteValue();
+			case "short"  : return n.shortValue();
+			case "int"    : return n.intValue();
+			case "long"   : return n.longValue();
+			case "float"  : return n.floatValue();
+			case "double" : return n.doubleValue();
+		}
+		return n;
+	}
+
 	/**
 	 * <p>Create an instance of a specific type parsing a resultset after a query.<br></p>
 	 * <p>Through name of input field, search specific column with same name, try to 
@@ -281,35 +292,12 @@ public final class SQLClassParser {
 		if(inst==null) return SQLClassParser.nullValue(x.getType());
 		
 		if(x.getType().equals(File.class)) {
-			inst=rs.getBinaryStream(x.getName());
-			File file=File.createTempFile("result", "query");
-			file.deleteOnExit();
-			try(
-				InputStream is=(InputStream) inst;
-				FileOutputStream fos=new FileOutputStream(file);
-			){
-				int data=is.read();
-				while(data!=-1) {
-					fos.write(data);
-					data=is.read();
-				}
-				inst=file;
-			} catch (Exception e) {inst=null;}
+			inst=streamToFile(rs.getBinaryStream(x.getName()));
 		} else if(x.getType().equals(Date.class) || 
 				  x.getType().equals(LocalDateTime.class) || 
 				  x.getType().equals(GregorianCalendar.class)   ) {
 			
-			Timestamp t=(Timestamp) inst;
-			
-			if(x.getType().equals(Date.class)) {
-				inst=Date.from(t.toInstant());
-			}
-			else if(x.getType().equals(LocalDateTime.class)) {
-				inst=LocalDateTime.ofInstant(t.toInstant(),ZoneId.systemDefault());
-			}
-			else if(x.getType().equals(GregorianCalendar.class)) {
-				inst=GregorianCalendar.from(t.toLocalDateTime().atZone(ZoneId.systemDefault()));
-			}
+			inst=parseTimestamp((Timestamp) inst, x.getType());
 		} else {
 			inst=rs.getObject(x.getName(), mapPrimitiveToClass(x.getType()));
 		}
@@ -317,6 +305,45 @@ public final class SQLClassParser {
 		return inst;
 	}
 	
+	/**
+	 * copy a binary stream of a result set into a temporary file, deleted on exit
+	 * @param is the stream, it will be closed
+	 * @return the file, <code>null</code> if stream is <code>null</code> or can't be copied
+	 */
+	public static File streamToFile(InputStream is) {
+		if(is==null) return null;
+		try(
+			InputStream in=is;
+		){
+			File file=File.createTempFile("result", "query");
+			file.deleteOnExit();
+			try(FileOutputStream fos=new FileOutputStream(file)){
+				in.transferTo(fos);
+			}
+			return file;
+		} catch (Exception e) {return null;}
+	}
+	
+	/**
+	 * convert a timestamp of a result set into a date type
+	 * @param t the timestamp, can be <code>null</code>
+	 * @param type {@link Date}, {@link LocalDateTime} or {@link GregorianCalendar}
+	 * @return t converted into type, t itself for other types
+	 */
+	public static Object parseTimestamp(Timestamp t, Class<?> type) {
+		if(t==null) return null;
+		if(type.equals(Date.class)) {
+			return Date.from(t.toInstant());
+		}
+		else if(type.equals(LocalDateTime.class)) {
+			return LocalDateTime.ofInstant(t.toInstant(),ZoneId.systemDefault());
+		}
+		else if(type.equals(GregorianCalendar.class)) {
+			return GregorianCalendar.from(t.toLocalDateTime().atZone(ZoneId.systemDefault()));
+		}
+		return t;
+	}
+	
 	/**
 	 * <p>check if a string not match with database requirement as name of db, table or column.</br></p>
 	 * <p>it must: <br></p>
@@ -467,4 +494,108 @@ public final class SQLClassParser {
 		
 		return "'"+validateValue(o.toString())+"'";
 	}
+
+	/**
+	 * <p>Copy a map of a builder.</br></p>
+	 * <p>Entries are put one at a time into a {@link HashMap} of default capacity, as builders do, 
+	 * so the copy is iterated in the same order of a builder filled with same entries</br></p>
+	 * 
+	 * @param <K> type of keys
+	 * @param <V> type of values
+	 * @param map map to copy
+	 * @return the new map
+	 */
+	public static <K,V> HashMap<K,V> copyOf(Map<K,V> map) {
+		HashMap<K,V> copy=new HashMap<>();
+		for (Entry<K,V> e : map.entrySet()) copy.put(e.getKey(), e.getValue());
+		return copy;
+	}
+
+	/**
+	 * <p>Representation of a value into a statement.</br></p>
+	 * <p>If <code>params</code> is <code>null</code>, value is inlined with {@link #str(Object)}, 
+	 * otherwise the couple column-value is appended to <code>params</code> and a <code>?</code> placeholder is returned</br></p>
+	 * 
+	 * @param params ordered list of bind parameters, <code>null</code> to inline values
+	 * @param column column name the value refers to
+	 * @param value the value
+	 * @return String to put into statement in place of value
+	 */
+	public static String param(List<Entry<String,Object>> params, String column, Object value) {
+		if (params==null) return str(value);
+		params.add(new SimpleEntry<>(column, value));
+		return "?";
+	}
+	
+	/**
+	 * <p>convert a java value into the object to bind on a {@link PreparedStatement}, following same rules of {@link #str(Object)}:</br></p>
+	 * <ul>
+	 * 		<li>{@link Boolean} become 1 or 0</li>
+	 * 		<li>{@link java.util.Date Date}, {@link java.util.GregorianCalendar GregorianCalendar} and {@link java.time.LocalDateTime LocalDateTime} become {@link Timestamp}</li>
+	 * 		<li>{@link File} become its content as <code>byte</code> array</li>
+	 * 		<li>{@link Character} become {@link String}</li>
+	 * </ul>
+	 * 
+	 * @param o the value
+	 * @return value to bind
+	 * @throws IOException if a {@link File} can't be read
+	 */
+	public static Object jdbcValue(Object o) throws IOException {
+		if (o==null) return null;
+		
+		if (o instanceof Boolean) return (Boolean)o ? 1 : 0;
+		
+		if (o instanceof File) return Files.readAllBytes(((File)o).toPath());
+		
+		if (o instanceof Date) return new Timestamp(((Date)o).getTime());
+		if (o instanceof GregorianCalendar) return Timestamp.valueOf(((GregorianCalendar)o).toZonedDateTime().toLocalDateTime());
+		if (o instanceof LocalDateTime) return Timestamp.valueOf((LocalDateTime)o);
+		
+		if (o instanceof Character) return o.toString();
+		
+		return o;
+	}
+	
+	/**
+	 * return {@link Types} constant used to bind a java value 
+	 * @param o the value
+	 * @return {@link Types} constant
+	 */
+	public static int sqlType(Object o) {
+		if (o==null) return Types.NULL;
+		
+		if (o instanceof Integer || o instanceof Boolean) return Types.INTEGER;
+		if (o instanceof Long   ) return Types.BIGINT;
+		if (o instanceof Short  ) return Types.SMALLINT;
+		if (o instanceof Byte   ) return Types.TINYINT;
+		if (o instanceof Double ) return Types.DOUBLE;
+		if (o instanceof Float  ) return Types.REAL;
+		
+		if (o instanceof File   ) return Types.LONGVARBINARY;
+		
+		if( o instanceof Date || 
+			o instanceof GregorianCalendar ||
+			o instanceof LocalDateTime )
+			return Types.TIMESTAMP;
+		
+		return Types.VARCHAR;
+	}
+	
+	/**
+	 * bind every parameter of a {@link psykeco.querymatico.PreparedQuery PreparedQuery} (in order) into the statement
+	 * 
+	 * @param ps statement prepared with {@link psykeco.querymatico.PreparedQuery#getSql() PreparedQuery.getSql()}
+	 * @param params parameters of query
+	 * @throws SQLException if binding fail
+	 * @throws IOException if a {@link File} parameter can't be read
+	 */
+	public static void bind(PreparedStatement ps, List<Entry<String,Object>> params) throws SQLException, IOException {
+		int i=1;
+		for (Entry<String,Object> p : params) {
+			Object value=p.getValue();
+			if(value==null) ps.setNull(i, Types.NULL);
+			else ps.setObject(i, jdbcValue(value), sqlType(value));
+			i++;
+		}
+	}
 }
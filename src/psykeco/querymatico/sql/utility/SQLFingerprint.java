@@ -0,0 +1,189 @@
+package psykeco.querymatico.sql.utility;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Normalized form of a SQL statement, to group statements that differ only by their values.</br></p>
+ * <p>Fingerprint is built replacing:</p>
+ * <ul>
+ * 	<li>string and number literals with <code>?</code></li>
+ * 	<li>lists of values, like <code>IN (?,?,?)</code>, with a single <code>?</code></li>
+ * 	<li>repeated rows of a multi-row insert, like <code>VALUES (?,?),(?,?)</code>, with a single row</li>
+ * 	<li>sequences of blanks with a single space</li>
+ * </ul>
+ * <p>Names between <code>`</code> are kept as they are. First table after <code>FROM</code>, <code>INTO</code>, <code>UPDATE</code> or <code>TABLE</code>
+ * and its db, if present, are also extracted from statement</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class SQLFingerprint {
+
+	/** first table of a statement, with its db */
+	private static final Pattern TABLE=Pattern.compile(
+			"(?i)\\b(?:FROM|INTO|UPDATE|TABLE(?: IF (?:NOT )?EXISTS)?) `((?:[^`]|``)+)`(?:\\.`((?:[^`]|``)+)`)?");
+
+	private final String fingerprint;
+	private final String db;
+	private final String table;
+
+	/**
+	 * @param fingerprint normalized statement
+	 * @param db first db of statement, <code>null</code> if not found
+	 * @param table first table of statement, <code>null</code> if not found
+	 */
+	private SQLFingerprint(String fingerprint, String db, String table) {
+		this.fingerprint=fingerprint;
+		this.db=db;
+		this.table=table;
+	}
+
+	/**
+	 * @param sql a statement, with values or <code>?</code> placeholders
+	 * @return fingerprint of statement
+	 */
+	public static SQLFingerprint of(String sql) {
+		if (sql==null) return new SQLFingerprint("", null, null);
+
+		int n=sql.length();
+		StringBuilder out=new StringBuilder(n);
+		for (int i=0; i<n; i++) {
+			char c=sql.charAt(i);
+			if (c=='`') {
+				int end=closing(sql, i, c);
+				out.append(sql, i, end+1);
+				i=end;
+			} else if (c=='\'' || c=='"') {
+				i=closing(sql, i, c);
+				placeholder(out);
+			} else if (c=='?') {
+				placeholder(out);
+			} else if (c>='0' && c<='9' && !identifier(out)) {
+				while (i+1<n && (Character.isLetterOrDigit(sql.charAt(i+1)) || sql.charAt(i+1)=='.')) i++;
+				placeholder(out);
+			} else if (Character.isWhitespace(c)) {
+				if (out.length()>0 && out.charAt(out.length()-1)!=' ') out.append(' ');
+			} else {
+				out.append(c);
+				if (c==')') collapseRows(out);
+			}
+		}
+		int len=out.length();
+		if (len>0 && out.charAt(len-1)==' ') out.setLength(len-1);
+
+		String fingerprint=out.toString();
+		Matcher m=TABLE.matcher(fingerprint);
+		if (!m.find()) return new SQLFingerprint(fingerprint, null, null);
+		if (m.group(2)==null) return new SQLFingerprint(fingerprint, null, unquote(m.group(1)));
+		return new SQLFingerprint(fingerprint, unquote(m.group(1)), unquote(m.group(2)));
+	}
+
+	/**
+	 * @return normalized statement
+	 */
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	/**
+	 * @return first db of statement, <code>null</code> if not found
+	 */
+	public String getDB() {
+		return db;
+	}
+
+	/**
+	 * @return first table of statement, <code>null</code> if not found
+	 */
+	public String getTable() {
+		return table;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return (o instanceof SQLFingerprint) && fingerprint.equals(((SQLFingerprint) o).fingerprint);
+	}
+
+	@Override
+	public int hashCode() {
+		return fingerprint.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return fingerprint;
+	}
+
+	/**
+	 * @param sql the statement
+	 * @param start index of opening quote
+	 * @param quote the quote
+	 * @return index of closing quote, doubled quotes and escaped characters are skipped
+	 */
+	private static int closing(String sql, int start, char quote) {
+		int n=sql.length();
+		for (int j=start+1; j<n; j++) {
+			char c=sql.charAt(j);
+			if (c=='\\' && quote!='`') j++;
+			else if (c==quote) {
+				if (j+1<n && sql.charAt(j+1)==quote) j++;
+				else return j;
+			}
+		}
+		return n-1;
+	}
+
+	/**
+	 * @param out fingerprint built until now
+	 * @return <code>true</code> if last character is part of a name
+	 */
+	private static boolean identifier(StringBuilder out) {
+		if (out.length()==0) return false;
+		char c=out.charAt(out.length()-1);
+		return Character.isLetterOrDigit(c) || c=='_' || c=='$';
+	}
+
+	/**
+	 * append a <code>?</code>, merging it with a list of <code>?</code> before it
+	 * @param out fingerprint built until now
+	 */
+	private static void placeholder(StringBuilder out) {
+		int len=out.length();
+		if (len>=2 && out.charAt(len-1)==',' && out.charAt(len-2)=='?') out.setLength(len-1);
+		else if (len>=3 && out.charAt(len-1)==' ' && out.charAt(len-2)==',' && out.charAt(len-3)=='?') out.setLength(len-2);
+		else out.append('?');
+	}
+
+	/**
+	 * remove last group between brackets if it is equal to the group before it, like rows of a multi-row insert
+	 * @param out fingerprint built until now, ending with <code>)</code>
+	 */
+	private static void collapseRows(StringBuilder out) {
+		int end=out.length(), depth=0, start=end-1;
+		for (; start>=0; start--) {
+			char c=out.charAt(start);
+			if (c==')') depth++;
+			else if (c=='(' && --depth==0) break;
+		}
+		if (start<0) return;
+
+		int sep=start;
+		if (sep>0 && out.charAt(sep-1)==' ') sep--;
+		if (sep==0 || out.charAt(sep-1)!=',') return;
+		sep--;
+
+		int len=end-start, prev=sep-len;
+		if (prev<0) return;
+		for (int k=0; k<len; k++) if (out.charAt(prev+k)!=out.charAt(start+k)) return;
+		out.setLength(sep);
+	}
+
+	/**
+	 * @param name name between <code>`</code>, without them
+	 * @return name with doubled <code>`</code> replaced by single ones
+	 */
+	private static String unquote(String name) {
+		return name.replace("``", "`");
+	}
+
+}
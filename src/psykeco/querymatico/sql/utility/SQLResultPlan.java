@@ -0,0 +1,146 @@
+package psykeco.querymatico.sql.utility;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>Plan to map rows of a {@link ResultSet} into instances of a class.</br></p>
+ * <p>It is resolved once for a result set with {@link #of(SQLClassMetadata, ResultSet)}:
+ * every field is bound to index of column with same name (case insensitive, first one if more columns have same label)
+ * and to a typed getter of result set chosen by type of field, so rows are read by index, without lookup of column names.
+ * Fields of type <code>int</code>, <code>long</code> and <code>double</code> are written without boxing</br></p>
+ * <p>Fields without a column get their default <code>null</code> value (see {@link SQLClassParser#nullValue(Class)})</br></p>
+ *
+ * @param <T> the class of rows
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class SQLResultPlan<T> {
+
+	/**
+	 * read a column of current row and write it into a field
+	 */
+	@FunctionalInterface
+	private interface ColumnReader {
+		void read(ResultSet rs, int column, FieldAccessor field, Object target) throws SQLException, IOException, IllegalAccessException;
+	}
+
+	/** metadata of class */
+	private final SQLClassMetadata<T> meta;
+	/** index of column of every field, 0 if column is missing */
+	private final int[] columns;
+	/** reader of every field */
+	private final ColumnReader[] readers;
+
+	/**
+	 * @param meta metadata of class
+	 * @param columns index of column of every field
+	 */
+	private SQLResultPlan(SQLClassMetadata<T> meta, int[] columns) {
+		this.meta=meta;
+		this.columns=columns;
+		this.readers=new ColumnReader[columns.length];
+		for (int i=0; i<columns.length; i++) {
+			readers[i]= columns[i]==0 ? SQLResultPlan::missing : reader(meta.getField(i).getType(), meta.getTypeName(i));
+		}
+	}
+
+	/**
+	 * resolve plan of a result set
+	 *
+	 * @param <T> the class of rows
+	 * @param meta metadata of class
+	 * @param rs result set to read
+	 * @return the plan
+	 * @throws SQLException if metadata of result set are not available
+	 */
+	public static <T> SQLResultPlan<T> of(SQLClassMetadata<T> meta, ResultSet rs) throws SQLException {
+		ResultSetMetaData rsmeta=rs.getMetaData();
+		Map<String,Integer> labels=new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		int count=rsmeta.getColumnCount();
+		for (int i=1; i<=count; i++) labels.putIfAbsent(rsmeta.getColumnLabel(i), i);
+
+		int[] columns=new int[meta.size()];
+		for (int i=0; i<columns.length; i++) {
+			Integer index=labels.get(meta.getColumn(i));
+			columns[i]= index==null ? 0 : index;
+		}
+		return new SQLResultPlan<>(meta, columns);
+	}
+
+	/**
+	 * map current row of result set into a new instance
+	 *
+	 * @param rs result set positioned on a row, same of {@link #of(SQLClassMetadata, ResultSet)}
+	 * @return the instance
+	 * @throws SQLException if a column can't be read
+	 * @throws IOException if a binary column can't be copied
+	 * @throws ReflectiveOperationException if class has not an empty constructor or a field can't be written
+	 */
+	public T map(ResultSet rs) throws SQLException, IOException, ReflectiveOperationException {
+		T instance=meta.newInstance();
+		for (int i=0; i<readers.length; i++) readers[i].read(rs, columns[i], meta.getAccessor(i), instance);
+		return instance;
+	}
+
+	/**
+	 * @param i index of field in {@link SQLClassMetadata}
+	 * @return index of column bound to field, 0 if there is no column
+	 */
+	public int getColumn(int i) {
+		return columns[i];
+	}
+
+	/**
+	 * choose getter of result set for a type of field
+	 * @param type type of field
+	 * @param name name of type, as {@link SQLClassParser#getTrueName(Class)}
+	 * @return the reader
+	 */
+	private static ColumnReader reader(Class<?> type, String name) {
+		switch (name) {
+			case "int"    : return (rs,c,f,o) -> f.setInt   (o, rs.getInt(c));
+			case "long"   : return (rs,c,f,o) -> f.setLong  (o, rs.getLong(c));
+			case "double" : return (rs,c,f,o) -> f.setDouble(o, rs.getDouble(c));
+			case "short"  : return (rs,c,f,o) -> f.set(o, rs.getShort(c));
+			case "byte"   : return (rs,c,f,o) -> f.set(o, rs.getByte(c));
+			case "float"  : return (rs,c,f,o) -> f.set(o, rs.getFloat(c));
+			case "boolean": return (rs,c,f,o) -> f.set(o, rs.getBoolean(c));
+
+			case "Integer": return (rs,c,f,o) -> { int     v=rs.getInt(c);     f.set(o, rs.wasNull()? null : v); };
+			case "Long"   : return (rs,c,f,o) -> { long    v=rs.getLong(c);    f.set(o, rs.wasNull()? null : v); };
+			case "Double" : return (rs,c,f,o) -> { double  v=rs.getDouble(c);  f.set(o, rs.wasNull()? null : v); };
+			case "Short"  : return (rs,c,f,o) -> { short   v=rs.getShort(c);   f.set(o, rs.wasNull()? null : v); };
+			case "Byte"   : return (rs,c,f,o) -> { byte    v=rs.getByte(c);    f.set(o, rs.wasNull()? null : v); };
+			case "Float"  : return (rs,c,f,o) -> { float   v=rs.getFloat(c);   f.set(o, rs.wasNull()? null : v); };
+			case "Boolean": return (rs,c,f,o) -> { boolean v=rs.getBoolean(c); f.set(o, rs.wasNull()? null : v); };
+
+			case "String" : return (rs,c,f,o) -> f.set(o, rs.getString(c));
+
+			case "Date"             :
+			case "GregorianCalendar":
+			case "LocalDateTime"    : return (rs,c,f,o) -> f.set(o, SQLClassParser.parseTimestamp(rs.getTimestamp(c), type));
+
+			case "File"   : return (rs,c,f,o) -> f.set(o, SQLClassParser.streamToFile(rs.getBinaryStream(c)));
+		}
+
+		Class<?> wrapper=SQLClassParser.mapPrimitiveToClass(type);
+		Object nullValue=SQLClassParser.nullValue(type);
+		return (rs,c,f,o) -> {
+			Object v=rs.getObject(c, wrapper);
+			f.set(o, v==null? nullValue : v);
+		};
+	}
+
+	/**
+	 * reader of a field without column
+	 */
+	private static void missing(ResultSet rs, int column, FieldAccessor field, Object target) throws IllegalAccessException {
+		field.set(target, SQLClassParser.nullValue(field.getField().getType()));
+	}
+
+}
@@ -0,0 +1,213 @@
+package psykeco.querymatico.sql.utility;
+
+import static psykeco.querymatico.sql.utility.SQLClassParser.getTrueName;
+import static psykeco.querymatico.sql.utility.SQLClassParser.parseType;
+import static psykeco.querymatico.sql.utility.SQLClassParser.validateValue;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_EMPTY;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.VALUE_NOT_VALID;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import psykeco.querymatico.PreparedQuery;
+import psykeco.querymatico.translations.Translations;
+
+/**
+ * <p>Cache of parameterized statements built from instances of a class, used by
+ * {@link psykeco.querymatico.sql.SQLTableMaticO#selectPrepared(Object) selectPrepared},
+ * {@link psykeco.querymatico.sql.SQLTableMaticO#updatePrepared(Object) updatePrepared} and
+ * {@link psykeco.querymatico.sql.SQLTableMaticO#deletePrepared(Object) deletePrepared}.</br></p>
+ * <p>Columns of <code>where</code> and <code>set</code> clausoles depend only on which fields of the instance are not <code>null</code>,
+ * so statement text and order of its parameters are stored once for every {@link Shape shape}:
+ * operation, db, table, prefix, suffix, primary keys and mask of not null fields. Next instances with the same shape only bind their values</br></p>
+ * <p>At most {@link #MAX_SHAPES} shapes are kept for every class, next ones are built every time</br></p>
+ *
+ * @author PsykeDady (psdady@msn.com)
+ */
+public final class SQLShapeCache {
+
+	/** max number of shapes kept for every class */
+	public static final int MAX_SHAPES=256;
+
+	/** operations with a cached shape */
+	public static enum Operation { SELECT, UPDATE, DELETE }
+
+	/**
+	 * key of a shape
+	 */
+	private static final class Key {
+		private final Operation op;
+		private final String db, table, prefix, suffix;
+		private final List<String> primary;
+		private final long mask;
+		private final int hash;
+
+		Key(Operation op, String db, String table, String prefix, String suffix, List<String> primary, long mask) {
+			this.op=op;
+			this.db=db;
+			this.table=table;
+			this.prefix=prefix;
+			this.suffix=suffix;
+			this.primary=primary;
+			this.mask=mask;
+			int h=op.hashCode();
+			h=31*h+Objects.hashCode(db);
+			h=31*h+Objects.hashCode(table);
+			h=31*h+Objects.hashCode(prefix);
+			h=31*h+Objects.hashCode(suffix);
+			h=31*h+Objects.hashCode(primary);
+			this.hash=31*h+Long.hashCode(mask);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key)) return false;
+			Key k=(Key) o;
+			return op==k.op && mask==k.mask && Objects.equals(db, k.db) && Objects.equals(table, k.table)
+					&& Objects.equals(prefix, k.prefix) && Objects.equals(suffix, k.suffix) && Objects.equals(primary, k.primary);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/**
+	 * statement text with <code>?</code> placeholders and index of field bound to every placeholder
+	 */
+	public static final class Shape {
+		private final String sql;
+		private final int[] fields;
+
+		private Shape(String sql, int[] fields) {
+			this.sql=sql;
+			this.fields=fields;
+		}
+
+		/**
+		 * @return statement text with <code>?</code> placeholders
+		 */
+		public String getSql() {
+			return sql;
+		}
+
+		/**
+		 * bind values of an instance to this shape. Values are checked as builders do in their <code>validate()</code>
+		 *
+		 * @param meta metadata of class
+		 * @param values values of fields, same order of metadata
+		 * @return parameterized statement
+		 *
+		 * @throws IllegalArgumentException if a value is not valid
+		 */
+		public PreparedQuery bind(SQLClassMetadata<?> meta, Object[] values) {
+			List<Entry<String,Object>> params=new ArrayList<>(fields.length);
+			for (int i : fields) {
+				String column=meta.getColumn(i);
+				Object value=values[i];
+				String s=value.toString();
+				if (s.equals("")) throw new IllegalArgumentException(Translations.getMsg(VALUE_EMPTY, column));
+				if (STRING_TYPE.equals(parseType(getTrueName(value.getClass()), false)) && validateValue(s)==null)
+					throw new IllegalArgumentException(Translations.getMsg(VALUE_NOT_VALID, s));
+				params.add(new SimpleEntry<>(column, value));
+			}
+			return new PreparedQuery(sql, params);
+		}
+	}
+
+	/** MySQL type of strings, values of this type are checked with {@link SQLClassParser#validateValue(String)} */
+	private static final String STRING_TYPE=parseType("String", false);
+
+	/** shapes of every class */
+	private static final ClassValue<Map<Key,Shape>> CACHE=new ClassValue<Map<Key,Shape>>() {
+		@Override
+		protected Map<Key,Shape> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/** static class, private constructor */
+	private SQLShapeCache() {}
+
+	/**
+	 * @param values values of fields
+	 * @return mask with bit <code>i</code> set if value <code>i</code> is not <code>null</code>,
+	 * <code>-1</code> if there are more than 63 fields and shape can't be cached
+	 */
+	public static long mask(Object[] values) {
+		if (values.length>63) return -1;
+		long mask=0;
+		for (int i=0; i<values.length; i++) if (values[i]!=null) mask|=1L<<i;
+		return mask;
+	}
+
+	/**
+	 * @param type mapped class
+	 * @param op operation
+	 * @param db db name
+	 * @param table table name, without prefix and suffix
+	 * @param prefix prefix of table name
+	 * @param suffix suffix of table name
+	 * @param primary primary keys
+	 * @param mask mask of not null fields, see {@link #mask(Object[])}
+	 * @return cached shape, <code>null</code> if not present
+	 */
+	public static Shape get(Class<?> type, Operation op, String db, String table, String prefix, String suffix, List<String> primary, long mask) {
+		if (mask<0) return null;
+		return CACHE.get(type).get(new Key(op, db, table, prefix, suffix, primary, mask));
+	}
+
+	/**
+	 * store shape of a statement built by a builder. Parameters of statement must refer to fields of class
+	 *
+	 * @param type mapped class
+	 * @param op operation
+	 * @param db db name
+	 * @param table table name, without prefix and suffix
+	 * @param prefix prefix of table name
+	 * @param suffix suffix of table name
+	 * @param primary primary keys, they are copied
+	 * @param mask mask of not null fields, see {@link #mask(Object[])}
+	 * @param built statement built from an instance with given mask
+	 */
+	public static void put(Class<?> type, Operation op, String db, String table, String prefix, String suffix, List<String> primary, long mask, PreparedQuery built) {
+		if (mask<0) return;
+		Map<Key,Shape> shapes=CACHE.get(type);
+		if (shapes.size()>=MAX_SHAPES) return;
+
+		SQLClassMetadata<?> meta=SQLClassMetadata.of(type);
+		List<Entry<String,Object>> params=built.getParameters();
+		int[] fields=new int[params.size()];
+		for (int p=0; p<fields.length; p++) {
+			String column=params.get(p).getKey();
+			int i=0;
+			while (i<meta.size() && !meta.getColumn(i).equals(column)) i++;
+			if (i==meta.size()) return;
+			fields[p]=i;
+		}
+		shapes.putIfAbsent(new Key(op, db, table, prefix, suffix, new ArrayList<>(primary), mask), new Shape(built.getSql(), fields));
+	}
+
+	/**
+	 * @param type mapped class
+	 * @return number of shapes cached for class
+	 */
+	public static int size(Class<?> type) {
+		return CACHE.get(type).size();
+	}
+
+	/**
+	 * remove all shapes of a class
+	 * @param type mapped class
+	 */
+	public static void clear(Class<?> type) {
+		CACHE.get(type).clear();
+	}
+
+}
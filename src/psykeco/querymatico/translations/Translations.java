@@ -91,6 +91,42 @@ public final class Translations {
 		CONSTRUCTOR_ERROR,
 		/** ERR : Connection template is not avaible. 1 parameter */
 		CONNECTION_MATICO_NOT_AVAIBLE(1),
+		/** ERR : parameter can't be bound to statement. 1 parameter */
+		BIND_ERROR(1),
+		/** ERR : connection pool closed. 0 parameters */
+		POOL_CLOSED,
+		/** ERR : no free connection in time. 1 parameter */
+		POOL_TIMEOUT(1),
+		/** WARN : connection borrowed and not released. 1 parameter */
+		CONNECTION_LEAK(1),
+		/** ERR : connection does not pass validation. 1 parameter */
+		CONNECTION_NOT_VALID(1),
+		/** ERR : asynchronous operations need autocommit. 0 parameters */
+		ASYNC_NEED_AUTOCOMMIT,
+		/** ERR : builder is frozen. 1 parameter */
+		BUILDER_FROZEN(1),
+		/** WARN : query slower than threshold. 5 parameters */
+		SLOW_QUERY(5),
+		/** ERR : limit or offset negative. 2 parameters */
+		LIMIT_NOT_VALID(2),
+		/** ERR : seek without order by. 0 parameters */
+		SEEK_WITHOUT_ORDER,
+		/** ERR : column of pages is not a field of class. 2 parameters */
+		PAGE_COLUMN_NOT_FIELD(2),
+		/** ERR : select by keys on a table without a single primary key. 2 parameters */
+		KEYS_NEED_ONE_PRIMARY(2),
+		/** ERR : left or right join without on condition. 1 parameter */
+		JOIN_WITHOUT_ON(1),
+		/** ERR : on condition before a join with type. 0 parameters */
+		ON_WITHOUT_JOIN,
+		/** ERR : offset on a select paged by key. 1 parameter */
+		PAGE_WITH_OFFSET(1),
+		/** ERR : operation rejected by a listener without reason. 1 parameter */
+		QUERY_REJECTED(1),
+		/** ERR : field of an instance can not be read. 3 parameters */
+		FIELD_NOT_READABLE(3),
+		/** ERR : page size not positive. 1 parameter */
+		PAGE_SIZE_NOT_VALID(1),
 		/** ERR: wrong number of parameter for translation KEY. 0 parameters */
 		WRONG_TRANSLATIONS_PARAMETER
 		;
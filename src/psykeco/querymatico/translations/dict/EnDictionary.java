@@ -3,22 +3,40 @@ package psykeco.querymatico.translations.dict;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.AGGREGATE_NOT_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.AGGREGATE_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.ALIAS_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.ASYNC_NEED_AUTOCOMMIT;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BIND_ERROR;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BUILDER_FROZEN;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CLASS_PARAMETERS;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_EMPTY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_LEAK;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_MATICO_NOT_AVAIBLE;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CONSTRUCTOR_ERROR;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.ENTRY_EMPTY;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.FIELD_NOT_READABLE;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.JOIN_WITHOUT_ON;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.KEYS_NEED_ONE_PRIMARY;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.LIMIT_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.NOT_EMPTY_ACCESSIBLE_CONSTRUCTOR;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.NOT_EMPTY_CONSTRUCTOR;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.NOT_SUPPORT_METHOD;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.ON_WITHOUT_JOIN;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.PAGE_COLUMN_NOT_FIELD;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.PAGE_SIZE_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.PAGE_WITH_OFFSET;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.POOL_CLOSED;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.POOL_TIMEOUT;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PORT_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PREFIX_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PRIMARY_KEY_MUST_REFERE;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PRIMARY_NOT_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PSK_NULL;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.QUERY_REJECTED;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.SEEK_WITHOUT_ORDER;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.SLOW_QUERY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.SUFFIX_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NULL;
@@ -75,6 +93,24 @@ public class EnDictionary {
 		dict.put(NOT_EMPTY_ACCESSIBLE_CONSTRUCTOR,"Unaccessible constructor, interface or abstract class. Please provide a class with public empty constructor for mapping");
 		dict.put(CONSTRUCTOR_ERROR,"Error calling class constructor. Please be sure to provide a public empty constructor of class to mapping");
 		dict.put(CONNECTION_MATICO_NOT_AVAIBLE,"not avaible instance of %s class");
+		dict.put(BIND_ERROR,"unable to bind parameter: %s");
+		dict.put(POOL_CLOSED,"connection pool is closed");
+		dict.put(POOL_TIMEOUT,"no free connection available within %s ms");
+		dict.put(CONNECTION_LEAK,"connection borrowed %s ms ago and not yet released, possible leak");
+		dict.put(CONNECTION_NOT_VALID,"connection is not valid (validation %s)");
+		dict.put(ASYNC_NEED_AUTOCOMMIT,"asynchronous operations need autocommit, transactions are bound to a single thread");
+		dict.put(BUILDER_FROZEN,"%s is frozen, change a copy of it");
+		dict.put(SLOW_QUERY,"slow query (%s ms, %s rows, %s on %s): %s");
+		dict.put(LIMIT_NOT_VALID,"%s '%s' is not valid, it must not be negative");
+		dict.put(SEEK_WITHOUT_ORDER,"seekAfter needs an order by column");
+		dict.put(PAGE_COLUMN_NOT_FIELD,"order by column '%s' is not a field of %s");
+		dict.put(KEYS_NEED_ONE_PRIMARY,"select by keys needs exactly one primary key, table %s has %s");
+		dict.put(JOIN_WITHOUT_ON,"%s join needs an on condition");
+		dict.put(ON_WITHOUT_JOIN,"on needs a join with a type");
+		dict.put(PAGE_WITH_OFFSET,"keyset pages can not skip rows with an offset, found offset %s");
+		dict.put(QUERY_REJECTED,"operation rejected by listener %s");
+		dict.put(FIELD_NOT_READABLE,"field %s of %s can not be read: %s");
+		dict.put(PAGE_SIZE_NOT_VALID,"page size %s is not valid, it must be positive");
 		dict.put(WRONG_TRANSLATIONS_PARAMETER,"wrong number of parameter into translation. QueryMaticO Framework problem, submit to github issue: https://github.com/PsykeDady/QueryMaticO");
 
 		
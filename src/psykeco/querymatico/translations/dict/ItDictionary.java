@@ -3,22 +3,40 @@ package psykeco.querymatico.translations.dict;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.AGGREGATE_NOT_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.AGGREGATE_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.ALIAS_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.ASYNC_NEED_AUTOCOMMIT;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BIND_ERROR;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.BUILDER_FROZEN;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CLASS_PARAMETERS;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_EMPTY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.COLUMN_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_LEAK;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_MATICO_NOT_AVAIBLE;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.CONNECTION_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.CONSTRUCTOR_ERROR;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.DB_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.ENTRY_EMPTY;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.FIELD_NOT_READABLE;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.JOIN_WITHOUT_ON;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.KEYS_NEED_ONE_PRIMARY;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.LIMIT_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.NOT_EMPTY_ACCESSIBLE_CONSTRUCTOR;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.NOT_EMPTY_CONSTRUCTOR;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.NOT_SUPPORT_METHOD;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.ON_WITHOUT_JOIN;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.PAGE_COLUMN_NOT_FIELD;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.PAGE_SIZE_NOT_VALID;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.PAGE_WITH_OFFSET;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.POOL_CLOSED;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.POOL_TIMEOUT;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PORT_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PREFIX_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PRIMARY_KEY_MUST_REFERE;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PRIMARY_NOT_NULL;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.PSK_NULL;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.QUERY_REJECTED;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.SEEK_WITHOUT_ORDER;
+import static psykeco.querymatico.translations.Translations.KEY_MSG.SLOW_QUERY;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.SUFFIX_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NOT_VALID;
 import static psykeco.querymatico.translations.Translations.KEY_MSG.TABLE_NULL;
@@ -75,6 +93,24 @@ public final class ItDictionary {
 		dict.put(NOT_EMPTY_ACCESSIBLE_CONSTRUCTOR,"costruttore non accessibile, classe astratta o interfaccia! Prevedere un costruttore vuoto!");
 		dict.put(CONSTRUCTOR_ERROR,"Errore chiamando il costruttore. Prevedere un costruttore vuoto!");
 		dict.put(CONNECTION_MATICO_NOT_AVAIBLE,"%s non disponibile");
+		dict.put(BIND_ERROR,"impossibile associare il parametro: %s");
+		dict.put(POOL_CLOSED,"il pool di connessioni \u00e8 chiuso");
+		dict.put(POOL_TIMEOUT,"nessuna connessione libera entro %s ms");
+		dict.put(CONNECTION_LEAK,"connessione presa %s ms fa e non ancora rilasciata, possibile leak");
+		dict.put(CONNECTION_NOT_VALID,"la connessione non \u00e8 valida (validazione %s)");
+		dict.put(ASYNC_NEED_AUTOCOMMIT,"le operazioni asincrone richiedono autocommit, le transazioni sono legate a un solo thread");
+		dict.put(BUILDER_FROZEN,"%s \u00e8 congelato, modificane una copia");
+		dict.put(SLOW_QUERY,"query lenta (%s ms, %s righe, %s su %s): %s");
+		dict.put(LIMIT_NOT_VALID,"%s '%s' non \u00e8 valido, non deve essere negativo");
+		dict.put(SEEK_WITHOUT_ORDER,"seekAfter richiede una colonna di order by");
+		dict.put(PAGE_COLUMN_NOT_FIELD,"la colonna di order by '%s' non \u00e8 un campo di %s");
+		dict.put(KEYS_NEED_ONE_PRIMARY,"la select per chiavi richiede esattamente una chiave primaria, la tabella %s ne ha %s");
+		dict.put(JOIN_WITHOUT_ON,"il join %s richiede una condizione on");
+		dict.put(ON_WITHOUT_JOIN,"on richiede un join con un tipo");
+		dict.put(PAGE_WITH_OFFSET,"le pagine per chiave non possono saltare righe con un offset, trovato offset %s");
+		dict.put(QUERY_REJECTED,"operazione rifiutata dal listener %s");
+		dict.put(FIELD_NOT_READABLE,"il campo %s di %s non pu\u00f2 essere letto: %s");
+		dict.put(PAGE_SIZE_NOT_VALID,"la dimensione di pagina %s non \u00e8 valida, deve essere positiva");
 		dict.put(WRONG_TRANSLATIONS_PARAMETER,"numero errato di parametri per questa traduzione. Segnala l'errore su github: https://github.com/PsykeDady/QueryMaticO");
 
 		
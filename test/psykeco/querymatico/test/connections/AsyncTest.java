@@ -0,0 +1,66 @@
+package psykeco.querymatico.test.connections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.ConnectionMaticO;
+import psykeco.querymatico.DBMaticO;
+import psykeco.querymatico.TableMaticO;
+import psykeco.querymatico.sql.SQLConnectionMaticO;
+import psykeco.querymatico.sql.SQLDBMaticO;
+import psykeco.querymatico.sql.SQLTableMaticO;
+import psykeco.querymatico.sql.runners.AsyncMySqlConnection;
+import psykeco.querymatico.sql.runners.MySqlConnection;
+
+class AsyncTest {
+
+	static class Entita {
+		int id;
+		String name;
+
+		public Entita(){}
+		Entita(int id, String name){
+			this.id=id;
+			this.name=name;
+		}
+	}
+
+	@Test
+	void test() {
+		final String DBNAME="DBAsync";
+		File pskf=new File("psk");
+		String psk="";
+		try(Scanner sc=new Scanner(pskf)){
+			psk=sc.nextLine();
+		} catch(Exception e) {}
+		ConnectionMaticO cnnf= new SQLConnectionMaticO().psk(psk).autocommit(true);
+
+		MySqlConnection.createConnection((SQLConnectionMaticO) cnnf);
+		MySqlConnection mysql = new MySqlConnection();
+		DBMaticO dbc = new SQLDBMaticO().DB(DBNAME);
+		TableMaticO tc = new SQLTableMaticO().DB(DBNAME).table(Entita.class).primary("id");
+		try (AsyncMySqlConnection async=new AsyncMySqlConnection()) {
+			mysql.exec(dbc.create());
+			mysql.exec(tc.create());
+
+			List<CompletableFuture<Integer>> inserts=new ArrayList<>();
+			for(int i=0;i<20;i++) inserts.add(async.exec(tc.insertData(new Entita(i,"name "+i))));
+			for(CompletableFuture<Integer> f : inserts) assertEquals(1, (int) f.join());
+
+			List<CompletableFuture<List<Entita>>> selects=new ArrayList<>();
+			for(int i=0;i<5;i++) selects.add(async.queryList(Entita.class, tc.selectData(null)));
+			for(CompletableFuture<List<Entita>> f : selects) assertEquals(20, f.join().size());
+			assertEquals(0, MySqlConnection.getPool().active());
+		} finally {
+			mysql.exec(dbc.drop());
+		}
+	}
+
+}
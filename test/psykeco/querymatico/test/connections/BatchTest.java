@@ -0,0 +1,68 @@
+package psykeco.querymatico.test.connections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.ConnectionMaticO;
+import psykeco.querymatico.DBMaticO;
+import psykeco.querymatico.QueryMaticO;
+import psykeco.querymatico.TableMaticO;
+import psykeco.querymatico.sql.SQLConnectionMaticO;
+import psykeco.querymatico.sql.SQLDBMaticO;
+import psykeco.querymatico.sql.SQLTableMaticO;
+import psykeco.querymatico.sql.runners.MySqlConnection;
+
+class BatchTest {
+
+	static class Entita {
+		int id;
+		String name;
+
+		public Entita(){}
+		Entita(int id, String name){
+			this.id=id;
+			this.name=name;
+		}
+	}
+
+	@Test
+	void test() {
+		final String DBNAME="DBBatch";
+		File pskf=new File("psk");
+		String psk="";
+		try(Scanner sc=new Scanner(pskf)){
+			psk=sc.nextLine();
+		} catch(Exception e) {}
+		ConnectionMaticO cnnf= new SQLConnectionMaticO().psk(psk).autocommit(true).rewriteBatched(true);
+
+		MySqlConnection.createConnection((SQLConnectionMaticO) cnnf);
+		MySqlConnection mysql = new MySqlConnection().batchSize(10);
+		DBMaticO dbc = new SQLDBMaticO().DB(DBNAME);
+		TableMaticO tc = new SQLTableMaticO().DB(DBNAME).table(Entita.class).primary("id");
+		try {
+			mysql.exec(dbc.create());
+			mysql.exec(tc.create());
+
+			List<QueryMaticO> commands=new ArrayList<>();
+			for(int i=0;i<25;i++) commands.add(tc.insertData(new Entita(i,"name "+i)));
+			commands.add(tc.updateData(new Entita(3,"updated")));
+			commands.add(tc.deleteData(new Entita(4,"name 4")));
+
+			int[] counts=mysql.exec(commands);
+			if(!mysql.getErrMsg().equals("")) throw new IllegalArgumentException(mysql.getErrMsg());
+			assertEquals(27, counts.length);
+
+			List<Entita> l=mysql.queryList(Entita.class, tc.selectData(null).build());
+			assertEquals(24, l.size());
+		} finally {
+			mysql.exec(dbc.drop());
+		}
+	}
+
+}
@@ -0,0 +1,80 @@
+package psykeco.querymatico.test.connections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.ConnectionMaticO;
+import psykeco.querymatico.DBMaticO;
+import psykeco.querymatico.QueryMaticO;
+import psykeco.querymatico.TableMaticO;
+import psykeco.querymatico.sql.SQLConnectionMaticO;
+import psykeco.querymatico.sql.SQLDBMaticO;
+import psykeco.querymatico.sql.SQLDeleteMaticO;
+import psykeco.querymatico.sql.SQLTableMaticO;
+import psykeco.querymatico.sql.runners.MySqlConnection;
+import psykeco.querymatico.sql.runners.QueryListener;
+import psykeco.querymatico.sql.runners.QueryMetrics.Operation;
+import psykeco.querymatico.sql.runners.QueryRejectedException;
+
+class ListenerTest {
+
+	static class Entita {
+		int id;
+		String name;
+
+		public Entita(){}
+		Entita(int id, String name){
+			this.id=id;
+			this.name=name;
+		}
+	}
+
+	@Test
+	void test() {
+		final String DBNAME="DBListener";
+		File pskf=new File("psk");
+		String psk="";
+		try(Scanner sc=new Scanner(pskf)){
+			psk=sc.nextLine();
+		} catch(Exception e) {}
+		ConnectionMaticO cnnf= new SQLConnectionMaticO().psk(psk).autocommit(true);
+
+		MySqlConnection.createConnection((SQLConnectionMaticO) cnnf);
+		MySqlConnection mysql = new MySqlConnection();
+		DBMaticO dbc = new SQLDBMaticO().DB(DBNAME);
+		TableMaticO tc = new SQLTableMaticO().DB(DBNAME).table(Entita.class).primary("id");
+		List<String> errors=new ArrayList<>();
+		QueryListener readOnly=new QueryListener() {
+			@Override
+			public void beforeExecute(Operation op, QueryMaticO query, String sql) {
+				if (query instanceof SQLDeleteMaticO) throw new QueryRejectedException("read only");
+			}
+			@Override
+			public void onError(Operation op, QueryMaticO query, String sql, long nanos, String errMsg) {
+				errors.add(errMsg);
+			}
+		};
+		try {
+			mysql.exec(dbc.create());
+			mysql.exec(tc.create());
+			mysql.exec(tc.insertData(new Entita(1,"name")));
+
+			MySqlConnection.addListener(readOnly);
+			assertEquals("read only", mysql.exec(tc.deleteData(new Entita(1,null))));
+			assertEquals(List.of("read only"), errors);
+			assertEquals(1, mysql.queryList(Entita.class, tc.selectData(null)).size());
+			assertTrue(mysql.getErrMsg().equals(""));
+		} finally {
+			MySqlConnection.removeListener(readOnly);
+			mysql.exec(dbc.drop());
+		}
+	}
+
+}
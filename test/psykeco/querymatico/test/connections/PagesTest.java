@@ -0,0 +1,79 @@
+package psykeco.querymatico.test.connections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.ConnectionMaticO;
+import psykeco.querymatico.DBMaticO;
+import psykeco.querymatico.TableMaticO;
+import psykeco.querymatico.sql.SQLConnectionMaticO;
+import psykeco.querymatico.sql.SQLDBMaticO;
+import psykeco.querymatico.sql.SQLTableMaticO;
+import psykeco.querymatico.sql.runners.MySqlConnection;
+
+class PagesTest {
+
+	static class Entita {
+		int id;
+		String name;
+
+		public Entita(){}
+		Entita(int id, String name){
+			this.id=id;
+			this.name=name;
+		}
+	}
+
+	@Test
+	void test() {
+		final String DBNAME="DBPages";
+		File pskf=new File("psk");
+		String psk="";
+		try(Scanner sc=new Scanner(pskf)){
+			psk=sc.nextLine();
+		} catch(Exception e) {}
+		ConnectionMaticO cnnf= new SQLConnectionMaticO().psk(psk).autocommit(true);
+
+		MySqlConnection.createConnection((SQLConnectionMaticO) cnnf);
+		MySqlConnection mysql = new MySqlConnection();
+		DBMaticO dbc = new SQLDBMaticO().DB(DBNAME);
+		TableMaticO tc = new SQLTableMaticO().DB(DBNAME).table(Entita.class).primary("id");
+		try {
+			mysql.exec(dbc.create());
+			mysql.exec(tc.create());
+			List<Entita> entities=new ArrayList<>();
+			for(int i=0;i<95;i++) entities.add(new Entita(i,"name "+i));
+			mysql.exec(tc.insertData(entities));
+
+			List<Integer> sizes=new ArrayList<>();
+			int sum=0;
+			for (List<Entita> page : mysql.queryPages(Entita.class, tc.selectData(null).orderBy("id", true), 10)) {
+				sizes.add(page.size());
+				for (Entita e : page) sum+=e.id;
+			}
+			if(!mysql.getErrMsg().equals("")) throw new IllegalArgumentException(mysql.getErrMsg());
+			assertEquals(10, sizes.size());
+			assertEquals(5, (int) sizes.get(9));
+			assertEquals(4465, sum);
+
+			List<Entita> third=mysql.queryList(Entita.class, tc.selectData(null).orderBy("id", true).limit(10).offset(20));
+			assertEquals(20, third.get(0).id);
+			assertEquals(10, third.size());
+
+			assertThrows(IllegalArgumentException.class, () -> 
+				mysql.queryPages(Entita.class, tc.selectData(null).orderBy("id", true).offset(20), 10));
+			assertThrows(IllegalArgumentException.class, () -> 
+				mysql.queryPages(Entita.class, tc.selectData(null).orderBy("id", true), 0));
+		} finally {
+			mysql.exec(dbc.drop());
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package psykeco.querymatico.test.connections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.sql.SQLConnectionMaticO;
+import psykeco.querymatico.sql.runners.MySqlConnection;
+import psykeco.querymatico.sql.runners.PooledConnection;
+import psykeco.querymatico.sql.runners.SQLConnectionPool;
+
+class PoolTest {
+
+	private static SQLConnectionMaticO connMaticO() {
+		File pskf=new File("psk");
+		String psk="";
+		try(Scanner sc=new Scanner(pskf)){
+			psk=sc.nextLine();
+		} catch(Exception e) {}
+		return (SQLConnectionMaticO) new SQLConnectionMaticO().psk(psk).autocommit(true);
+	}
+
+	@Test
+	void test() throws InterruptedException {
+		SQLConnectionMaticO cnnf=connMaticO();
+
+		MySqlConnection.reset();
+		SQLConnectionPool pool=new SQLConnectionPool(cnnf).minSize(2).maxSize(4);
+		MySqlConnection.createConnection(pool);
+		try {
+			List<String> errors=new ArrayList<>();
+			List<Thread> threads=new ArrayList<>();
+			for(int i=0;i<8;i++) {
+				Thread t=new Thread(() -> {
+					MySqlConnection m=new MySqlConnection();
+					for(int j=0;j<20;j++) {
+						m.queryMap("SELECT 1");
+						if(!m.getErrMsg().equals("")) synchronized(errors) { errors.add(m.getErrMsg()); }
+					}
+				});
+				threads.add(t);
+				t.start();
+			}
+			for(Thread t : threads) t.join();
+
+			assertEquals(0, errors.size());
+			assertEquals(0, pool.active());
+			assertTrue(pool.total() <= 4);
+		} finally {
+			MySqlConnection.reset();
+		}
+	}
+
+	@Test
+	void testValidation() throws Exception {
+		SQLConnectionPool pool=new SQLConnectionPool(connMaticO()).minSize(1).maxSize(1).validation(SQLConnectionPool.Validation.PING);
+		pool.start();
+		try {
+			for (SQLConnectionPool.Validation v : SQLConnectionPool.Validation.values()) {
+				try (PooledConnection pc=pool.borrow()) {
+					assertTrue(v.validate(pc.getConnection(), 1000));
+				}
+			}
+
+			PooledConnection broken=pool.borrow();
+			broken.getConnection().close();
+			assertFalse(pool.validate(broken));
+			broken.close();
+			assertEquals(0, pool.total());
+
+			try (PooledConnection pc=pool.borrow()) {
+				assertTrue(pool.validate(pc));
+			}
+		} finally {
+			pool.close();
+		}
+	}
+
+	@Test
+	void testStatementCache() throws Exception {
+		SQLConnectionPool pool=new SQLConnectionPool(connMaticO()).minSize(1).maxSize(1).statementCacheSize(2);
+		pool.start();
+		try {
+			PreparedStatement first;
+			try (PooledConnection pc=pool.borrow()) {
+				first=pc.prepareStatement("SELECT ?");
+				PreparedStatement other=pc.prepareStatement("SELECT ?");
+				assertNotSame(first, other);
+				pc.closeStatement("SELECT ?", first);
+				pc.closeStatement("SELECT ?", other);
+				assertTrue(other.isClosed());
+			}
+			try (PooledConnection pc=pool.borrow()) {
+				assertSame(first, pc.prepareStatement("SELECT ?"));
+				pc.closeStatement("SELECT ?", first);
+				for (String sql : new String[] {"SELECT 1", "SELECT 2"}) pc.closeStatement(sql, pc.prepareStatement(sql));
+				assertTrue(first.isClosed());
+			}
+			assertEquals(1, pool.getStatementStats().getHits());
+			assertEquals(4, pool.getStatementStats().getMisses());
+			assertEquals(1, pool.getStatementStats().getEvictions());
+		} finally {
+			pool.close();
+		}
+	}
+
+}
@@ -0,0 +1,151 @@
+package psykeco.querymatico.test.connections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.ConnectionMaticO;
+import psykeco.querymatico.DBMaticO;
+import psykeco.querymatico.TableMaticO;
+import psykeco.querymatico.sql.SQLConnectionMaticO;
+import psykeco.querymatico.sql.SQLDBMaticO;
+import psykeco.querymatico.sql.SQLSelectMaticO;
+import psykeco.querymatico.sql.SQLTableMaticO;
+import psykeco.querymatico.sql.runners.MySqlConnection;
+
+class PublisherTest {
+
+	static class Entita {
+		int id;
+		String name;
+
+		public Entita(){}
+		Entita(int id, String name){
+			this.id=id;
+			this.name=name;
+		}
+	}
+
+	/** request rows two at a time and cancel after a limit */
+	static class Collector implements Flow.Subscriber<Entita> {
+		final List<Entita> rows=new ArrayList<>();
+		final int limit;
+		/** counted down on complete, error or cancel */
+		final CountDownLatch finished=new CountDownLatch(1);
+		Flow.Subscription subscription;
+		boolean completed;
+		Throwable error;
+
+		Collector(int limit) {
+			this.limit=limit;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription=subscription;
+			subscription.request(2);
+		}
+
+		@Override
+		public void onNext(Entita item) {
+			rows.add(item);
+			if (rows.size()==limit) {
+				subscription.cancel();
+				finished.countDown();
+			}
+			else if (rows.size()%2==0) subscription.request(2);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error=throwable;
+			finished.countDown();
+		}
+
+		@Override
+		public void onComplete() {
+			completed=true;
+			finished.countDown();
+		}
+	}
+
+	@Test
+	void test() {
+		final String DBNAME="DBPublisher";
+		File pskf=new File("psk");
+		String psk="";
+		try(Scanner sc=new Scanner(pskf)){
+			psk=sc.nextLine();
+		} catch(Exception e) {}
+		ConnectionMaticO cnnf= new SQLConnectionMaticO().psk(psk).autocommit(true);
+
+		MySqlConnection.createConnection((SQLConnectionMaticO) cnnf);
+		MySqlConnection mysql = new MySqlConnection();
+		DBMaticO dbc = new SQLDBMaticO().DB(DBNAME);
+		TableMaticO tc = new SQLTableMaticO().DB(DBNAME).table(Entita.class).primary("id");
+		try {
+			mysql.exec(dbc.create());
+			mysql.exec(tc.create());
+			List<Entita> entities=new ArrayList<>();
+			for(int i=0;i<50;i++) entities.add(new Entita(i,"name "+i));
+			mysql.exec(tc.insertData(entities));
+
+			int active=MySqlConnection.getPool().active();
+			Flow.Publisher<Entita> publisher=mysql.queryPublisher(Entita.class, tc.selectData(null), null);
+
+			Collector all=new Collector(-1);
+			publisher.subscribe(all);
+			assertEquals(50, all.rows.size());
+			assertTrue(all.completed);
+			assertEquals(active, MySqlConnection.getPool().active());
+
+			Collector some=new Collector(7);
+			publisher.subscribe(some);
+			assertEquals(7, some.rows.size());
+			assertEquals(false, some.completed);
+			assertEquals(null, some.error);
+			assertEquals(active, MySqlConnection.getPool().active());
+
+			ExecutorService executor=Executors.newFixedThreadPool(4);
+			try {
+				Flow.Publisher<Entita> async=mysql.queryPublisher(Entita.class, tc.selectData(null), executor);
+				Flow.Publisher<Entita> missing=mysql.queryPublisher(Entita.class, new SQLSelectMaticO().DB(DBNAME).table("Missing"), executor);
+				Collector first=new Collector(-1), second=new Collector(-1), failed=new Collector(-1), failedToo=new Collector(-1);
+				async.subscribe(first);
+				missing.subscribe(failed);
+				async.subscribe(second);
+				missing.subscribe(failedToo);
+				for (int i=0; i<20; i++) assertEquals(50, mysql.queryList(Entita.class, tc.selectData(null)).size());
+				assertEquals("", mysql.getErrMsg());
+
+				for (Collector collector : new Collector[] {first, second, failed, failedToo}) 
+					assertTrue(collector.finished.await(30, TimeUnit.SECONDS));
+				assertEquals(50, first.rows.size());
+				assertEquals(50, second.rows.size());
+				assertTrue(first.completed && second.completed);
+				assertTrue(failed.error!=null && !failed.error.getMessage().equals(""));
+				assertTrue(failedToo.error!=null && !failedToo.error.getMessage().equals(""));
+				assertEquals("", mysql.getErrMsg());
+				assertEquals(active, MySqlConnection.getPool().active());
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			} finally {
+				executor.shutdown();
+			}
+		} finally {
+			mysql.exec(dbc.drop());
+		}
+	}
+
+}
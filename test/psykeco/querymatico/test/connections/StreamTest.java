@@ -0,0 +1,72 @@
+package psykeco.querymatico.test.connections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.ConnectionMaticO;
+import psykeco.querymatico.DBMaticO;
+import psykeco.querymatico.TableMaticO;
+import psykeco.querymatico.sql.SQLConnectionMaticO;
+import psykeco.querymatico.sql.SQLDBMaticO;
+import psykeco.querymatico.sql.SQLTableMaticO;
+import psykeco.querymatico.sql.runners.MySqlConnection;
+
+class StreamTest {
+
+	static class Entita {
+		int id;
+		String name;
+
+		public Entita(){}
+		Entita(int id, String name){
+			this.id=id;
+			this.name=name;
+		}
+	}
+
+	@Test
+	void test() {
+		final String DBNAME="DBStream";
+		File pskf=new File("psk");
+		String psk="";
+		try(Scanner sc=new Scanner(pskf)){
+			psk=sc.nextLine();
+		} catch(Exception e) {}
+		ConnectionMaticO cnnf= new SQLConnectionMaticO().psk(psk).autocommit(true);
+
+		MySqlConnection.createConnection((SQLConnectionMaticO) cnnf);
+		MySqlConnection mysql = new MySqlConnection();
+		DBMaticO dbc = new SQLDBMaticO().DB(DBNAME);
+		TableMaticO tc = new SQLTableMaticO().DB(DBNAME).table(Entita.class).primary("id");
+		try {
+			mysql.exec(dbc.create());
+			mysql.exec(tc.create());
+			List<Entita> entities=new ArrayList<>();
+			for(int i=0;i<100;i++) entities.add(new Entita(i,"name "+i));
+			mysql.exec(tc.insertData(entities));
+
+			int active=MySqlConnection.getPool().active();
+			try(Stream<Entita> s=mysql.queryStream(Entita.class, tc.selectData(null))){
+				assertEquals(active+1, MySqlConnection.getPool().active());
+				assertEquals(4950, s.mapToInt(e -> e.id).sum());
+			}
+			if(!mysql.getErrMsg().equals("")) throw new IllegalArgumentException(mysql.getErrMsg());
+			assertEquals(active, MySqlConnection.getPool().active());
+
+			try(Stream<Entita> s=mysql.queryStream(Entita.class, tc.selectData(null))){
+				assertEquals(5, s.limit(5).count());
+			}
+			assertEquals(active, MySqlConnection.getPool().active());
+		} finally {
+			mysql.exec(dbc.drop());
+		}
+	}
+
+}
@@ -0,0 +1,79 @@
+package psykeco.querymatico.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.sql.utility.FieldAccessor;
+import psykeco.querymatico.sql.utility.SQLClassMetadata;
+import psykeco.querymatico.sql.utility.SQLClassParser;
+
+class ClassMetadataTest {
+
+	class Entita {
+		int chiave;
+		String campo;
+		Integer anotherCampo;
+
+		Entita(){}
+	}
+
+	@Test
+	void testMetadata() {
+		SQLClassMetadata<Entita> meta=SQLClassMetadata.of(Entita.class);
+		assertSame(meta, SQLClassMetadata.of(Entita.class));
+		assertEquals("Entita", meta.getTrueName());
+		assertEquals(3, meta.size());
+		assertEquals(false, meta.hasEmptyConstructor());
+
+		Map<String,String> columns=SQLClassParser.parseClass(Entita.class);
+		assertEquals(3, columns.size());
+		assertEquals("int", columns.get("chiave"));
+		assertEquals("String", columns.get("campo"));
+		assertEquals("Integer", columns.get("anotherCampo"));
+	}
+
+	static class Numeri {
+		long l;
+		short s;
+		double d;
+		String str;
+	}
+
+	@Test
+	void testAccessors() throws IllegalAccessException {
+		SQLClassMetadata<Numeri> meta=SQLClassMetadata.of(Numeri.class);
+		for (FieldAccessor.Factory factory : new FieldAccessor.Factory[] {FieldAccessor.REFLECTION, FieldAccessor.METHOD_HANDLE}) {
+			Numeri n=new Numeri();
+			for (int i=0; i<meta.size(); i++) {
+				FieldAccessor a=factory.of(meta.getField(i));
+				a.set(n, a.getField().getType().isPrimitive()? (Object)5 : "cinque");
+			}
+			assertEquals(5L, n.l);
+			assertEquals((short)5, n.s);
+			assertEquals(5d, n.d);
+			assertEquals("cinque", n.str);
+			assertEquals(5L, factory.of(meta.getField(0)).get(n));
+		}
+	}
+
+	@Test
+	void testInstance() {
+		Entita e=new Entita();
+		e.chiave=1;
+		e.campo="primo";
+
+		Map<String,Object> values=SQLClassParser.parseInstance(Entita.class, e);
+		assertEquals(3, values.size());
+		assertEquals(1, values.get("chiave"));
+		assertEquals("primo", values.get("campo"));
+		assertEquals(null, values.get("anotherCampo"));
+
+		values.put("campo", "changed");
+		assertEquals("primo", SQLClassParser.parseInstance(Entita.class, e).get("campo"));
+	}
+
+}
@@ -2,6 +2,13 @@ package psykeco.querymatico.test.syntax;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.Test;
 
@@ -11,6 +18,7 @@ import psykeco.querymatico.sql.SQLDeleteMaticO;
 import psykeco.querymatico.sql.SQLInsertMaticO;
 import psykeco.querymatico.sql.SQLSelectMaticO;
 import psykeco.querymatico.sql.SQLTableMaticO;
+import psykeco.querymatico.sql.SQLUpdateMaticO;
 
 class CopyTest {
 
@@ -122,4 +130,77 @@ class CopyTest {
 		assertNotEquals(s, s2);
 	}
 
+	@Test
+	void testUpdate () {
+		QueryMaticO s = new SQLUpdateMaticO().DB("TestDB").
+				table("TestTable")
+				.entry("campo","questo e un test")
+				.filter("chiave",5);
+		
+		QueryMaticO s2= s.copy().DB("DBTest");
+		
+		assertEquals(s.build().replace("TestDB", "DBTest"),s2.build());
+	}
+	
+	@Test
+	void testCopyOnWrite () {
+		QueryMaticO s = new SQLSelectMaticO().DB("TestDB").table("TestTable")
+				.entry("chiave",null)
+				.filter("colonna 1", "stringa 1");
+		String expected=s.build();
+		
+		QueryMaticO s2= s.copy().filter("colonna 2", 5).entry("campo", null);
+		s.copy().filter("colonna 3", 6);
+		assertEquals(expected, s.build());
+		assertEquals(
+			"SELECT `campo`,`chiave` FROM `TestDB`.`TestTable` WHERE 1=1 AND `colonna 2`=5 AND `colonna 1`='stringa 1'",
+			s2.build()
+		);
+		
+		s.filter("colonna 4", 7);
+		assertEquals(
+			"SELECT `campo`,`chiave` FROM `TestDB`.`TestTable` WHERE 1=1 AND `colonna 2`=5 AND `colonna 1`='stringa 1'",
+			s2.build()
+		);
+	}
+	
+	@Test
+	void testFreeze () {
+		QueryMaticO template = new SQLDeleteMaticO().DB("TestDB").table("TestTable")
+				.filter("colonna 1", "stringa 1").freeze();
+		
+		assertThrows(IllegalStateException.class, () -> template.filter("colonna 2", 5));
+		assertThrows(IllegalStateException.class, () -> template.DB("DBTest"));
+		
+		QueryMaticO s2= template.copy().DB("DBTest").filter("colonna 2", 5);
+		assertEquals(false, s2.isFrozen());
+		assertEquals("DELETE FROM `TestDB`.`TestTable` WHERE 1=1 AND `colonna 1`='stringa 1'", template.build());
+		assertEquals("DELETE FROM `DBTest`.`TestTable` WHERE 1=1 AND `colonna 2`=5 AND `colonna 1`='stringa 1'", s2.build());
+	}
+
+	@Test
+	void testSharedTemplate () throws Exception {
+		QueryMaticO template = new SQLUpdateMaticO().DB("Test`DB").table("Test`Table")
+				.entry("campo","questo e un test")
+				.filter("chiave",5).freeze();
+		String expected="UPDATE `Test``DB`.`Test``Table` SET `campo`='questo e un test' WHERE 1=1 AND `chiave`=5";
+		
+		assertEquals(expected, template.build());
+		assertEquals(expected, template.build());
+		assertEquals("Test`DB", template.getDB());
+		assertEquals("Test`Table", template.getTable());
+		
+		TableMaticO table = new SQLTableMaticO().DB("Test`DB").table(Entita.class);
+		assertEquals(table.drop(), table.drop());
+		
+		ExecutorService executor=Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> builds=new ArrayList<>();
+			for (int i=0; i<100; i++) builds.add(executor.submit(() -> template.build()));
+			for (Future<String> f : builds) assertEquals(expected, f.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 }
@@ -0,0 +1,174 @@
+package psykeco.querymatico.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import jdk.jfr.EventType;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.sql.SQLDeleteMaticO;
+import psykeco.querymatico.sql.SQLInsertMaticO;
+import psykeco.querymatico.sql.SQLSelectMaticO;
+import psykeco.querymatico.sql.runners.HydrationEvent;
+import psykeco.querymatico.sql.runners.LatencyHistogram;
+import psykeco.querymatico.sql.runners.MySqlConnection;
+import psykeco.querymatico.sql.runners.QueryEvent;
+import psykeco.querymatico.sql.runners.QueryListener;
+import psykeco.querymatico.sql.runners.QueryMetrics.Operation;
+import psykeco.querymatico.sql.runners.QueryMetricsRegistry;
+import psykeco.querymatico.sql.runners.QueryStats;
+import psykeco.querymatico.sql.runners.SlowQueryLog;
+import psykeco.querymatico.sql.runners.SlowQueryLog.SlowQuery;
+import psykeco.querymatico.sql.utility.SQLFingerprint;
+
+class MetricsTest {
+
+	@Test
+	void testFingerprint () {
+		String a=new SQLSelectMaticO().DB("TestDB").table("TestTable").filter("colonna 1", "stringa 1").filter("colonna 2",5).build();
+		String b=new SQLSelectMaticO().DB("TestDB").table("TestTable").filter("colonna 1", "it's").filter("colonna 2",-12).build();
+		String p=new SQLSelectMaticO().DB("TestDB").table("TestTable").filter("colonna 1", "x").filter("colonna 2",5).buildPrepared().getSql();
+		
+		SQLFingerprint fp=SQLFingerprint.of(a);
+		assertEquals("SELECT * FROM `TestDB`.`TestTable` WHERE ?=? AND `colonna 2`=? AND `colonna 1`=?", fp.getFingerprint());
+		assertEquals(fp, SQLFingerprint.of(b.replace("-", "")));
+		assertEquals(fp, SQLFingerprint.of(p));
+		assertEquals("TestDB", fp.getDB());
+		assertEquals("TestTable", fp.getTable());
+		
+		assertEquals("SELECT * FROM `t1` WHERE `id` IN (?)", SQLFingerprint.of("SELECT  *\n FROM `t1` WHERE `id` IN (1, 2,3)").getFingerprint());
+		assertEquals("t1", SQLFingerprint.of("SELECT * FROM `t1`").getTable());
+		assertNull(SQLFingerprint.of("SELECT * FROM `t1`").getDB());
+		assertEquals(
+			"INSERT INTO `Test``DB`.`T` ( `a`,`b`) VALUES (?)",
+			SQLFingerprint.of("INSERT INTO `Test``DB`.`T` ( `a`,`b`) VALUES (1,'x'),(2,'y'),(3,'z')").getFingerprint()
+		);
+		assertEquals("Test`DB", SQLFingerprint.of(new SQLInsertMaticO().DB("Test`DB").table("T").entry("a", 1).build()).getDB());
+	}
+	
+	@Test
+	void testHistogram () {
+		LatencyHistogram h=new LatencyHistogram();
+		for (int i=1; i<=100; i++) h.record(i*1000_000L);
+		assertEquals(100, h.getCount());
+		assertEquals(100_000, h.getMaxMicros());
+		assertEquals(50_500, (long) h.getMeanMicros());
+		long p50=h.percentileMicros(50);
+		assertTrue(p50>=50_000 && p50<100_000);
+		assertEquals(100_000, h.percentileMicros(100));
+		h.reset();
+		assertEquals(0, h.percentileMicros(99));
+	}
+
+	@Test
+	void testRegistry () throws Exception {
+		QueryMetricsRegistry registry=new QueryMetricsRegistry().maxFingerprints(2);
+		String delete=new SQLDeleteMaticO().DB("TestDB").table("TestTable").filter("chiave", 1).build();
+		
+		registry.operation(Operation.EXEC, delete, 3000_000, 1, false);
+		registry.operation(Operation.EXEC, delete.replace("1", "2"), 1000_000, 0, true);
+		registry.operation(Operation.QUERY_LIST, "SELECT * FROM `TestDB`.`TestTable`", 1000, 10, false);
+		registry.operation(Operation.QUERY_MAP, "SELECT 1", 1000, 1, false);
+		registry.connectionWait(2000);
+		
+		QueryStats qs=registry.get(Operation.EXEC, delete);
+		assertEquals(2, qs.getCount());
+		assertEquals(1, qs.getErrors());
+		assertEquals(1, qs.getRows());
+		assertEquals("TestTable", qs.getTable());
+		assertEquals(qs, registry.top(1).get(0));
+		assertEquals(QueryMetricsRegistry.OTHERS, registry.get(Operation.QUERY_MAP, QueryMetricsRegistry.OTHERS).getFingerprint());
+		assertEquals(4, registry.getOperations());
+		assertEquals(12, registry.getRows());
+		
+		registry.register("psykeco.querymatico:type=QueryMetrics,name=MetricsTest");
+		try {
+			MBeanServer server=ManagementFactory.getPlatformMBeanServer();
+			ObjectName name=new ObjectName("psykeco.querymatico:type=QueryMetrics,name=MetricsTest");
+			assertEquals(1L, server.getAttribute(name, "Errors"));
+			assertEquals(1L, server.getAttribute(name, "ConnectionWaits"));
+			assertEquals(3, ((Object[]) server.getAttribute(name, "Stats")).length);
+			server.invoke(name, "reset", null, null);
+			assertEquals(0L, server.getAttribute(name, "Operations"));
+		} finally {
+			registry.unregister();
+		}
+	}
+
+	@Test
+	void testSlowQueryLog () {
+		String select1=new SQLSelectMaticO().DB("TestDB").table("TestTable").filter("colonna 1", "segreto").build();
+		String select2=new SQLSelectMaticO().DB("TestDB").table("TestTable").filter("colonna 1", "altro").build();
+		String delete=new SQLDeleteMaticO().DB("TestDB").table("TestTable").filter("colonna 1", 1).build();
+		
+		List<SlowQuery> sunk=new ArrayList<>();
+		SlowQueryLog log=new SlowQueryLog(2).threshold(10).sink(sunk::add);
+		
+		assertTrue(!log.record(Operation.QUERY_LIST, SQLSelectMaticO.class, select1, 1000_000, 1, false));
+		assertTrue(log.record(Operation.QUERY_LIST, SQLSelectMaticO.class, select1, 20_000_000, 3, false));
+		assertTrue(log.record(Operation.EXEC, SQLDeleteMaticO.class, delete, 30_000_000, 0, true));
+		assertTrue(log.record(Operation.QUERY_LIST, SQLSelectMaticO.class, select2, 40_000_000, 5, false));
+		
+		assertEquals(3, log.getCount());
+		assertEquals(3, sunk.size());
+		List<SlowQuery> entries=log.getEntries();
+		assertEquals(2, entries.size());
+		assertEquals(Operation.EXEC, entries.get(0).getOperation());
+		assertEquals("SQLDeleteMaticO", entries.get(0).getOrigin());
+		assertTrue(entries.get(0).isError());
+		assertEquals(40_000, entries.get(1).getElapsedMicros());
+		assertEquals("TestTable", entries.get(1).getTable());
+		assertTrue(!entries.get(1).getFingerprint().contains("altro"));
+		
+		log.clear();
+		log.record(Operation.QUERY_LIST, SQLSelectMaticO.class, select1, 20_000_000, 3, false);
+		log.record(Operation.QUERY_LIST, null, select2, 20_000_000, 3, false);
+		Map<String,List<SlowQuery>> groups=log.byFingerprint();
+		assertEquals(1, groups.size());
+		assertEquals(2, groups.get(SQLFingerprint.of(select2).getFingerprint()).size());
+		assertNull(log.getEntries().get(1).getOrigin());
+	}
+
+	@Test
+	void testListeners () {
+		QueryListener a=new QueryListener() {};
+		QueryListener b=new QueryListener() {};
+		MySqlConnection.addListener(a);
+		MySqlConnection.addListener(b);
+		MySqlConnection.addListener(a);
+		try {
+			assertEquals(List.of(a, b, a), MySqlConnection.getListeners());
+			assertTrue(MySqlConnection.removeListener(a));
+			assertEquals(List.of(b, a), MySqlConnection.getListeners());
+		} finally {
+			while (MySqlConnection.removeListener(a));
+			MySqlConnection.removeListener(b);
+		}
+		assertTrue(MySqlConnection.getListeners().isEmpty());
+		assertTrue(!MySqlConnection.removeListener(b));
+	}
+
+	@Test
+	void testFlightRecorderEvents () {
+		EventType query=EventType.getEventType(QueryEvent.class);
+		assertEquals("psykeco.querymatico.Query", query.getName());
+		for (String field : new String[] {"operation", "fingerprint", "builder", "db", "table", "rows", "connectionWait", "error"}) 
+			assertTrue(query.getField(field)!=null, field);
+		
+		EventType hydration=EventType.getEventType(HydrationEvent.class);
+		assertEquals("psykeco.querymatico.Hydration", hydration.getName());
+		assertTrue(hydration.getField("type")!=null);
+		assertTrue(hydration.getField("rows")!=null);
+	}
+
+}
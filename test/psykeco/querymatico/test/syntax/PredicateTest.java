@@ -0,0 +1,61 @@
+package psykeco.querymatico.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static psykeco.querymatico.sql.SQLPredicate.and;
+import static psykeco.querymatico.sql.SQLPredicate.between;
+import static psykeco.querymatico.sql.SQLPredicate.ge;
+import static psykeco.querymatico.sql.SQLPredicate.in;
+import static psykeco.querymatico.sql.SQLPredicate.isNull;
+import static psykeco.querymatico.sql.SQLPredicate.likePrefix;
+import static psykeco.querymatico.sql.SQLPredicate.lt;
+import static psykeco.querymatico.sql.SQLPredicate.ne;
+import static psykeco.querymatico.sql.SQLPredicate.not;
+import static psykeco.querymatico.sql.SQLPredicate.or;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.PreparedQuery;
+import psykeco.querymatico.sql.SQLDeleteMaticO;
+import psykeco.querymatico.sql.SQLPredicate;
+import psykeco.querymatico.sql.SQLSelectMaticO;
+import psykeco.querymatico.sql.SQLUpdateMaticO;
+
+class PredicateTest {
+
+	@Test
+	void testPredicate() {
+		SQLPredicate p=and( ge("age", 18), or( isNull("deleted"), likePrefix("name", "50%_a") ), not(in("id", 1, 2, 3)) );
+		assertEquals("(`age`>=18 AND (`deleted` IS NULL OR `name` LIKE '50!%!_a%' ESCAPE '!') AND NOT (`id` IN (1,2,3)))", p.toString());
+		
+		assertEquals("`id` IN ('a','b')", in("id", Arrays.asList("a", "b")).toString());
+		assertEquals("1=0", in("id", Collections.emptyList()).toString());
+		assertEquals("1=1", and().toString());
+		assertEquals("`d` BETWEEN 1 AND 5", between("d", 1, 5).toString());
+	}
+	
+	@Test
+	void testBuilders() {
+		SQLSelectMaticO s=new SQLSelectMaticO().DB("TestDB").table("Entita").alias("e")
+				.filter("STRINGA", "ciao").filter(or(lt("INTERO", 10), ne("STRINGA", "x")));
+		assertEquals("SELECT `e`.* FROM `TestDB`.`Entita` `e` WHERE 1=1 AND `e`.`STRINGA`='ciao' AND (`e`.`INTERO`<10 OR `e`.`STRINGA`<>'x')", s.build());
+		
+		PreparedQuery pq=s.buildPrepared();
+		assertEquals("SELECT `e`.* FROM `TestDB`.`Entita` `e` WHERE 1=1 AND `e`.`STRINGA`=? AND (`e`.`INTERO`<? OR `e`.`STRINGA`<>?)", pq.getSql());
+		assertEquals(3, pq.getParameters().size());
+		assertEquals("x", pq.getParameters().get(2).getValue());
+		assertEquals(s.build(), s.copy().build());
+		
+		assertEquals("DELETE FROM `TestDB`.`Entita` WHERE 1=1 AND `INTERO` BETWEEN 1 AND 9", 
+				new SQLDeleteMaticO().DB("TestDB").table("Entita").filter(between("INTERO", 1, 9)).build());
+		assertEquals("UPDATE `TestDB`.`Entita` SET `STRINGA`='y' WHERE 1=1 AND `STRINGA` IS NULL", 
+				new SQLUpdateMaticO().DB("TestDB").table("Entita").entry("STRINGA", "y").filter(isNull("STRINGA")).build());
+		
+		assertThrows(IllegalArgumentException.class, () -> new SQLDeleteMaticO().DB("TestDB").table("Entita").filter(ge("INTERO", null)).build());
+		assertThrows(IllegalArgumentException.class, () -> new SQLDeleteMaticO().DB("TestDB").table("Entita").filter(and(isNull("1a"))).build());
+	}
+
+}
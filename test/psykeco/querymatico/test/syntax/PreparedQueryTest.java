@@ -0,0 +1,100 @@
+package psykeco.querymatico.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Types;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.PreparedQuery;
+import psykeco.querymatico.QueryMaticO;
+import psykeco.querymatico.sql.SQLDeleteMaticO;
+import psykeco.querymatico.sql.SQLInsertMaticO;
+import psykeco.querymatico.sql.SQLSelectMaticO;
+import psykeco.querymatico.sql.SQLUpdateMaticO;
+
+class PreparedQueryTest {
+
+	@Test
+	void testSelect () {
+		String expected =
+			"SELECT `campo`,`chiave` "
+			+ "FROM `TestDB`.`TestTable` "
+			+ "WHERE 1=1 AND "
+			+ 	"`colonna 2`=? "
+			+ 	"AND `colonna 1`=?"
+		;
+
+		QueryMaticO s = new SQLSelectMaticO().DB("TestDB").
+				table("TestTable")
+				.entry("chiave",null)
+				.entry("campo",null)
+				.filter("colonna 1", "stringa 1")
+				.filter("colonna 2",5);
+
+		PreparedQuery p=s.buildPrepared();
+		assertEquals(expected,p.getSql());
+		assertEquals(Arrays.asList(5,"stringa 1"),p.getValues());
+		assertEquals(Types.INTEGER,p.getTypes()[0]);
+		assertEquals(Types.VARCHAR,p.getTypes()[1]);
+	}
+
+	@Test
+	void testInsert () {
+		String expected =
+			"INSERT INTO `TestDB`.`TestTable` "
+			+ 	"( `chiave`,`campo`) "
+			+ "VALUES "
+			+ 	"(?,?)"
+		;
+
+		QueryMaticO s = new SQLInsertMaticO().DB("TestDB").
+				table("TestTable")
+				.entry("chiave",5)
+				.entry("campo","l'apostrofo");
+
+		PreparedQuery p=s.buildPrepared();
+		assertEquals(expected,p.getSql());
+		assertEquals(Arrays.asList(5,"l'apostrofo"),p.getValues());
+	}
+
+	@Test
+	void testUpdate () {
+		String expected =
+			"UPDATE `TestDB`.`TestTable` SET `campo`=? "
+			+ "WHERE 1=1 AND `chiave`=?"
+		;
+
+		QueryMaticO s = new SQLUpdateMaticO().DB("TestDB").
+				table("TestTable")
+				.entry("campo","nuovo")
+				.filter("chiave",5);
+
+		PreparedQuery p=s.buildPrepared();
+		assertEquals(expected,p.getSql());
+		assertEquals(Arrays.asList("nuovo",5),p.getValues());
+		assertEquals("campo",p.getParameters().get(0).getKey());
+		assertEquals("chiave",p.getParameters().get(1).getKey());
+	}
+
+	@Test
+	void testDelete () {
+		String expected =
+			"DELETE FROM `TestDB`.`TestTable` "
+			+ "WHERE 1=1 "
+				+ "AND `colonna 2`=? "
+				+ "AND `colonna 1`=?"
+		;
+
+		QueryMaticO s = new SQLDeleteMaticO().DB("TestDB").
+				table("TestTable")
+				.filter("colonna 1", "stringa 1")
+				.filter("colonna 2",5);
+
+		PreparedQuery p=s.buildPrepared();
+		assertEquals(expected,p.getSql());
+		assertEquals(Arrays.asList(5,"stringa 1"),p.getValues());
+	}
+
+}
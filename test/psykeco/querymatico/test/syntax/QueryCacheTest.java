@@ -0,0 +1,77 @@
+package psykeco.querymatico.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.SelectMaticO;
+import psykeco.querymatico.sql.SQLInsertMaticO;
+import psykeco.querymatico.sql.SQLSelectMaticO;
+import psykeco.querymatico.sql.runners.QueryCache;
+
+class QueryCacheTest {
+
+	@Test
+	void testHitMiss() {
+		QueryCache cache=new QueryCache();
+		SelectMaticO s=new SQLSelectMaticO().DB("TestDB").table("TestTable");
+
+		assertEquals(null, cache.get("q1", String.class));
+		cache.put("q1", String.class, s, Arrays.asList("a"), cache.generation());
+		assertEquals(Arrays.asList("a"), cache.get("q1", String.class));
+		assertEquals(null, cache.get("q1", Integer.class));
+
+		assertEquals(1, cache.getHits());
+		assertEquals(2, cache.getMisses());
+	}
+
+	@Test
+	void testEviction() {
+		QueryCache cache=new QueryCache().maxEntries(2);
+		SelectMaticO s=new SQLSelectMaticO().DB("TestDB").table("TestTable");
+
+		cache.put("q1", String.class, s, "1", cache.generation());
+		cache.put("q2", String.class, s, "2", cache.generation());
+		cache.get("q1", String.class);
+		cache.put("q3", String.class, s, "3", cache.generation());
+
+		assertEquals(2, cache.size());
+		assertEquals("1", cache.get("q1", String.class));
+		assertEquals(null, cache.get("q2", String.class));
+		assertEquals(1, cache.getEvictions());
+	}
+
+	@Test
+	void testTtl() throws InterruptedException {
+		QueryCache cache=new QueryCache().ttl(1);
+		SelectMaticO s=new SQLSelectMaticO().DB("TestDB").table("TestTable");
+
+		cache.put("q1", String.class, s, "1", cache.generation());
+		Thread.sleep(5);
+		assertEquals(null, cache.get("q1", String.class));
+	}
+
+	@Test
+	void testInvalidate() {
+		QueryCache cache=new QueryCache();
+		SelectMaticO joined=new SQLSelectMaticO().DB("TestDB").table("TestTable")
+				.join(new SQLSelectMaticO().DB("TestDB").table("Other"));
+		SelectMaticO alone=new SQLSelectMaticO().DB("TestDB").table("Alone");
+
+		cache.put("q1", String.class, joined, "1", cache.generation());
+		cache.put("q2", String.class, alone, "2", cache.generation());
+
+		cache.invalidate(new SQLInsertMaticO().DB("testdb").table("other"));
+		assertEquals(null, cache.get("q1", String.class));
+		assertEquals("2", cache.get("q2", String.class));
+		assertEquals(1, cache.getInvalidations());
+
+		long generation=cache.generation();
+		cache.invalidate("TestDB", "Alone");
+		cache.put("q2", String.class, alone, "stale", generation);
+		assertEquals(null, cache.get("q2", String.class));
+	}
+
+}
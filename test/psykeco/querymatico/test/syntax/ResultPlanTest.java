@@ -0,0 +1,101 @@
+package psykeco.querymatico.test.syntax;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+
+import org.junit.jupiter.api.Test;
+
+import psykeco.querymatico.sql.utility.SQLClassMetadata;
+import psykeco.querymatico.sql.utility.SQLResultPlan;
+
+class ResultPlanTest {
+
+	static class Entita {
+		int id;
+		long counter;
+		String name;
+		Integer quantity;
+		double price;
+		LocalDateTime created;
+		String missing="default";
+
+		Entita(){}
+	}
+
+	/** result set with columns ID, name, quantity, counter, price, created and an extra column */
+	private static CachedRowSet rows() throws SQLException {
+		RowSetMetaDataImpl meta=new RowSetMetaDataImpl();
+		meta.setColumnCount(7);
+		String[] labels={"ID","name","quantity","counter","price","created","extra"};
+		int[] types={Types.INTEGER,Types.VARCHAR,Types.INTEGER,Types.BIGINT,Types.DOUBLE,Types.TIMESTAMP,Types.VARCHAR};
+		for (int i=0; i<labels.length; i++) {
+			meta.setColumnLabel(i+1, labels[i]);
+			meta.setColumnName(i+1, labels[i]);
+			meta.setColumnType(i+1, types[i]);
+		}
+
+		CachedRowSet crs=RowSetProvider.newFactory().createCachedRowSet();
+		crs.setMetaData(meta);
+		crs.moveToInsertRow();
+		crs.updateInt(1, 1);
+		crs.updateString(2, "primo");
+		crs.updateInt(3, 5);
+		crs.updateLong(4, 10L);
+		crs.updateDouble(5, 2.5);
+		crs.updateTimestamp(6, Timestamp.valueOf("2020-01-02 03:04:05"));
+		crs.updateString(7, "x");
+		crs.insertRow();
+		crs.moveToInsertRow();
+		crs.updateInt(1, 2);
+		crs.updateNull(2);
+		crs.updateNull(3);
+		crs.updateNull(4);
+		crs.updateNull(5);
+		crs.updateNull(6);
+		crs.updateNull(7);
+		crs.insertRow();
+		crs.moveToCurrentRow();
+		crs.beforeFirst();
+		return crs;
+	}
+
+	@Test
+	void testPlan() throws Exception {
+		CachedRowSet rs=rows();
+		SQLClassMetadata<Entita> meta=SQLClassMetadata.of(Entita.class);
+		SQLResultPlan<Entita> plan=SQLResultPlan.of(meta, rs);
+
+		for (int i=0; i<meta.size(); i++) {
+			if (meta.getColumn(i).equals("id")) assertEquals(1, plan.getColumn(i));
+			if (meta.getColumn(i).equals("missing")) assertEquals(0, plan.getColumn(i));
+		}
+
+		rs.next();
+		Entita e=plan.map(rs);
+		assertEquals(1, e.id);
+		assertEquals(10L, e.counter);
+		assertEquals("primo", e.name);
+		assertEquals(Integer.valueOf(5), e.quantity);
+		assertEquals(2.5, e.price);
+		assertEquals(LocalDateTime.of(2020, 1, 2, 3, 4, 5), e.created);
+		assertEquals(null, e.missing);
+
+		rs.next();
+		e=plan.map(rs);
+		assertEquals(2, e.id);
+		assertEquals(0L, e.counter);
+		assertEquals(null, e.name);
+		assertEquals(null, e.quantity);
+		assertEquals(0.0, e.price);
+		assertEquals(null, e.created);
+	}
+
+}
@@ -1,10 +1,13 @@
 package psykeco.querymatico.test.syntax;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
+import psykeco.querymatico.PreparedQuery;
 import psykeco.querymatico.SelectMaticO;
+import psykeco.querymatico.SelectMaticO.JOIN;
 import psykeco.querymatico.sql.SQLSelectMaticO;
 
 class SelectMaticOTest {
@@ -47,4 +50,80 @@ class SelectMaticOTest {
 		assertEquals(expected, s.build() );
 	}
 
+	@Test
+	void testSelectMaticOPages() {
+		SelectMaticO s=new SQLSelectMaticO().DB("TestDB").table("Entita").filter("STRINGA", "ciao")
+				.orderBy("id", true).limit(10).offset(20);
+		
+		assertEquals("SELECT * FROM `TestDB`.`Entita` WHERE 1=1 AND `STRINGA`='ciao' ORDER BY `id` ASC LIMIT 10 OFFSET 20", s.build());
+		assertEquals("SELECT * FROM `TestDB`.`Entita` WHERE 1=1  ORDER BY `id` ASC LIMIT 18446744073709551615 OFFSET 5", 
+				new SQLSelectMaticO().DB("TestDB").table("Entita").orderBy("id", true).offset(5).build());
+		
+		SelectMaticO seek=new SQLSelectMaticO().DB("TestDB").table("Entita").filter("STRINGA", "ciao")
+				.orderBy("id", false).limit(10).seekAfter(123);
+		assertEquals("SELECT * FROM `TestDB`.`Entita` WHERE 1=1 AND `STRINGA`='ciao' AND `id`<123 ORDER BY `id` DESC LIMIT 10", seek.build());
+		assertEquals("SELECT * FROM `TestDB`.`Entita` WHERE 1=1 AND `id`>'b' ORDER BY `id` ASC LIMIT 10", 
+				new SQLSelectMaticO().DB("TestDB").table("Entita").orderBy("id", true).limit(10).seekAfter("b").build());
+		
+		PreparedQuery pq=seek.buildPrepared();
+		assertEquals("SELECT * FROM `TestDB`.`Entita` WHERE 1=1 AND `STRINGA`=? AND `id`<? ORDER BY `id` DESC LIMIT 10", pq.getSql());
+		assertEquals(123, pq.getParameters().get(1).getValue());
+		assertEquals(seek.build(), seek.copy().build());
+		
+		assertThrows(IllegalArgumentException.class, () -> new SQLSelectMaticO().DB("TestDB").table("Entita").seekAfter(1).build());
+		assertThrows(IllegalArgumentException.class, () -> new SQLSelectMaticO().DB("TestDB").table("Entita").limit(-1).build());
+	}
+
+	@Test
+	void testSelectMaticOJoinChain() {
+		SelectMaticO o=new SQLSelectMaticO().table("Ordine").alias("o").entry("totale").filter("stato", "aperto");
+		SelectMaticO r=new SQLSelectMaticO().table("Riga").alias("r").entry("prodotto");
+		SelectMaticO p=new SQLSelectMaticO().table("Prodotto").alias("p").entry("nome");
+		r.join(JOIN.INNER, p, "prodotto", "id");
+		o.join(JOIN.LEFT, r, "id", "ordine");
+		
+		SelectMaticO c=new SQLSelectMaticO().DB("TestDB").table("Cliente").alias("c").entry("nome").filter("citta", "Roma")
+				.join(JOIN.STRAIGHT, o, "id", "cliente").orderBy("nome");
+		
+		String expected=""
+				+ "SELECT `c`.`nome`,`o`.`totale`,`r`.`prodotto`,`p`.`nome` "
+				+ "FROM `TestDB`.`Cliente` `c` "
+					+ "STRAIGHT_JOIN `TestDB`.`Ordine` `o` ON `c`.`id`=`o`.`cliente` AND `o`.`stato`='aperto' "
+					+ "LEFT JOIN `TestDB`.`Riga` `r` ON `o`.`id`=`r`.`ordine` "
+					+ "INNER JOIN `TestDB`.`Prodotto` `p` ON `r`.`prodotto`=`p`.`id` "
+				+ "WHERE 1=1 AND `c`.`citta`='Roma' ORDER BY `c`.`nome` ASC";
+		assertEquals(expected, c.build());
+		assertEquals(expected, c.copy().build());
+		
+		PreparedQuery pq=c.buildPrepared();
+		assertEquals(expected.replace("'aperto'", "?").replace("'Roma'", "?"), pq.getSql());
+		assertEquals("aperto", pq.getParameters().get(0).getValue());
+		assertEquals("Roma", pq.getParameters().get(1).getValue());
+		assertEquals(1, c.getJoins().size());
+		
+		assertThrows(IllegalArgumentException.class, () -> new SQLSelectMaticO().DB("TestDB").table("Cliente")
+				.join(JOIN.LEFT, new SQLSelectMaticO().table("Ordine")).build());
+		assertThrows(IllegalStateException.class, () -> new SQLSelectMaticO().DB("TestDB").table("Cliente").on("id", "cliente"));
+	}
+
+	@Test
+	void testSelectMaticOJoinUnderCommaJoin() {
+		SelectMaticO c=new SQLSelectMaticO().table("C").alias("c").entry("v").filter("z", "secret");
+		SelectMaticO b=new SQLSelectMaticO().DB("TestDB").table("B").alias("b").entry("id").join(JOIN.INNER, c, "id", "bid");
+		SelectMaticO a=new SQLSelectMaticO().DB("TestDB").table("A").alias("a").entry("id").filter("q", 1);
+		a.join(b).joinFilter("id", "aid");
+		
+		String expected=""
+				+ "SELECT `a`.`id`,`b`.`id`,`c`.`v` "
+				+ "FROM `TestDB`.`A` `a`, `TestDB`.`B` `b` INNER JOIN `TestDB`.`C` `c` ON `b`.`id`=`c`.`bid` AND `c`.`z`='secret' "
+				+ "WHERE 1=1 AND `a`.`q`=1  AND `a`.`id`=`b`.`aid`";
+		assertEquals(expected, a.build());
+		
+		PreparedQuery pq=a.buildPrepared();
+		assertEquals(expected.replace("'secret'", "?").replace("`q`=1", "`q`=?"), pq.getSql());
+		assertEquals(2, pq.getParameters().size());
+		assertEquals("secret", pq.getParameters().get(0).getValue());
+		assertEquals(1, pq.getParameters().get(1).getValue());
+	}
+
 }
@@ -1,11 +1,24 @@
 package psykeco.querymatico.test.syntax;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import psykeco.querymatico.PreparedQuery;
+import psykeco.querymatico.QueryMaticO;
 import psykeco.querymatico.TableMaticO;
+import psykeco.querymatico.sql.SQLBulkInsertMaticO;
 import psykeco.querymatico.sql.SQLTableMaticO;
+import psykeco.querymatico.sql.utility.FieldAccessor;
+import psykeco.querymatico.sql.utility.SQLClassMetadata;
+import psykeco.querymatico.sql.utility.SQLShapeCache;
 
 
 class TableMaticOTest {
@@ -173,4 +186,151 @@ class TableMaticOTest {
 		assertEquals(expected,s.updateData(ins).build());
 	}
 
+	@Test
+	void testInsertDataList () {
+		String expected =
+				  "INSERT INTO `TestDB`.`Entita` ( `chiave`,`campo`,`anotherCampo`) "
+				+ "VALUES (1,'primo',NULL),(2,'secondo','altro')"
+		;
+		
+		Entita a=new Entita();
+		a.setChiave(1);
+		a.setCampo("primo");
+		Entita b=new Entita();
+		b.setChiave(2);
+		b.setCampo("secondo");
+		b.setAnotherCampo("altro");
+		
+		TableMaticO s = new SQLTableMaticO().DB("TestDB").
+				table(Entita.class).primary("chiave");
+		
+		List<? extends QueryMaticO> inserts=s.insertData(Arrays.asList(a,null,b));
+		assertEquals(1,inserts.size());
+		assertEquals(expected,inserts.get(0).build());
+	}
+	
+	@Test
+	void testInsertDataChunks () {
+		List<Entita> list=new ArrayList<>();
+		for(int i=0;i<10;i++) {
+			Entita e=new Entita();
+			e.setChiave(i);
+			e.setCampo("campo "+i);
+			list.add(e);
+		}
+		
+		TableMaticO s = new SQLTableMaticO().DB("TestDB").
+				table(Entita.class).primary("chiave").maxPacket(300);
+		
+		List<? extends QueryMaticO> inserts=s.insertData(list);
+		assertTrue(inserts.size()>1);
+		
+		int rows=0;
+		for (QueryMaticO q : inserts) {
+			assertTrue(q.build().length()<=300);
+			rows+=((SQLBulkInsertMaticO)q).size();
+		}
+		assertEquals(10,rows);
+	}
+
+	@Test
+	void testInsertListNotValidName () {
+		Entita e=new Entita();
+		e.setChiave(1);
+		TableMaticO s = new SQLTableMaticO().DB("TestDB").prefix("1x").
+				table(Entita.class).primary("chiave");
+		
+		List<? extends QueryMaticO> inserts=s.insertData(Arrays.asList(e));
+		assertEquals(1,inserts.size());
+		assertEquals(s.insertData(e).validate(),inserts.get(0).validate());
+		assertThrows(IllegalArgumentException.class, () -> inserts.get(0).build());
+	}
+
+	@Test
+	void testSelectByKeys () {
+		TableMaticO s = new SQLTableMaticO().DB("TestDB").
+				table(Entita.class).primary("chiave").keysChunk(2);
+		
+		List<? extends QueryMaticO> selects=s.selectByKeys(Arrays.asList(1,2,null,3,2));
+		assertEquals(2,selects.size());
+		assertEquals("SELECT * FROM `TestDB`.`Entita` WHERE 1=1 AND `chiave` IN (1,2)",selects.get(0).build());
+		assertEquals("SELECT * FROM `TestDB`.`Entita` WHERE 1=1 AND `chiave` IN (3)",selects.get(1).build());
+		assertEquals(Arrays.asList(1,2),selects.get(0).buildPrepared().getValues());
+		
+		assertTrue(s.selectByKeys(new ArrayList<>()).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> new SQLTableMaticO().DB("TestDB").
+				table(Entita.class).selectByKeys(Arrays.asList(1)));
+	}
+
+	@Test
+	void testPreparedShapes () {
+		TableMaticO s = new SQLTableMaticO().DB("TestDB").
+				table(Entita.class).primary("chiave");
+		SQLShapeCache.clear(Entita.class);
+		
+		Entita a=new Entita();
+		a.setChiave(1);
+		a.setCampo("primo");
+		Entita b=new Entita();
+		b.setChiave(2);
+		b.setCampo("secondo");
+		
+		PreparedQuery pa=s.updatePrepared(a), pb=s.updatePrepared(b);
+		assertEquals(s.updateData(b).buildPrepared().getSql(), pb.getSql());
+		assertEquals(pa.getSql(), pb.getSql());
+		assertEquals(Arrays.asList("secondo",2), pb.getValues());
+		assertEquals(1, SQLShapeCache.size(Entita.class));
+		
+		b.setAnotherCampo("altro");
+		assertEquals(s.selectData(b).buildPrepared().getSql(), s.selectPrepared(b).getSql());
+		assertEquals(s.deleteData(a).buildPrepared().getSql(), s.deletePrepared(a).getSql());
+		assertEquals("SELECT * FROM `TestDB`.`Entita` WHERE 1=1", s.selectPrepared(null).getSql());
+		assertEquals(4, SQLShapeCache.size(Entita.class));
+		
+		a.setCampo("");
+		assertThrows(IllegalArgumentException.class, () -> s.updatePrepared(a));
+		assertThrows(IllegalArgumentException.class, () -> s.updatePrepared(new Entita()));
+		assertThrows(IllegalArgumentException.class, () -> s.selectPrepared("Entita"));
+		
+		Entita c=new Entita();
+		c.setChiave(3);
+		c.setCampo("terzo");
+		assertEquals(pb.getSql().replace("TestDB", "DBTest"), s.copy().DB("DBTest").updatePrepared(c).getSql());
+	}
+
+	private static class Sigillata{
+		@SuppressWarnings("unused")
+		private Integer chiave=1;
+		@SuppressWarnings("unused")
+		private String campo="chiuso";
+	}
+
+	@Test
+	void testPreparedUnreadableField () {
+		SQLClassMetadata.accessorFactory(field -> new FieldAccessor() {
+			@Override
+			public Field getField() {
+				return field;
+			}
+			@Override
+			public Object get(Object instance) throws IllegalAccessException {
+				throw new IllegalAccessException(field.getName());
+			}
+			@Override
+			public void set(Object instance, Object value) throws IllegalAccessException {
+				throw new IllegalAccessException(field.getName());
+			}
+		});
+		TableMaticO s;
+		try {
+			s = new SQLTableMaticO().DB("TestDB").table(Sigillata.class).primary("chiave");
+		} finally {
+			SQLClassMetadata.accessorFactory(FieldAccessor.METHOD_HANDLE);
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> s.selectPrepared(new Sigillata()));
+		assertThrows(IllegalArgumentException.class, () -> s.deletePrepared(new Sigillata()));
+		assertThrows(IllegalArgumentException.class, () -> s.updatePrepared(new Sigillata()));
+	}
+
 }